@@ -28,6 +28,15 @@ public interface AdvancedNumeric extends ComputationDirectory {
    */
   DRes<SInt> product(List<DRes<SInt>> elements);
 
+  /**
+   * Calculates the product of all elements in the list using a constant number of rounds,
+   * regardless of the number of elements.
+   *
+   * @param elements the elements to multiply, all of which must be non-zero
+   * @return A deferred result computing the product of the elements
+   */
+  DRes<SInt> unboundedFanInProduct(List<DRes<SInt>> elements);
+
   /**
    * This protocol calculates an approximation of <code>floor(dividend / divisor)</code>, which will
    * be either correct or slightly smaller than the correct result.
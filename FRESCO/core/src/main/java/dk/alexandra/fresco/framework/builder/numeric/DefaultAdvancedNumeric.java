@@ -8,6 +8,7 @@ import dk.alexandra.fresco.lib.conditional.SwapIf;
 import dk.alexandra.fresco.lib.conversion.IntegerToBitsByShift;
 import dk.alexandra.fresco.lib.math.integer.ProductSIntList;
 import dk.alexandra.fresco.lib.math.integer.SumSIntList;
+import dk.alexandra.fresco.lib.math.integer.UnboundedFanInProduct;
 import dk.alexandra.fresco.lib.math.integer.binary.BitLength;
 import dk.alexandra.fresco.lib.math.integer.binary.RightShift;
 import dk.alexandra.fresco.lib.math.integer.division.KnownDivisor;
@@ -50,6 +51,11 @@ public class DefaultAdvancedNumeric implements AdvancedNumeric {
     return builder.seq(new ProductSIntList(elements));
   }
 
+  @Override
+  public DRes<SInt> unboundedFanInProduct(List<DRes<SInt>> elements) {
+    return builder.seq(new UnboundedFanInProduct(elements));
+  }
+
   @Override
   public DRes<SInt> div(DRes<SInt> dividend, BigInteger divisor) {
     return builder.seq(new KnownDivisor(dividend, divisor));
@@ -0,0 +1,99 @@
+package dk.alexandra.fresco.framework.builder.numeric.field;
+
+import dk.alexandra.fresco.framework.util.MathUtils;
+import java.math.BigInteger;
+
+/**
+ * An element in a field defined by a {@link MontgomeryModulus}, stored as fixed-size limbs in
+ * Montgomery representation.
+ */
+final class MontgomeryFieldElement implements FieldElement {
+
+  private static final long serialVersionUID = 4125436921739204177L;
+
+  private final long[] value;
+  private final MontgomeryModulus modulus;
+
+  private MontgomeryFieldElement(long[] value, MontgomeryModulus modulus) {
+    this.value = value;
+    this.modulus = modulus;
+  }
+
+  static FieldElement create(BigInteger value, MontgomeryModulus modulus) {
+    return new MontgomeryFieldElement(modulus.toMontgomery(value), modulus);
+  }
+
+  static FieldElement create(long value, MontgomeryModulus modulus) {
+    return create(BigInteger.valueOf(value), modulus);
+  }
+
+  static FieldElement create(String string, MontgomeryModulus modulus) {
+    return create(new BigInteger(string), modulus);
+  }
+
+  /**
+   * Wraps limbs already in Montgomery representation, which must not be modified afterwards.
+   */
+  static FieldElement fromLimbs(long[] limbs, MontgomeryModulus modulus) {
+    return new MontgomeryFieldElement(limbs, modulus);
+  }
+
+  @Override
+  public FieldElement add(FieldElement operand) {
+    long[] result = new long[value.length];
+    modulus.add(value, extractLimbs(operand), result);
+    return fromLimbs(result, modulus);
+  }
+
+  @Override
+  public FieldElement subtract(FieldElement operand) {
+    long[] result = new long[value.length];
+    modulus.subtract(value, extractLimbs(operand), result);
+    return fromLimbs(result, modulus);
+  }
+
+  @Override
+  public FieldElement negate() {
+    long[] result = new long[value.length];
+    modulus.negate(value, result);
+    return fromLimbs(result, modulus);
+  }
+
+  @Override
+  public FieldElement multiply(FieldElement operand) {
+    long[] result = new long[value.length];
+    modulus.multiply(value, extractLimbs(operand), result);
+    return fromLimbs(result, modulus);
+  }
+
+  @Override
+  public FieldElement sqrt() {
+    return create(MathUtils.modularSqrt(modulus.fromMontgomery(value), modulus.getPrime()),
+        modulus);
+  }
+
+  @Override
+  public FieldElement modInverse() {
+    return create(modulus.fromMontgomery(value).modInverse(modulus.getPrime()), modulus);
+  }
+
+  static BigInteger extractValue(FieldElement element) {
+    MontgomeryFieldElement montgomeryElement = (MontgomeryFieldElement) element;
+    return montgomeryElement.modulus.fromMontgomery(montgomeryElement.value);
+  }
+
+  /**
+   * Returns the limbs of an element in Montgomery representation, which must not be modified.
+   */
+  static long[] extractLimbs(FieldElement element) {
+    return ((MontgomeryFieldElement) element).value;
+  }
+
+  @Override
+  public String toString() {
+    return "MontgomeryFieldElement{"
+        + "value=" + modulus.fromMontgomery(value)
+        + ", modulus=" + modulus
+        + '}';
+  }
+}
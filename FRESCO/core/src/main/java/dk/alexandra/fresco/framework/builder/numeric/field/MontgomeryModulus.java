@@ -0,0 +1,260 @@
+package dk.alexandra.fresco.framework.builder.numeric.field;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+
+/**
+ * An odd modulus of at most {@link #MAX_BIT_LENGTH} bits with arithmetic on values in Montgomery
+ * representation.
+ *
+ * <p>Values are stored as arrays of 64-bit limbs, least significant limb first, with as many limbs
+ * as the modulus. A value <i>x</i> is represented by <i>xR mod p</i> where
+ * <i>R = 2<sup>64n</sup></i> for <i>n</i> limbs, which lets multiplication reduce by shifting
+ * instead of dividing. All operations expect and return values in <i>0, ..., p - 1</i>.</p>
+ */
+final class MontgomeryModulus implements Serializable {
+
+  private static final long serialVersionUID = -2375092178640918334L;
+  static final int MAX_BIT_LENGTH = 512;
+  private static final long LOW_MASK = 0xFFFFFFFFL;
+
+  private final BigInteger prime;
+  private final int limbs;
+  private final long[] modulus;
+  private final long inverse;
+  private final long[] rSquared;
+  private final long[] one;
+
+  /**
+   * Creates a new modulus.
+   *
+   * @param prime the modulus, which must be odd, larger than one and at most
+   *     {@link #MAX_BIT_LENGTH} bits long
+   */
+  MontgomeryModulus(BigInteger prime) {
+    if (prime.compareTo(BigInteger.ONE) <= 0 || !prime.testBit(0)) {
+      throw new IllegalArgumentException("Modulus must be odd and larger than one");
+    }
+    if (prime.bitLength() > MAX_BIT_LENGTH) {
+      throw new IllegalArgumentException(
+          "Modulus must be at most " + MAX_BIT_LENGTH + " bits long");
+    }
+    this.prime = prime;
+    this.limbs = (prime.bitLength() + Long.SIZE - 1) / Long.SIZE;
+    this.modulus = toLimbs(prime);
+    // Newton iteration for p^-1 mod 2^64, each step doubles the number of correct bits
+    long x = modulus[0];
+    for (int i = 0; i < 6; i++) {
+      x *= 2 - modulus[0] * x;
+    }
+    this.inverse = -x;
+    BigInteger r = BigInteger.ONE.shiftLeft(Long.SIZE * limbs);
+    this.rSquared = toLimbs(r.multiply(r).mod(prime));
+    this.one = toLimbs(r.mod(prime));
+  }
+
+  BigInteger getPrime() {
+    return prime;
+  }
+
+  int getLimbs() {
+    return limbs;
+  }
+
+  /**
+   * Converts a value to Montgomery representation.
+   */
+  long[] toMontgomery(BigInteger value) {
+    long[] result = new long[limbs];
+    multiply(toLimbs(value.mod(prime)), rSquared, result);
+    return result;
+  }
+
+  /**
+   * Converts a value from Montgomery representation.
+   */
+  BigInteger fromMontgomery(long[] value) {
+    long[] plain = new long[limbs];
+    long[] unit = new long[limbs];
+    unit[0] = 1;
+    multiply(value, unit, plain);
+    byte[] bytes = new byte[limbs * Long.BYTES + 1];
+    for (int i = 0; i < limbs; i++) {
+      long limb = plain[i];
+      for (int j = 0; j < Long.BYTES; j++) {
+        bytes[bytes.length - 1 - i * Long.BYTES - j] = (byte) (limb >>> (8 * j));
+      }
+    }
+    return new BigInteger(bytes);
+  }
+
+  /**
+   * Returns the Montgomery representation of one.
+   */
+  long[] one() {
+    return one.clone();
+  }
+
+  /**
+   * Computes <i>a + b mod p</i> into result, which may be the same array as a or b.
+   */
+  void add(long[] a, long[] b, long[] result) {
+    long carry = 0;
+    for (int i = 0; i < limbs; i++) {
+      long sum = a[i] + b[i];
+      long carryOut = Long.compareUnsigned(sum, a[i]) < 0 ? 1 : 0;
+      sum += carry;
+      carryOut += Long.compareUnsigned(sum, carry) < 0 ? 1 : 0;
+      result[i] = sum;
+      carry = carryOut;
+    }
+    if (carry != 0 || compareToModulus(result) >= 0) {
+      subtractModulus(result);
+    }
+  }
+
+  /**
+   * Computes <i>a - b mod p</i> into result, which may be the same array as a or b.
+   */
+  void subtract(long[] a, long[] b, long[] result) {
+    long borrow = 0;
+    for (int i = 0; i < limbs; i++) {
+      long difference = a[i] - b[i];
+      long borrowOut = Long.compareUnsigned(a[i], b[i]) < 0 ? 1 : 0;
+      borrowOut += Long.compareUnsigned(difference, borrow) < 0 ? 1 : 0;
+      result[i] = difference - borrow;
+      borrow = borrowOut;
+    }
+    if (borrow != 0) {
+      long carry = 0;
+      for (int i = 0; i < limbs; i++) {
+        long sum = result[i] + modulus[i];
+        long carryOut = Long.compareUnsigned(sum, result[i]) < 0 ? 1 : 0;
+        sum += carry;
+        carryOut += Long.compareUnsigned(sum, carry) < 0 ? 1 : 0;
+        result[i] = sum;
+        carry = carryOut;
+      }
+    }
+  }
+
+  /**
+   * Computes the Montgomery product <i>abR<sup>-1</sup> mod p</i> into result, using the
+   * coarsely integrated operand scanning method. The result may be the same array as a or b.
+   */
+  void multiply(long[] a, long[] b, long[] result) {
+    long[] t = new long[limbs + 2];
+    for (int i = 0; i < limbs; i++) {
+      long bi = b[i];
+      long carry = 0;
+      for (int j = 0; j < limbs; j++) {
+        long low = a[j] * bi;
+        long high = multiplyHigh(a[j], bi);
+        low += t[j];
+        high += Long.compareUnsigned(low, t[j]) < 0 ? 1 : 0;
+        low += carry;
+        high += Long.compareUnsigned(low, carry) < 0 ? 1 : 0;
+        t[j] = low;
+        carry = high;
+      }
+      long sum = t[limbs] + carry;
+      t[limbs + 1] = Long.compareUnsigned(sum, carry) < 0 ? 1 : 0;
+      t[limbs] = sum;
+
+      // add m * p, where m makes the lowest limb zero, and shift down by one limb
+      long m = t[0] * inverse;
+      long low = m * modulus[0];
+      carry = multiplyHigh(m, modulus[0]);
+      low += t[0];
+      carry += Long.compareUnsigned(low, t[0]) < 0 ? 1 : 0;
+      for (int j = 1; j < limbs; j++) {
+        low = m * modulus[j];
+        long high = multiplyHigh(m, modulus[j]);
+        low += t[j];
+        high += Long.compareUnsigned(low, t[j]) < 0 ? 1 : 0;
+        low += carry;
+        high += Long.compareUnsigned(low, carry) < 0 ? 1 : 0;
+        t[j - 1] = low;
+        carry = high;
+      }
+      sum = t[limbs] + carry;
+      t[limbs - 1] = sum;
+      t[limbs] = t[limbs + 1] + (Long.compareUnsigned(sum, carry) < 0 ? 1 : 0);
+    }
+    System.arraycopy(t, 0, result, 0, limbs);
+    if (t[limbs] != 0 || compareToModulus(result) >= 0) {
+      subtractModulus(result);
+    }
+  }
+
+  /**
+   * Computes <i>p - a mod p</i> into result, which may be the same array as a.
+   */
+  void negate(long[] a, long[] result) {
+    long[] zero = new long[limbs];
+    subtract(zero, a, result);
+  }
+
+  boolean isZero(long[] value) {
+    for (long limb : value) {
+      if (limb != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int compareToModulus(long[] value) {
+    for (int i = limbs - 1; i >= 0; i--) {
+      int comparison = Long.compareUnsigned(value[i], modulus[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Subtracts the modulus, ignoring the final borrow which cancels a carry out of the top limb.
+   */
+  private void subtractModulus(long[] value) {
+    long borrow = 0;
+    for (int i = 0; i < limbs; i++) {
+      long difference = value[i] - modulus[i];
+      long borrowOut = Long.compareUnsigned(value[i], modulus[i]) < 0 ? 1 : 0;
+      borrowOut += Long.compareUnsigned(difference, borrow) < 0 ? 1 : 0;
+      value[i] = difference - borrow;
+      borrow = borrowOut;
+    }
+  }
+
+  private long[] toLimbs(BigInteger value) {
+    long[] result = new long[limbs];
+    for (int i = 0; i < limbs; i++) {
+      result[i] = value.shiftRight(Long.SIZE * i).longValue();
+    }
+    return result;
+  }
+
+  /**
+   * Returns the upper 64 bits of the unsigned 128-bit product of a and b.
+   */
+  static long multiplyHigh(long a, long b) {
+    long aLow = a & LOW_MASK;
+    long aHigh = a >>> 32;
+    long bLow = b & LOW_MASK;
+    long bHigh = b >>> 32;
+    long lowLow = aLow * bLow;
+    long highLow = aHigh * bLow;
+    long lowHigh = aLow * bHigh;
+    long cross = (lowLow >>> 32) + (highLow & LOW_MASK) + lowHigh;
+    return aHigh * bHigh + (highLow >>> 32) + (cross >>> 32);
+  }
+
+  @Override
+  public String toString() {
+    return "MontgomeryModulus{"
+        + "value=" + prime
+        + '}';
+  }
+}
@@ -15,6 +15,12 @@ public enum EvaluationStrategy {
         BatchEvaluationStrategy<ResourcePoolT> getStrategy() {
       return new BatchedStrategy<>();
     }
+  }, PARALLEL_BATCHED {
+    @Override
+    public <ResourcePoolT extends ResourcePool>
+        BatchEvaluationStrategy<ResourcePoolT> getStrategy() {
+      return new ParallelBatchedStrategy<>();
+    }
   };
 
   public abstract <ResourcePoolT extends ResourcePool>
@@ -12,6 +12,11 @@ import java.util.Map;
  * communication on the network batched and hence throttled so evaluators behave nice
  * on the network.
  * <br/>
+ * Each message is prefixed with its length as an unsigned LEB128 varint, i.e. seven bits per
+ * byte with the high bit set on all but the last byte, so messages below 128 bytes cost a single
+ * byte of overhead and there is no upper limit on the message size. The output buffer of each
+ * party is reused between flushes.
+ * <br/>
  * It is important to call flush to empty all buffers after sending and before receiving data
  */
 public class NetworkBatchDecorator implements Network {
@@ -37,9 +42,11 @@ public class NetworkBatchDecorator implements Network {
       input.put(id, byteInputStream);
     }
 
-    int count = byteInputStream.read();
+    int count = readLength(byteInputStream);
     byte[] bytes = new byte[count];
-    byteInputStream.read(bytes, 0, count);
+    if (count > 0 && byteInputStream.read(bytes, 0, count) != count) {
+      throw new IllegalStateException("Received message is shorter than its length prefix");
+    }
     return bytes;
   }
 
@@ -52,12 +59,7 @@ public class NetworkBatchDecorator implements Network {
   public void send(int id, byte[] data) {
     ByteArrayOutputStream buffer = this.output
         .computeIfAbsent(id, (i) -> new ByteArrayOutputStream());
-    // if (data.length > Byte.MAX_VALUE) {
-      if (data.length > 255) { // make it unsigned lol
-      throw new IllegalStateException(
-          "Current implementation only supports small packages, data.length=" + data.length);
-    }
-    buffer.write(data.length);
+    writeLength(buffer, data.length);
     buffer.write(data, 0, data.length);
   }
 
@@ -66,13 +68,37 @@ public class NetworkBatchDecorator implements Network {
    */
   public void flush() {
     for (int i = 1; i <= noOfParties; i++) {
-      if (output.containsKey(i)) {
-        ByteArrayOutputStream byteArrayOutputStream = output.get(i);
+      ByteArrayOutputStream byteArrayOutputStream = output.get(i);
+      if (byteArrayOutputStream != null && byteArrayOutputStream.size() > 0) {
         byte[] data = byteArrayOutputStream.toByteArray();
         network.send(i, data);
+        byteArrayOutputStream.reset();
       }
-      output.remove(i);
     }
     input.clear();
   }
+
+  private static void writeLength(ByteArrayOutputStream buffer, int length) {
+    int remaining = length;
+    while ((remaining & ~0x7F) != 0) {
+      buffer.write((remaining & 0x7F) | 0x80);
+      remaining >>>= 7;
+    }
+    buffer.write(remaining);
+  }
+
+  private static int readLength(ByteArrayInputStream stream) {
+    int length = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = stream.read();
+      if (b < 0) {
+        throw new IllegalStateException("No more messages from party");
+      }
+      length |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return length;
+      }
+    }
+    throw new IllegalStateException("Malformed length prefix");
+  }
 }
@@ -0,0 +1,128 @@
+package dk.alexandra.fresco.framework.sce.evaluator;
+
+import dk.alexandra.fresco.framework.NativeProtocol;
+import dk.alexandra.fresco.framework.NativeProtocol.EvaluationStatus;
+import dk.alexandra.fresco.framework.ProtocolCollection;
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.framework.sce.resources.ResourcePool;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Batched strategy which evaluates the {@link ParallelizableProtocol}s of each round concurrently
+ * on a fork join pool, while the remaining protocols are evaluated in order on the calling thread.
+ * Rounds are otherwise evaluated as in the {@link BatchedStrategy}.
+ * <p>
+ * The protocols of a round are split into consecutive segments of either parallelizable or other
+ * protocols, and the parallelizable segments are further split into one chunk per thread of the
+ * pool. Every segment and chunk sends through its own {@link StagedNetwork}, and the staged
+ * messages are forwarded to the network in protocol order once the round has been evaluated, so
+ * the messages sent are exactly the same as with the {@link BatchedStrategy}. Rounds without
+ * parallelizable protocols are evaluated directly on the network.
+ * </p>
+ */
+public class ParallelBatchedStrategy<ResourcePoolT extends ResourcePool>
+    implements BatchEvaluationStrategy<ResourcePoolT> {
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates a new strategy evaluating on the common fork join pool.
+   */
+  public ParallelBatchedStrategy() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a new strategy evaluating on the given pool.
+   *
+   * @param pool the pool to evaluate parallelizable protocols on
+   */
+  public ParallelBatchedStrategy(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public void processBatch(
+      ProtocolCollection<ResourcePoolT> protocols, ResourcePoolT resourcePool,
+      NetworkBatchDecorator networkBatchDecorator) {
+    int round = 0;
+    while (protocols.size() > 0) {
+      evaluateCurrentRound(protocols, networkBatchDecorator, resourcePool, round);
+      networkBatchDecorator.flush();
+      round++;
+    }
+  }
+
+  private void evaluateCurrentRound(
+      ProtocolCollection<ResourcePoolT> protocols, Network sceNetwork,
+      ResourcePoolT rp, int round) {
+    List<NativeProtocol<?, ResourcePoolT>> current = new ArrayList<>(protocols.size());
+    int parallelizable = 0;
+    for (NativeProtocol<?, ResourcePoolT> protocol : protocols) {
+      current.add(protocol);
+      if (protocol instanceof ParallelizableProtocol) {
+        parallelizable++;
+      }
+    }
+    EvaluationStatus[] statuses = new EvaluationStatus[current.size()];
+    if (parallelizable == 0) {
+      evaluateRange(current, 0, current.size(), rp, sceNetwork, round, statuses);
+    } else {
+      int chunkSize = Math.max(1,
+          (parallelizable + pool.getParallelism() - 1) / pool.getParallelism());
+      List<StagedNetwork> stages = new ArrayList<>();
+      List<ForkJoinTask<?>> tasks = new ArrayList<>();
+      List<Runnable> sequential = new ArrayList<>();
+      int from = 0;
+      while (from < current.size()) {
+        boolean parallel = current.get(from) instanceof ParallelizableProtocol;
+        int to = from + 1;
+        while (to < current.size()
+            && current.get(to) instanceof ParallelizableProtocol == parallel
+            && (!parallel || to - from < chunkSize)) {
+          to++;
+        }
+        int start = from;
+        int end = to;
+        if (parallel) {
+          StagedNetwork stage = new StagedNetwork(sceNetwork.getNoOfParties(), null);
+          stages.add(stage);
+          tasks.add(pool.submit(
+              () -> evaluateRange(current, start, end, rp, stage, round, statuses)));
+        } else {
+          StagedNetwork stage = new StagedNetwork(sceNetwork.getNoOfParties(), sceNetwork);
+          stages.add(stage);
+          sequential.add(() -> evaluateRange(current, start, end, rp, stage, round, statuses));
+        }
+        from = to;
+      }
+      for (Runnable segment : sequential) {
+        segment.run();
+      }
+      for (ForkJoinTask<?> task : tasks) {
+        task.join();
+      }
+      for (StagedNetwork stage : stages) {
+        stage.forwardTo(sceNetwork);
+      }
+    }
+    Iterator<NativeProtocol<?, ResourcePoolT>> iterator = protocols.iterator();
+    for (int i = 0; iterator.hasNext(); i++) {
+      iterator.next();
+      if (statuses[i].equals(EvaluationStatus.IS_DONE)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private void evaluateRange(List<NativeProtocol<?, ResourcePoolT>> protocols, int from, int to,
+      ResourcePoolT rp, Network network, int round, EvaluationStatus[] statuses) {
+    for (int i = from; i < to; i++) {
+      statuses[i] = protocols.get(i).evaluate(round, rp, network);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package dk.alexandra.fresco.framework.sce.evaluator;
+
+/**
+ * Marks a native protocol whose evaluation does not depend on the order in which the protocols of
+ * a batch are evaluated, so that {@link ParallelBatchedStrategy} may evaluate it concurrently with
+ * other protocols.
+ *
+ * <p>A parallelizable protocol may do local computation and send messages, but it must not
+ * receive messages and must not draw anything from the resource pool whose value depends on the
+ * order of the draws, such as pre-processed material or randomness. Typical examples are protocols
+ * doing expensive local computation on values that are already known, such as scalar
+ * multiplications of elliptic curve points.</p>
+ */
+public interface ParallelizableProtocol {
+
+}
@@ -0,0 +1,66 @@
+package dk.alexandra.fresco.framework.sce.evaluator;
+
+import dk.alexandra.fresco.framework.network.Network;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Network which holds back the messages sent through it until they are forwarded to another
+ * network, so protocols evaluated on different threads can send without interleaving their
+ * messages. Receiving is delegated to a given network, or not allowed if there is none.
+ */
+class StagedNetwork implements Network {
+
+  private final int noOfParties;
+  private final Network receiver;
+  private final List<List<byte[]>> messages;
+
+  /**
+   * Creates a new staged network.
+   *
+   * @param noOfParties the number of parties
+   * @param receiver the network to receive from, or null if receiving is not allowed
+   */
+  StagedNetwork(int noOfParties, Network receiver) {
+    this.noOfParties = noOfParties;
+    this.receiver = receiver;
+    this.messages = new ArrayList<>(noOfParties);
+    for (int i = 0; i < noOfParties; i++) {
+      messages.add(new ArrayList<>());
+    }
+  }
+
+  @Override
+  public void send(int partyId, byte[] data) {
+    messages.get(partyId - 1).add(data);
+  }
+
+  @Override
+  public byte[] receive(int partyId) {
+    if (receiver == null) {
+      throw new IllegalStateException("Parallelizable protocols cannot receive");
+    }
+    return receiver.receive(partyId);
+  }
+
+  @Override
+  public int getNoOfParties() {
+    return noOfParties;
+  }
+
+  /**
+   * Sends all staged messages to the given network, party by party in the order they were sent,
+   * and clears the stage.
+   *
+   * @param network the network to forward the messages to
+   */
+  void forwardTo(Network network) {
+    for (int i = 0; i < noOfParties; i++) {
+      List<byte[]> partyMessages = messages.get(i);
+      for (byte[] message : partyMessages) {
+        network.send(i + 1, message);
+      }
+      partyMessages.clear();
+    }
+  }
+}
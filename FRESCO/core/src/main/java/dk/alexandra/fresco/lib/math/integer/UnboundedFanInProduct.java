@@ -0,0 +1,94 @@
+package dk.alexandra.fresco.lib.math.integer;
+
+import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.builder.Computation;
+import dk.alexandra.fresco.framework.builder.numeric.Numeric;
+import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
+import dk.alexandra.fresco.framework.value.SInt;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ComputationBuilder for multiplying a list of SInts in a constant number of rounds.
+ *
+ * <p>Uses the unbounded fan-in multiplication of Bar-Ilan and Beaver: every factor
+ * <i>x<sub>i</sub></i> is masked as <i>r<sub>i-1</sub> x<sub>i</sub> r<sub>i</sub><sup>-1</sup></i>
+ * using random invertible values, all masked factors are opened in one round and multiplied
+ * publicly, and the telescoping masks are removed using <i>r<sub>0</sub><sup>-1</sup>
+ * r<sub>n</sub></i>. The number of rounds is independent of the number of factors, at the cost of
+ * roughly three multiplications per factor.</p>
+ *
+ * <p>All factors must be non-zero. Whether a factor is zero is revealed by the opened values.</p>
+ */
+public class UnboundedFanInProduct implements Computation<SInt, ProtocolBuilderNumeric> {
+
+  private final List<DRes<SInt>> input;
+
+  /**
+   * Creates a new UnboundedFanInProduct.
+   *
+   * @param list the non-zero factors to multiply
+   */
+  public UnboundedFanInProduct(List<DRes<SInt>> list) {
+    input = list;
+  }
+
+  @Override
+  public DRes<SInt> buildComputation(ProtocolBuilderNumeric builder) {
+    final int n = input.size();
+    if (n == 1) {
+      return input.get(0);
+    }
+    final List<DRes<SInt>> r = new ArrayList<>(n + 1);
+    final List<DRes<SInt>> s = new ArrayList<>(n + 1);
+    final List<DRes<SInt>> rs = new ArrayList<>(n + 1);
+    final List<DRes<SInt>> chained = new ArrayList<>(n);
+    final List<DRes<BigInteger>> openedRs = new ArrayList<>(n + 1);
+    final List<DRes<SInt>> masked = new ArrayList<>(n);
+    final List<DRes<BigInteger>> opened = new ArrayList<>(n);
+    return builder.par(par -> {
+      Numeric numeric = par.numeric();
+      for (int i = 0; i <= n; i++) {
+        r.add(numeric.randomElement());
+        s.add(numeric.randomElement());
+      }
+      return null;
+    }).par((par, ignored) -> {
+      // r_i * s_i is opened to derive r_i^-1 = s_i * (r_i * s_i)^-1 without an extra round
+      Numeric numeric = par.numeric();
+      for (int i = 0; i <= n; i++) {
+        rs.add(numeric.mult(r.get(i), s.get(i)));
+      }
+      for (int i = 1; i <= n; i++) {
+        chained.add(numeric.mult(r.get(i - 1), s.get(i)));
+      }
+      return numeric.mult(s.get(0), r.get(n));
+    }).par((par, unmask) -> {
+      Numeric numeric = par.numeric();
+      for (DRes<SInt> value : rs) {
+        openedRs.add(numeric.open(value));
+      }
+      for (int i = 0; i < n; i++) {
+        masked.add(numeric.mult(chained.get(i), input.get(i)));
+      }
+      return () -> unmask;
+    }).par((par, unmask) -> {
+      Numeric numeric = par.numeric();
+      for (DRes<SInt> value : masked) {
+        opened.add(numeric.open(value));
+      }
+      return () -> unmask;
+    }).seq((seq, unmask) -> {
+      // prod_i r_{i-1} x_i s_i (r_i s_i)^-1 = r_0 * prod_i x_i * r_n^-1
+      BigInteger modulus = seq.getBasicNumericContext().getModulus();
+      BigInteger product = openedRs.get(0).out().modInverse(modulus);
+      for (int i = 1; i <= n; i++) {
+        product = product.multiply(opened.get(i - 1).out())
+            .multiply(openedRs.get(i).out().modInverse(modulus))
+            .mod(modulus);
+      }
+      return seq.numeric().mult(product, () -> unmask);
+    });
+  }
+}
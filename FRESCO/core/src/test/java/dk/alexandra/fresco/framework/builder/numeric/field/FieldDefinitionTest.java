@@ -45,14 +45,17 @@ public final class FieldDefinitionTest {
         BigIntegerFieldElement::extractValue);
     test.accept(new MersennePrimeFieldDefinition(bitLength, constant),
         MersennePrimeFieldElement::extractValue);
+    test.accept(new MontgomeryFieldDefinition(modulusValue),
+        MontgomeryFieldElement::extractValue);
   }
 
   /**
-   * Runs the test on two field definitions, simple and mersenne
+   * Runs the test on three field definitions, simple, mersenne and montgomery
    */
   private void testDefinition(Consumer<FieldDefinition> test) {
     test.accept(new BigIntegerFieldDefinition(modulusValue));
     test.accept(new MersennePrimeFieldDefinition(bitLength, constant));
+    test.accept(new MontgomeryFieldDefinition(modulusValue));
   }
 
   private List<BigInteger> toBigIntegers(List<FieldElement> elements,
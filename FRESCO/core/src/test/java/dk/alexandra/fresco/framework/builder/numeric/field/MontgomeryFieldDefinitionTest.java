@@ -0,0 +1,143 @@
+package dk.alexandra.fresco.framework.builder.numeric.field;
+
+import static org.junit.Assert.assertThat;
+
+import dk.alexandra.fresco.framework.util.ModulusFinder;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.hamcrest.core.Is;
+import org.hamcrest.core.StringContains;
+import org.junit.Test;
+
+public class MontgomeryFieldDefinitionTest {
+
+  private final Random random = new Random(42);
+
+  private List<BigInteger> getModuli() {
+    return Arrays.asList(
+        BigInteger.valueOf(113),
+        BigInteger.ONE.shiftLeft(64).subtract(BigInteger.valueOf(59)),
+        new BigInteger("340282366920938463463374607431768211283"),
+        ModulusFinder.findSuitableModulus(256),
+        BigInteger.ONE.shiftLeft(511).nextProbablePrime(),
+        BigInteger.ONE.shiftLeft(512).subtract(BigInteger.valueOf(569)));
+  }
+
+  private BigInteger randomValue(BigInteger modulus) {
+    return new BigInteger(modulus.bitLength() + 8, random).mod(modulus);
+  }
+
+  @Test
+  public void testArithmetic() {
+    for (BigInteger modulus : getModuli()) {
+      MontgomeryFieldDefinition definition = new MontgomeryFieldDefinition(modulus);
+      List<BigInteger> values = new ArrayList<>(Arrays.asList(
+          BigInteger.ZERO, BigInteger.ONE, modulus.subtract(BigInteger.ONE),
+          modulus.shiftRight(1)));
+      for (int i = 0; i < 20; i++) {
+        values.add(randomValue(modulus));
+      }
+      for (BigInteger a : values) {
+        FieldElement left = definition.createElement(a);
+        assertThat(definition.convertToUnsigned(left), Is.is(a));
+        assertThat(definition.convertToUnsigned(left.negate()), Is.is(a.negate().mod(modulus)));
+        for (BigInteger b : values) {
+          FieldElement right = definition.createElement(b);
+          assertThat(definition.convertToUnsigned(left.add(right)),
+              Is.is(a.add(b).mod(modulus)));
+          assertThat(definition.convertToUnsigned(left.subtract(right)),
+              Is.is(a.subtract(b).mod(modulus)));
+          assertThat(definition.convertToUnsigned(left.multiply(right)),
+              Is.is(a.multiply(b).mod(modulus)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testCreation() {
+    MontgomeryFieldDefinition definition = new MontgomeryFieldDefinition(BigInteger.valueOf(113));
+    assertThat(definition.convertToUnsigned(definition.createElement(27 + 113)),
+        Is.is(BigInteger.valueOf(27)));
+    assertThat(definition.convertToUnsigned(definition.createElement(-1)),
+        Is.is(BigInteger.valueOf(112)));
+    assertThat(definition.convertToUnsigned(definition.createElement("-27")),
+        Is.is(BigInteger.valueOf(86)));
+  }
+
+  @Test
+  public void testModInverseAndSqrt() {
+    BigInteger modulus = ModulusFinder.findSuitableModulus(256);
+    MontgomeryFieldDefinition definition = new MontgomeryFieldDefinition(modulus);
+    BigInteger value = randomValue(modulus);
+    FieldElement element = definition.createElement(value);
+    assertThat(definition.convertToUnsigned(element.modInverse()),
+        Is.is(value.modInverse(modulus)));
+    FieldElement root = element.multiply(element).sqrt();
+    assertThat(definition.convertToUnsigned(root.multiply(root)),
+        Is.is(value.multiply(value).mod(modulus)));
+  }
+
+  @Test
+  public void testVectorOperations() {
+    for (BigInteger modulus : getModuli()) {
+      MontgomeryFieldDefinition definition = new MontgomeryFieldDefinition(modulus);
+      List<BigInteger> leftValues = new ArrayList<>();
+      List<BigInteger> rightValues = new ArrayList<>();
+      List<FieldElement> left = new ArrayList<>();
+      List<FieldElement> right = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+        leftValues.add(randomValue(modulus));
+        rightValues.add(randomValue(modulus));
+        left.add(definition.createElement(leftValues.get(i)));
+        right.add(definition.createElement(rightValues.get(i)));
+      }
+      BigInteger scalar = randomValue(modulus);
+      List<FieldElement> sums = definition.add(left, right);
+      List<FieldElement> products = definition.multiply(left, right);
+      List<FieldElement> scaled = definition.scale(left, definition.createElement(scalar));
+      BigInteger innerProduct = BigInteger.ZERO;
+      BigInteger sum = BigInteger.ZERO;
+      for (int i = 0; i < left.size(); i++) {
+        BigInteger a = leftValues.get(i);
+        BigInteger b = rightValues.get(i);
+        assertThat(definition.convertToUnsigned(sums.get(i)), Is.is(a.add(b).mod(modulus)));
+        assertThat(definition.convertToUnsigned(products.get(i)),
+            Is.is(a.multiply(b).mod(modulus)));
+        assertThat(definition.convertToUnsigned(scaled.get(i)),
+            Is.is(a.multiply(scalar).mod(modulus)));
+        innerProduct = innerProduct.add(a.multiply(b));
+        sum = sum.add(a);
+      }
+      assertThat(definition.convertToUnsigned(definition.innerProduct(left, right)),
+          Is.is(innerProduct.mod(modulus)));
+      assertThat(definition.convertToUnsigned(definition.sum(left)), Is.is(sum.mod(modulus)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testVectorsOfDifferentLength() {
+    MontgomeryFieldDefinition definition = new MontgomeryFieldDefinition(BigInteger.valueOf(113));
+    definition.innerProduct(Arrays.asList(definition.createElement(1)), new ArrayList<>());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEvenModulus() {
+    new MontgomeryFieldDefinition(BigInteger.valueOf(114));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testModulusTooLarge() {
+    new MontgomeryFieldDefinition(BigInteger.ONE.shiftLeft(513).subtract(BigInteger.ONE));
+  }
+
+  @Test
+  public void testToString() {
+    MontgomeryFieldDefinition definition = new MontgomeryFieldDefinition(BigInteger.valueOf(113));
+    assertThat(definition.createElement(27).toString(),
+        StringContains.containsString("MontgomeryFieldElement{value=27"));
+  }
+}
@@ -1,6 +1,7 @@
 package dk.alexandra.fresco.framework.network;
 
 import dk.alexandra.fresco.framework.sce.evaluator.NetworkBatchDecorator;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -65,25 +66,48 @@ public class NetworkBatchDecoratorTest {
     Assert.assertArrayEquals(new byte[]{1, 123}, transmissions.get(3));
   }
 
-  @Test(expected = RuntimeException.class)
-  public void errorOnBigPackets() throws Exception {
-    networkBatchDecorator.sendToAll(
-        new byte[]{
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-            123, 123, 123, 123, 123, 123, 123, 123, 123, 123,
-        });
+  @Test
+  public void sendBigPackets() throws Exception {
+    byte[] big = new byte[300];
+    Arrays.fill(big, (byte) 123);
+    networkBatchDecorator.send(1, big);
+    networkBatchDecorator.flush();
+    byte[] sent = transmissions.get(1);
+    Assert.assertEquals(302, sent.length);
+    // 300 = 0b10_0101100 as a varint
+    Assert.assertEquals((byte) 0xAC, sent[0]);
+    Assert.assertEquals((byte) 0x02, sent[1]);
+  }
 
+  @Test
+  public void sendAndReceiveMixedSizes() throws Exception {
+    byte[] small = new byte[]{1, 2, 3};
+    byte[] medium = new byte[200];
+    byte[] large = new byte[70000];
+    Arrays.fill(medium, (byte) 7);
+    Arrays.fill(large, (byte) 42);
+    networkBatchDecorator.send(2, small);
+    networkBatchDecorator.send(2, large);
+    networkBatchDecorator.send(2, new byte[0]);
+    networkBatchDecorator.send(2, medium);
+    networkBatchDecorator.flush();
+    Assert.assertEquals(1, transmissions.size());
+    Assert.assertArrayEquals(small, networkBatchDecorator.receive(2));
+    Assert.assertArrayEquals(large, networkBatchDecorator.receive(2));
+    Assert.assertArrayEquals(new byte[0], networkBatchDecorator.receive(2));
+    Assert.assertArrayEquals(medium, networkBatchDecorator.receive(2));
+  }
+
+  @Test
+  public void bufferIsReusedAfterFlush() throws Exception {
+    networkBatchDecorator.send(1, new byte[]{1});
+    networkBatchDecorator.flush();
+    transmissions.clear();
+    networkBatchDecorator.flush();
+    Assert.assertTrue(transmissions.isEmpty());
+    networkBatchDecorator.send(1, new byte[]{2});
+    networkBatchDecorator.flush();
+    Assert.assertArrayEquals(new byte[]{1, 2}, transmissions.get(1));
   }
 
   private class DummyNetwork implements Network {
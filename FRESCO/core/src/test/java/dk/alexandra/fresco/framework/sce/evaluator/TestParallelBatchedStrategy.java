@@ -0,0 +1,192 @@
+package dk.alexandra.fresco.framework.sce.evaluator;
+
+import dk.alexandra.fresco.framework.NativeProtocol;
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.framework.sce.resources.ResourcePoolImpl;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestParallelBatchedStrategy {
+
+  private static final int NO_OF_PARTIES = 2;
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+  private final ResourcePoolImpl resourcePool = new ResourcePoolImpl(1, NO_OF_PARTIES);
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void testSameMessagesAsBatched() {
+    LoopbackNetwork batchedNetwork = new LoopbackNetwork();
+    List<NativeProtocol<?, ResourcePoolImpl>> batched = createProtocols(500);
+    new BatchedStrategy<ResourcePoolImpl>().processBatch(toCollection(batched), resourcePool,
+        new NetworkBatchDecorator(NO_OF_PARTIES, batchedNetwork));
+
+    LoopbackNetwork parallelNetwork = new LoopbackNetwork();
+    List<NativeProtocol<?, ResourcePoolImpl>> parallel = createProtocols(500);
+    new ParallelBatchedStrategy<ResourcePoolImpl>(pool).processBatch(toCollection(parallel),
+        resourcePool, new NetworkBatchDecorator(NO_OF_PARTIES, parallelNetwork));
+
+    Assert.assertEquals(batchedNetwork.transmissions.size(), parallelNetwork.transmissions.size());
+    for (int i = 0; i < batchedNetwork.transmissions.size(); i++) {
+      Assert.assertArrayEquals(batchedNetwork.transmissions.get(i),
+          parallelNetwork.transmissions.get(i));
+    }
+    for (int i = 0; i < parallel.size(); i++) {
+      Assert.assertEquals(batched.get(i).out(), parallel.get(i).out());
+      Assert.assertEquals(i, parallel.get(i).out());
+    }
+  }
+
+  @Test
+  public void testOnlySequentialProtocols() {
+    List<NativeProtocol<?, ResourcePoolImpl>> protocols = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      protocols.add(new ExchangeProtocol(i));
+    }
+    new ParallelBatchedStrategy<ResourcePoolImpl>(pool).processBatch(toCollection(protocols),
+        resourcePool, new NetworkBatchDecorator(NO_OF_PARTIES, new LoopbackNetwork()));
+    for (int i = 0; i < protocols.size(); i++) {
+      Assert.assertEquals(i, protocols.get(i).out());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testParallelizableProtocolCannotReceive() {
+    List<NativeProtocol<?, ResourcePoolImpl>> protocols = new ArrayList<>();
+    protocols.add(new ReceivingLocalProtocol());
+    new ParallelBatchedStrategy<ResourcePoolImpl>(pool).processBatch(toCollection(protocols),
+        resourcePool, new NetworkBatchDecorator(NO_OF_PARTIES, new LoopbackNetwork()));
+  }
+
+  private List<NativeProtocol<?, ResourcePoolImpl>> createProtocols(int amount) {
+    List<NativeProtocol<?, ResourcePoolImpl>> protocols = new ArrayList<>();
+    for (int i = 0; i < amount; i++) {
+      if (i % 7 < 2) {
+        protocols.add(new ExchangeProtocol(i));
+      } else {
+        protocols.add(new LocalProtocol(i));
+      }
+    }
+    return protocols;
+  }
+
+  private ProtocolCollectionList<ResourcePoolImpl> toCollection(
+      List<NativeProtocol<?, ResourcePoolImpl>> protocols) {
+    ProtocolCollectionList<ResourcePoolImpl> collection =
+        new ProtocolCollectionList<>(protocols.size());
+    for (NativeProtocol<?, ResourcePoolImpl> protocol : protocols) {
+      collection.addProtocol(protocol);
+    }
+    return collection;
+  }
+
+  /**
+   * Network which records everything sent and on receive returns what was last sent to the party.
+   */
+  private static class LoopbackNetwork implements Network {
+
+    private final List<byte[]> transmissions = new ArrayList<>();
+    private final Map<Integer, byte[]> lastSent = new HashMap<>();
+
+    @Override
+    public void send(int partyId, byte[] data) {
+      transmissions.add(data);
+      lastSent.put(partyId, data);
+    }
+
+    @Override
+    public byte[] receive(int partyId) {
+      return lastSent.remove(partyId);
+    }
+
+    @Override
+    public int getNoOfParties() {
+      return NO_OF_PARTIES;
+    }
+  }
+
+  /**
+   * Sends its index to the other party and receives it back in the next round.
+   */
+  private static class ExchangeProtocol implements NativeProtocol<Integer, ResourcePoolImpl> {
+
+    private final int index;
+    private Integer out;
+
+    ExchangeProtocol(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public EvaluationStatus evaluate(int round, ResourcePoolImpl resourcePool, Network network) {
+      if (round == 0) {
+        network.send(2, new byte[]{(byte) index, (byte) (index >> 8)});
+        return EvaluationStatus.HAS_MORE_ROUNDS;
+      } else {
+        byte[] received = network.receive(2);
+        out = (received[0] & 0xFF) | (received[1] & 0xFF) << 8;
+        return EvaluationStatus.IS_DONE;
+      }
+    }
+
+    @Override
+    public Integer out() {
+      return out;
+    }
+  }
+
+  /**
+   * Does some local work and sends the result to the first party in each of its two rounds.
+   */
+  private static class LocalProtocol
+      implements NativeProtocol<Integer, ResourcePoolImpl>, ParallelizableProtocol {
+
+    private final int index;
+    private Integer out;
+
+    LocalProtocol(int index) {
+      this.index = index;
+    }
+
+    @Override
+    public EvaluationStatus evaluate(int round, ResourcePoolImpl resourcePool, Network network) {
+      long value = index;
+      for (int i = 0; i < 10000; i++) {
+        value = value * 6364136223846793005L + 1442695040888963407L;
+      }
+      network.send(1, new byte[]{(byte) round, (byte) index, (byte) value});
+      out = index;
+      return round == 0 ? EvaluationStatus.HAS_MORE_ROUNDS : EvaluationStatus.IS_DONE;
+    }
+
+    @Override
+    public Integer out() {
+      return out;
+    }
+  }
+
+  private static class ReceivingLocalProtocol
+      implements NativeProtocol<Integer, ResourcePoolImpl>, ParallelizableProtocol {
+
+    @Override
+    public EvaluationStatus evaluate(int round, ResourcePoolImpl resourcePool, Network network) {
+      network.receive(2);
+      return EvaluationStatus.IS_DONE;
+    }
+
+    @Override
+    public Integer out() {
+      return null;
+    }
+  }
+}
@@ -9,6 +9,7 @@ import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
 import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
 import dk.alexandra.fresco.framework.sce.resources.ResourcePool;
 import dk.alexandra.fresco.framework.value.SInt;
+import dk.alexandra.fresco.lib.math.integer.UnboundedFanInProduct;
 import dk.alexandra.fresco.lib.math.integer.min.MinInfFrac;
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -167,4 +168,30 @@ public class AdvancedNumericTests {
       };
     }
   }
+
+  public static class TestUnboundedFanInProduct<ResourcePoolT extends ResourcePool>
+      extends TestThreadFactory<ResourcePoolT, ProtocolBuilderNumeric> {
+
+    @Override
+    public TestThread<ResourcePoolT, ProtocolBuilderNumeric> next() {
+
+      return new TestThread<ResourcePoolT, ProtocolBuilderNumeric>() {
+        @Override
+        public void test() {
+          List<BigInteger> values = Arrays.asList(BigInteger.valueOf(3), BigInteger.valueOf(17),
+              BigInteger.valueOf(1), BigInteger.valueOf(250), BigInteger.valueOf(42),
+              BigInteger.valueOf(7), BigInteger.valueOf(9), BigInteger.valueOf(1000));
+          Application<BigInteger, ProtocolBuilderNumeric> app = producer -> {
+            Numeric numeric = producer.numeric();
+            List<DRes<SInt>> factors =
+                values.stream().map((n) -> numeric.input(n, 1)).collect(Collectors.toList());
+            DRes<SInt> product = producer.seq(new UnboundedFanInProduct(factors));
+            return producer.numeric().open(product);
+          };
+          BigInteger expected = values.stream().reduce(BigInteger.ONE, BigInteger::multiply);
+          Assert.assertEquals(expected, runApplication(app));
+        }
+      };
+    }
+  }
 }
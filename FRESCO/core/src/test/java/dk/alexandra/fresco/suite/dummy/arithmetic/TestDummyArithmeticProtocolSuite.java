@@ -10,6 +10,7 @@ import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
 import dk.alexandra.fresco.framework.util.ModulusFinder;
 import dk.alexandra.fresco.framework.value.SInt;
 import dk.alexandra.fresco.lib.arithmetic.AdvancedNumericTests.TestMinInfFrac;
+import dk.alexandra.fresco.lib.arithmetic.AdvancedNumericTests.TestUnboundedFanInProduct;
 import dk.alexandra.fresco.lib.arithmetic.BasicArithmeticTests;
 import dk.alexandra.fresco.lib.arithmetic.MiMCTests;
 import dk.alexandra.fresco.lib.arithmetic.ParallelAndSequenceTests.TestSumAndProduct;
@@ -112,6 +113,16 @@ public class TestDummyArithmeticProtocolSuite extends AbstractDummyArithmeticTes
     runTest(new TestMinInfFrac<>(), new TestParameters());
   }
 
+  @Test
+  public void test_UnboundedFanInProduct() {
+    runTest(new TestUnboundedFanInProduct<>(), new TestParameters());
+  }
+
+  @Test
+  public void test_UnboundedFanInProduct_ThreeParties() {
+    runTest(new TestUnboundedFanInProduct<>(), new TestParameters().numParties(3));
+  }
+
   @Test
   public void test_compareLt_Sequential() {
     runTest(new CompareTests.TestCompareLT<>(), new TestParameters());
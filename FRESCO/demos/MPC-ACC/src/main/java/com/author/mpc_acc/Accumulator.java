@@ -8,6 +8,10 @@ import iaik.security.ec.common.SecurityStrength;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+
+import dk.alexandra.fresco.suite.spdz.ECCExtension.FixedBaseMultiplication;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.MultiScalarMultiplication;
 
 import iaik.security.ec.math.curve.Pairing;
 import iaik.security.ec.math.curve.PairingTypes;
@@ -43,8 +47,9 @@ import iaik.security.ec.math.curve.EllipticCurve;
     this.t = t;
     this.CURVE1 = PAIRING.getGroup1();
     this.CURVE2 = PAIRING.getGroup2();
-    this.G1 = CURVE1.getGenerator();
-    this.G2 = CURVE2.getGenerator();
+    // the generators are the bases of most scalar multiplications
+    this.G1 = FixedBaseMultiplication.register(CURVE1.getGenerator());
+    this.G2 = FixedBaseMultiplication.register(CURVE2.getGenerator());
     this.Q = CURVE1.getOrder();
     random = SecurityStrength.getSecureRandom(SecurityStrength
         .getSecurityStrength(CURVE1.getField().getFieldSize()));
@@ -59,72 +64,108 @@ import iaik.security.ec.math.curve.EllipticCurve;
     BigInteger s_ = sk;
     pk = new ArrayList<>();
     pk.add(G1.clone());
-    pk.add(G1.clone().multiplyPoint(s_));
+    pk.add(FixedBaseMultiplication.multiply(G1, s_));
     for (int i = 2; i <= t; i++) {
       s_ = s_.multiply(sk).mod(Q);
-      pk.add(G1.clone().multiplyPoint(s_));
+      pk.add(FixedBaseMultiplication.multiply(G1, s_));
     }
     pk2 = G2.clone().multiplyPoint(sk);
   }
 
-  private EvalResult Eval(List<BigInteger> X, BigInteger r) {
-    Polynomial pol = Polynomial.expand(X.toArray(new BigInteger[X.size()]), Q);
+  private ECPoint Eval(Polynomial pol, BigInteger r) {
     BigInteger[] coeff = pol.getCoefficient();
 
-    ECPoint acc = pk.get(0).clone().multiplyPoint(coeff[0]);
-    for (int i = 1; i <= pol.getDegree(); i++) {
-      acc.addPoint(pk.get(i).clone().multiplyPoint(coeff[i]));
-    }
+    ECPoint acc = MultiScalarMultiplication.multiply(pk.subList(0, coeff.length),
+        Arrays.asList(coeff), true);
+    return acc.multiplyPoint(r);
+  }
 
-    List<BigInteger> list = new ArrayList<BigInteger>(X);
-    return new EvalResult(acc.multiplyPoint(r), list, r);
+  private EvalResult Eval(List<BigInteger> X, BigInteger r) {
+    // rejects repeated elements before expanding
+    MemberSet list = MemberSet.of(X);
+    Polynomial pol = Polynomial.expand(X.toArray(new BigInteger[X.size()]), Q);
+    return new EvalResult(Eval(pol, r), list, r, pol);
   }
 
   private EvalResult Eval(List<BigInteger> X) {
     return Eval(X, getRandomScalar());
   }
 
+  /**
+   * Returns the expanded polynomial of the accumulated elements, expanding it if the auxillery
+   * data does not hold it.
+   */
+  private Polynomial getPolynomial(Auxillery aux) {
+    Polynomial pol = aux.getPolynomial();
+    if (pol != null)
+      return pol;
+    return Polynomial.expand(aux.getMembers().toArray(), Q);
+  }
+
   private Witness WitCreate(ECPoint acc, Auxillery aux, BigInteger x) {
-    List<BigInteger> list = aux.getList();
+    MemberSet list = aux.getMembers();
     if (!list.contains(x))
       return null;
 
-    List<BigInteger> X_prime = new ArrayList<BigInteger>(list);
-    X_prime.remove(x);
-    EvalResult res = Eval(X_prime, aux.getR());
-    return new Witness(res.getAcc(), x);
+    Polynomial pol_prime = getPolynomial(aux).divideLinear(x, Q);
+    return new Witness(Eval(pol_prime, aux.getR()), x);
+  }
+
+  /**
+   * Computes the witnesses of all accumulated elements, in the iteration order of the member set.
+   * The public powers are pushed down the subproduct tree of the elements, see
+   * {@link WitnessTree}, which takes far fewer scalar multiplications than one multi-scalar
+   * multiplication per element.
+   */
+  private List<Witness> allWitnesses(Auxillery aux) {
+    BigInteger[] members = aux.getMembers().toArray();
+    Polynomial.ProductTree tree = Polynomial.productTree(members, Q);
+    ECPoint[] points = WitnessTree.witnesses(tree, pk, aux.getR(), Q);
+    List<Witness> wits = new ArrayList<Witness>(members.length);
+    for (int i = 0; i < members.length; i++) {
+      wits.add(new Witness(points[i], members[i]));
+    }
+    return wits;
   }
 
   private Boolean Verify(ECPoint acc, Witness wit, BigInteger x) {
     GenericFieldElement p1 = PAIRING.pair(acc.clone(), G2);
-    ECPoint p2_EP = G2.clone().multiplyPoint(x);
+    ECPoint p2_EP = FixedBaseMultiplication.multiply(G2, x);
     p2_EP.addPoint(pk2);
     GenericFieldElement p2 = PAIRING.pair(wit.getWitness().clone(), p2_EP);
     return p1.equals(p2);
   }
 
+  /**
+   * Verifies many witnesses against one accumulator with two pairings, see
+   * {@link Witness#verifyBatch}.
+   */
+  private Boolean verifyBatch(ECPoint acc, List<Witness> wits) {
+    return Witness.verifyBatch(PAIRING, G2, pk2, Q, acc, wits, random);
+  }
+
   private EvalResult Add(ECPoint acc, Auxillery aux, BigInteger x) {
-    List<BigInteger> list = aux.getList();
+    MemberSet list = aux.getMembers();
     if (list.contains(x))
       return null;
 
-    List<BigInteger> list_prime = new ArrayList<BigInteger>(list);
-    list_prime.add(x);
+    MemberSet list_prime = list.add(x);
 
-    EvalResult res = Eval(list_prime, aux.getR());
-    return new EvalResult(res.getAcc(), list_prime, Auxillery.UPDATE.ADD, acc);
+    Polynomial pol_prime = getPolynomial(aux).multiplyLinear(x, Q);
+    return new EvalResult(Eval(pol_prime, aux.getR()), list_prime, Auxillery.UPDATE.ADD, acc,
+        aux.getR(), pol_prime);
   }
 
   private EvalResult Delete(ECPoint acc, Auxillery aux, BigInteger x) {
-    List<BigInteger> list = aux.getList();
+    MemberSet list = aux.getMembers();
     if (!list.contains(x))
       return null;
 
-    List<BigInteger> list_prime = new ArrayList<BigInteger>(list);
-    list_prime.remove(x);
+    MemberSet list_prime = list.remove(x);
 
-    EvalResult res = Eval(list_prime, aux.getR());
-    return new EvalResult(res.getAcc(), list_prime, Auxillery.UPDATE.DELETE, acc);
+    Polynomial pol_prime = getPolynomial(aux).divideLinear(x, Q);
+    return new EvalResult(Eval(pol_prime, aux.getR()), list_prime, Auxillery.UPDATE.DELETE, acc,
+        aux.getR(), pol_prime);
 
   }
 
@@ -178,6 +219,20 @@ import iaik.security.ec.math.curve.EllipticCurve;
     System.out.println("Correct verify: " + Verify(acc, wit, x));
     System.out.println("Incorrect verify: " + Verify(acc, wit, X.get(1)));
 
+    System.out.println("Verify all witnesses:");
+    time = System.currentTimeMillis();
+    List<Witness> wits = allWitnesses(aux);
+    time = System.currentTimeMillis() - time;
+    System.out.println("AllWitnesses time: " + time + "ms");
+    time = System.currentTimeMillis();
+    Boolean batch = verifyBatch(acc, wits);
+    time = System.currentTimeMillis() - time;
+    System.out.println("VerifyBatch time: " + time + "ms");
+    System.out.println("Correct verify: " + batch);
+    List<Witness> wrong = new ArrayList<Witness>(wits);
+    wrong.set(0, new Witness(wits.get(1).getWitness(), wits.get(0).getElement()));
+    System.out.println("Incorrect verify: " + verifyBatch(acc, wrong));
+
     System.out.println("Verify add:");
     BigInteger new_el = getRandomScalar();
     time = System.currentTimeMillis();
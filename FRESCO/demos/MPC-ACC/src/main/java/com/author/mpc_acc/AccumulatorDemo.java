@@ -9,6 +9,8 @@ import iaik.security.ec.common.SecurityStrength;
 import java.util.List;
 import java.util.ArrayList;
 
+import dk.alexandra.fresco.suite.spdz.ECCExtension.FixedBaseMultiplication;
+
 import iaik.security.ec.math.curve.Pairing;
 import iaik.security.ec.math.curve.PairingTypes;
 import iaik.security.ec.math.field.GenericFieldElement;
@@ -41,8 +43,9 @@ import iaik.security.ec.math.curve.EllipticCurve;
     this.size = size;
     this.CURVE1 = PAIRING.getGroup1();
     this.CURVE2 = PAIRING.getGroup2();
-    this.G1 = CURVE1.getGenerator();
-    this.G2 = CURVE2.getGenerator();
+    // the generators are the bases of most scalar multiplications
+    this.G1 = FixedBaseMultiplication.register(CURVE1.getGenerator());
+    this.G2 = FixedBaseMultiplication.register(CURVE2.getGenerator());
     this.Q = CURVE1.getOrder();
     random = SecurityStrength.getSecureRandom(SecurityStrength
         .getSecurityStrength(CURVE1.getField().getFieldSize()));
@@ -59,54 +62,60 @@ import iaik.security.ec.math.curve.EllipticCurve;
   }
 
   private EvalResult Eval(List<BigInteger> X) {
+    // rejects repeated elements before evaluating
+    MemberSet list = MemberSet.of(X);
     BigInteger r = getRandomScalar();
     BigInteger q = BigInteger.ONE;
     for (BigInteger x : X) {
       q = q.multiply(x.add(sk).mod(Q)).mod(Q);
     }
 
-    List<BigInteger> list = new ArrayList<BigInteger>(X);
-
-    return new EvalResult(G1.clone().multiplyPoint(q.multiply(r).mod(Q)), list);
+    return new EvalResult(FixedBaseMultiplication.multiply(G1, q.multiply(r).mod(Q)), list);
   }
 
   private ECPoint WitCreate(ECPoint acc, Auxillery aux, BigInteger x) {
-    if (!aux.getList().contains(x))
+    if (!aux.getMembers().contains(x))
       return null;
 
-    return acc.clone().multiplyPoint(x.add(sk).mod(Q).modInverse(Q));
+    return FixedBaseMultiplication.multiply(acc, x.add(sk).mod(Q).modInverse(Q));
   }
 
   private Boolean Verify(ECPoint acc, ECPoint wit, BigInteger x) {
     GenericFieldElement p1 = PAIRING.pair(acc.clone(), G2);
-    ECPoint p2_EP = G2.clone().multiplyPoint(x);
+    ECPoint p2_EP = FixedBaseMultiplication.multiply(G2, x);
     p2_EP.addPoint(pk2);
     GenericFieldElement p2 = PAIRING.pair(wit.clone(), p2_EP);
     return p1.equals(p2);
   }
 
+  /**
+   * Verifies many witnesses against one accumulator with two pairings, see
+   * {@link Witness#verifyBatch}.
+   */
+  private Boolean verifyBatch(ECPoint acc, List<Witness> wits) {
+    return Witness.verifyBatch(PAIRING, G2, pk2, Q, acc, wits, random);
+  }
+
   private EvalResult Add(ECPoint acc, Auxillery aux, BigInteger x) {
-    List<BigInteger> list = aux.getList();
+    MemberSet list = aux.getMembers();
     if (list.contains(x))
       return null;
 
-    ECPoint r1 = acc.clone().multiplyPoint(x);
-    ECPoint r2 = acc.clone().multiplyPoint(sk);
-    List<BigInteger> list_prime = new ArrayList<BigInteger>(list);
-    list_prime.add(x);
+    ECPoint r1 = FixedBaseMultiplication.multiply(acc, x);
+    ECPoint r2 = FixedBaseMultiplication.multiply(acc, sk);
+    MemberSet list_prime = list.add(x);
     return new EvalResult(r1.addPoint(r2), list_prime, Auxillery.UPDATE.ADD);
   }
 
   private EvalResult Delete(ECPoint acc, Auxillery aux, BigInteger x) {
-    List<BigInteger> list = aux.getList();
+    MemberSet list = aux.getMembers();
     if (!list.contains(x))
       return null;
 
     BigInteger y = x.add(sk).mod(Q).modInverse(Q);
 
-    List<BigInteger> list_prime = new ArrayList<BigInteger>(list);
-    list_prime.remove(x);
-    return new EvalResult(acc.clone().multiplyPoint(y), list_prime, Auxillery.UPDATE.DELETE);
+    MemberSet list_prime = list.remove(x);
+    return new EvalResult(FixedBaseMultiplication.multiply(acc, y), list_prime, Auxillery.UPDATE.DELETE);
   }
 
   private ECPoint WitUpdate(ECPoint wit, Auxillery aux, BigInteger x) {
@@ -147,6 +156,14 @@ import iaik.security.ec.math.curve.EllipticCurve;
     System.out.println("Correct verify: " + Verify(acc, wit, x));
     System.out.println("Incorrect verify: " + Verify(acc, wit, X.get(1)));
 
+    System.out.println("Verify batch:");
+    List<Witness> wits = new ArrayList<Witness>();
+    for (BigInteger el : X)
+      wits.add(new Witness(WitCreate(acc, aux, el), el));
+    System.out.println("Correct verify: " + verifyBatch(acc, wits));
+    wits.set(0, new Witness(wit, X.get(1)));
+    System.out.println("Incorrect verify: " + verifyBatch(acc, wits));
+
     System.out.println("Verify add:");
     BigInteger new_el = getRandomScalar();
     EvalResult add_res = Add(acc, aux, new_el);
@@ -1,7 +1,6 @@
 package com.author.mpc_acc;
 
 import java.math.BigInteger;
-import java.util.List;
 
 import iaik.security.ec.math.curve.ECPoint;
 
@@ -18,38 +17,58 @@ public class Auxillery {
     DELETE
   }
 
-  private List<BigInteger> list;
+  private MemberSet members;
   private BigInteger r;
   private UPDATE update;
   private ECPoint acc;
   private ECPoint acc_prime;
+  private Polynomial pol;
 
-  public Auxillery(List<BigInteger> list, UPDATE update) {
-    this.list = list;
+  public Auxillery(MemberSet members, UPDATE update) {
+    this.members = members;
     this.update = update;
     this.r = null;
     this.acc = null;
     this.acc_prime = null;
   }
 
-  public Auxillery(List<BigInteger> list, UPDATE update, ECPoint acc, ECPoint acc_prime) {
-    this.list = list;
+  public Auxillery(MemberSet members, UPDATE update, ECPoint acc, ECPoint acc_prime) {
+    this.members = members;
     this.update = update;
     this.r = null;
     this.acc = acc;
     this.acc_prime = acc_prime;
   }
 
-  public Auxillery(List<BigInteger> list, BigInteger r) {
-    this.list = list;
+  public Auxillery(MemberSet members, BigInteger r) {
+    this.members = members;
     this.update = UPDATE.NONE;
     this.r = r;
     this.acc = null;
     this.acc_prime = null;
   }
 
-  public List<BigInteger> getList() {
-    return list;
+  public Auxillery(MemberSet members, BigInteger r, Polynomial pol) {
+    this.members = members;
+    this.update = UPDATE.NONE;
+    this.r = r;
+    this.acc = null;
+    this.acc_prime = null;
+    this.pol = pol;
+  }
+
+  public Auxillery(MemberSet members, UPDATE update, ECPoint acc, ECPoint acc_prime,
+      BigInteger r, Polynomial pol) {
+    this.members = members;
+    this.update = update;
+    this.r = r;
+    this.acc = acc;
+    this.acc_prime = acc_prime;
+    this.pol = pol;
+  }
+
+  public MemberSet getMembers() {
+    return members;
   }
 
   public UPDATE getUpdate() {
@@ -71,4 +90,11 @@ public class Auxillery {
   public ECPoint getAccPrime() {
     return acc_prime;
   }
+
+  /**
+   * Returns the expanded polynomial of the accumulated elements, or null if it is not known.
+   */
+  public Polynomial getPolynomial() {
+    return pol;
+  }
 }
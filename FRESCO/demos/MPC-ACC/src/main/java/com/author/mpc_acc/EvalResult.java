@@ -1,7 +1,6 @@
 package com.author.mpc_acc;
 
 import java.math.BigInteger;
-import java.util.List;
 import iaik.security.ec.math.curve.ECPoint;
 import com.author.mpc_acc.Auxillery;
 
@@ -14,24 +13,35 @@ public class EvalResult {
   private ECPoint acc;
   private Auxillery aux;
 
-  public EvalResult(ECPoint acc, List<BigInteger> list) {
+  public EvalResult(ECPoint acc, MemberSet members) {
     this.acc = acc;
-    this.aux = new Auxillery(list, Auxillery.UPDATE.NONE);
+    this.aux = new Auxillery(members, Auxillery.UPDATE.NONE);
   }
 
-  public EvalResult(ECPoint acc, List<BigInteger> list, Auxillery.UPDATE update) {
+  public EvalResult(ECPoint acc, MemberSet members, Auxillery.UPDATE update) {
     this.acc = acc;
-    this.aux = new Auxillery(list, update);
+    this.aux = new Auxillery(members, update);
   }
 
-  public EvalResult(ECPoint acc, List<BigInteger> list, Auxillery.UPDATE update, ECPoint acc_old) {
+  public EvalResult(ECPoint acc, MemberSet members, Auxillery.UPDATE update, ECPoint acc_old) {
     this.acc = acc;
-    this.aux = new Auxillery(list, update, acc_old, acc);
+    this.aux = new Auxillery(members, update, acc_old, acc);
   }
 
-  public EvalResult(ECPoint acc, List<BigInteger> list, BigInteger r) {
+  public EvalResult(ECPoint acc, MemberSet members, BigInteger r) {
     this.acc = acc;
-    this.aux = new Auxillery(list, r);
+    this.aux = new Auxillery(members, r);
+  }
+
+  public EvalResult(ECPoint acc, MemberSet members, BigInteger r, Polynomial pol) {
+    this.acc = acc;
+    this.aux = new Auxillery(members, r, pol);
+  }
+
+  public EvalResult(ECPoint acc, MemberSet members, Auxillery.UPDATE update, ECPoint acc_old,
+      BigInteger r, Polynomial pol) {
+    this.acc = acc;
+    this.aux = new Auxillery(members, update, acc_old, acc, r, pol);
   }
 
   public ECPoint getAcc() {
@@ -3,7 +3,12 @@ package com.author.mpc_acc;
 import com.author.utils.CmdLineParser;
 import com.author.utils.NetworkManager;
 import dk.alexandra.fresco.logging.NetworkLoggingDecorator;
+import dk.alexandra.fresco.framework.network.Network;
 import dk.alexandra.fresco.suite.spdz.storage.SpdzMascotDataSupplier;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.FixedBaseMultiplication;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.MultiScalarMultiplication;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzKeyHandle;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
@@ -20,6 +25,7 @@ import iaik.security.ec.math.curve.ECPoint;
 import iaik.security.ec.math.curve.EllipticCurve;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 
 /**
@@ -41,9 +47,12 @@ public class MPC_Acc {
   private MPCParams mpc_params;
 
 
-  private BigInteger sk_share;
+  private final SpdzKeyHandle sk = new SpdzKeyHandle("sk");
   private SecureRandom random;
 
+  private List<SECPoint> powers;
+  private List<ECPoint> public_powers;
+
 
 
   public BigInteger getRandomScalar() {
@@ -61,8 +70,9 @@ public class MPC_Acc {
     this.size = size;
     this.CURVE1 = PAIRING.getGroup1();
     this.CURVE2 = PAIRING.getGroup2();
-    this.G1 = CURVE1.getGenerator();
-    this.G2 = CURVE2.getGenerator();
+    // the generators are the bases of most scalar multiplications
+    this.G1 = FixedBaseMultiplication.register(CURVE1.getGenerator());
+    this.G2 = FixedBaseMultiplication.register(CURVE2.getGenerator());
     this.Q = CURVE1.getOrder();
     this.random = SecurityStrength.getSecureRandom(SecurityStrength
     .getSecurityStrength(CURVE1.getField().getFieldSize()));
@@ -74,91 +84,147 @@ public class MPC_Acc {
                 .withID(params.id)
                 .withNetwork(NetworkManager.getPartyMap(params.partyList,params.myParty), params.myParty)
                 .withResourcePool(params.preprocessingStrategy, Q)
-                .withSpdzLength(params.maxBitLength)
+                .withSpdzLength(params.maxBitLength, params.pipelinedMacCheck)
                 .build();
 
   }
 
   public void gen() {
-    // init share
-    sk_share = getRandomScalar();
-
-    // if (mpc_params.myID == 1)
-    //   sk_share = new BigInteger("17191040908167902938755975263021743320738002366367610617835821881036644918754");
-    // else
-    //   sk_share = new BigInteger("37282823970065119890333119733369559669903125033399073802841636231429348436679");
-
-    MPC_Gen gen = new MPC_Gen(sk_share, G2);
+    // init share, it is authenticated under the handle sk and not needed afterwards
+    BigInteger sk_share = getRandomScalar();
+    MPC_Gen gen = new MPC_Gen(sk_share, sk, G2);
     pk2 = mpc_params.getMySce().runApplication(gen, mpc_params.getMyPool(), mpc_params.getMyNetwork());
   }
 
   public EvalResult eval(List<BigInteger> X) {
-    // init share
-    MPC_Eval eval = new MPC_Eval(sk_share, G1, X);
+    // rejects repeated elements before running the evaluation
+    MemberSet list = MemberSet.of(X);
+    MPC_Eval eval = new MPC_Eval(sk, G1, X);
     ECPoint acc = mpc_params.getMySce().runApplication(eval, mpc_params.getMyPool(), mpc_params.getMyNetwork());
 
-    List<BigInteger> list = new ArrayList<BigInteger>(X);
+    return new EvalResult(acc, list);
+  }
+
+  /**
+   * Computes the shared points g1^{s^i} for i up to t once, so that later evaluations of sets with
+   * at most t elements only need to open a single point. If publish is set, the points are opened
+   * as in the keyless accumulator and evaluations are done without any interaction.
+   */
+  public void genPowers(int t, boolean publish) {
+    MPC_Powers gen_powers = new MPC_Powers(sk, G1, t);
+    powers = mpc_params.getMySce().runApplication(gen_powers, mpc_params.getMyPool(), mpc_params.getMyNetwork());
+    public_powers = null;
+    if (publish) {
+      MPC_OpenPoints open = new MPC_OpenPoints(powers);
+      public_powers = mpc_params.getMySce().runApplication(open, mpc_params.getMyPool(), mpc_params.getMyNetwork());
+    }
+  }
+
+  /**
+   * Evaluates the accumulator from the powers computed by genPowers. Falls back to eval if there
+   * are no powers or too few of them.
+   */
+  public EvalResult evalPowers(List<BigInteger> X) {
+    if (powers == null || X.size() >= powers.size())
+      return eval(X);
+
+    // rejects repeated elements before evaluating
+    MemberSet list = MemberSet.of(X);
+    ECPoint acc;
+    if (public_powers != null) {
+      Polynomial pol = Polynomial.expand(X.toArray(new BigInteger[X.size()]), Q);
+      BigInteger[] coeff = pol.getCoefficient();
+      acc = MultiScalarMultiplication.multiply(public_powers.subList(0, coeff.length),
+          Arrays.asList(coeff), true);
+    } else {
+      MPC_EvalPowers eval = new MPC_EvalPowers(powers, X);
+      acc = mpc_params.getMySce().runApplication(eval, mpc_params.getMyPool(), mpc_params.getMyNetwork());
+    }
 
     return new EvalResult(acc, list);
   }
 
   public Witness witCreate(ECPoint acc, Auxillery aux, BigInteger x) {
-    if (!aux.getList().contains(x))
+    if (!aux.getMembers().contains(x))
       return null;
 
-    MPC_WitCreate wit = new MPC_WitCreate(sk_share, x, acc);
+    MPC_WitCreate wit = new MPC_WitCreate(sk, x, acc);
     ECPoint witness = mpc_params.getMySce().runApplication(wit, mpc_params.getMyPool(), mpc_params.getMyNetwork());
     return new Witness(witness, x);
   }
 
+  /**
+   * Creates the witnesses for all given elements in a single MPC run.
+   *
+   * @return the witnesses in the order of xs, or null if any element is not accumulated
+   */
+  public List<Witness> witCreateBatch(ECPoint acc, Auxillery aux, List<BigInteger> xs) {
+    if (!aux.getMembers().containsAll(xs))
+      return null;
+
+    MPC_WitCreateBatch wit = new MPC_WitCreateBatch(sk, xs, acc);
+    List<ECPoint> witnesses = mpc_params.getMySce().runApplication(wit, mpc_params.getMyPool(), mpc_params.getMyNetwork());
+    List<Witness> result = new ArrayList<Witness>(xs.size());
+    for (int i = 0; i < xs.size(); i++) {
+      result.add(new Witness(witnesses.get(i), xs.get(i)));
+    }
+    return result;
+  }
+
   public Boolean verify(ECPoint acc, Witness wit, BigInteger x) {
     GenericFieldElement p1 = PAIRING.pair(acc.clone(), G2);
-    ECPoint p2_EP = G2.clone().multiplyPoint(x);
+    ECPoint p2_EP = FixedBaseMultiplication.multiply(G2, x);
     p2_EP.addPoint(pk2);
     GenericFieldElement p2 = PAIRING.pair(wit.getWitness().clone(), p2_EP);
     return p1.equals(p2);
   }
 
+  /**
+   * Verifies many witnesses against one accumulator with two pairings, see
+   * {@link Witness#verifyBatch}.
+   */
+  public Boolean verifyBatch(ECPoint acc, List<Witness> wits) {
+    return Witness.verifyBatch(PAIRING, G2, pk2, Q, acc, wits, random);
+  }
+
   public EvalResult add(ECPoint acc, Auxillery aux, BigInteger x) {
-    List<BigInteger> list = aux.getList();
+    MemberSet list = aux.getMembers();
     if (list.contains(x))
       return null;
 
-    ECPoint r1 = acc.clone().multiplyPoint(x);
-    MPC_Add add = new MPC_Add(sk_share, acc);
+    ECPoint r1 = FixedBaseMultiplication.multiply(acc, x);
+    MPC_Add add = new MPC_Add(sk, acc);
     ECPoint r2 = mpc_params.getMySce().runApplication(add, mpc_params.getMyPool(), mpc_params.getMyNetwork());
-    List<BigInteger> list_new = new ArrayList<BigInteger>(list);
-    list_new.add(x);
+    MemberSet list_new = list.add(x);
     return new EvalResult(r1.addPoint(r2), list_new, Auxillery.UPDATE.ADD);
   }
 
   public EvalResult delete(ECPoint acc, Auxillery aux, BigInteger x) {
-    List<BigInteger> list = aux.getList();
+    MemberSet list = aux.getMembers();
     if (!list.contains(x))
       return null;
 
-    MPC_Del del = new MPC_Del(sk_share, x, acc);
+    MPC_Del del = new MPC_Del(sk, x, acc);
     ECPoint new_acc = mpc_params.getMySce().runApplication(del, mpc_params.getMyPool(), mpc_params.getMyNetwork());
 
-    List<BigInteger> list_new = new ArrayList<BigInteger>(list);
-    list_new.remove(x);
+    MemberSet list_new = list.remove(x);
     return new EvalResult(new_acc, list_new, Auxillery.UPDATE.DELETE);
   }
 
   public Witness witUpdate(Witness wit, Auxillery aux, BigInteger x) {
-    if (!aux.getList().contains(wit.getElement()))
+    if (!aux.getMembers().contains(wit.getElement()))
       return null;
 
     ECPoint witness = wit.getWitness();
     Witness wit_new = null;
     switch (aux.getUpdate()) {
       case ADD:
-        MPC_WitUpdateAdd witUpdateAdd = new MPC_WitUpdateAdd(sk_share, witness);
+        MPC_WitUpdateAdd witUpdateAdd = new MPC_WitUpdateAdd(sk, witness);
         ECPoint share_add = mpc_params.getMySce().runApplication(witUpdateAdd, mpc_params.getMyPool(), mpc_params.getMyNetwork());
         wit_new = new Witness(share_add.addPoint(witness.clone().multiplyPoint(x)), wit.getElement());
         break;
       case DELETE:
-        MPC_WitUpdateDel witUpdateDel = new MPC_WitUpdateDel(sk_share, x, witness);
+        MPC_WitUpdateDel witUpdateDel = new MPC_WitUpdateDel(sk, x, witness);
         ECPoint share_del = mpc_params.getMySce().runApplication(witUpdateDel, mpc_params.getMyPool(), mpc_params.getMyNetwork());
         wit_new = new Witness(share_del, wit.getElement());
         break;
@@ -170,7 +236,24 @@ public class MPC_Acc {
     return wit_new;
   }
 
+  /**
+   * Produces triples, random elements, bits and input masks in the background with the given
+   * number of Mascot instances, each on a separate thread and network, keeping between low and
+   * high of each kind available per instance.
+   */
+  public void startBackgroundPreprocessing(int low, int high, int instances) {
+    SpdzMascotDataSupplier supplier = (SpdzMascotDataSupplier)mpc_params.getMyPool().getDataSupplier();
+    List<Network> networks = new ArrayList<>(instances);
+    for (int i = 0; i < instances; i++) {
+      networks.add(mpc_params.getMyNetworkManager().createExtraNetwork());
+    }
+    supplier.startBackgroundProduction(networks, low, high, Math.max(1, high - low));
+  }
+
   public void close() {
+    if (mpc_params.getMyPool().getDataSupplier() instanceof SpdzMascotDataSupplier) {
+      ((SpdzMascotDataSupplier)mpc_params.getMyPool().getDataSupplier()).stopBackgroundProduction();
+    }
     if(mpc_params.isLogging()){
       Long total = mpc_params.getMyNetworkManager().getLoggedValues().get(NetworkLoggingDecorator.NETWORK_TOTAL_BYTES);
       mpc_params.log(NetworkLoggingDecorator.NETWORK_TOTAL_BYTES + " " + total);
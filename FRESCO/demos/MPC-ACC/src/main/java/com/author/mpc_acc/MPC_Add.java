@@ -7,6 +7,7 @@ import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
 
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCOps;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzKeyHandle;
 import java.math.BigInteger;
 import iaik.security.ec.math.curve.ECPoint;
 
@@ -21,7 +22,7 @@ public class MPC_Add implements Application<ECPoint, ProtocolBuilderNumeric> {
 
   // private static Logger log = LoggerFactory.getLogger(MPC_Gen.class);
 
-  private BigInteger sk_share;
+  private SpdzKeyHandle sk;
   private ECPoint acc;
 
   /**
@@ -30,8 +31,8 @@ public class MPC_Add implements Application<ECPoint, ProtocolBuilderNumeric> {
    * @param x The x coordinate
    * @param y The y coordinate
    */
-  public MPC_Add(BigInteger sk_share, ECPoint acc) {
-    this.sk_share = sk_share;
+  public MPC_Add(SpdzKeyHandle sk, ECPoint acc) {
+    this.sk = sk;
     this.acc = acc;
   }
 
@@ -39,7 +40,7 @@ public class MPC_Add implements Application<ECPoint, ProtocolBuilderNumeric> {
   public DRes<ECPoint> buildComputation(ProtocolBuilderNumeric producer) {
     return producer.seq(seq -> {
       SpdzECCOps ops = new SpdzECCOps(seq);
-      DRes<SECPoint> share =  ops.knownMultiply(acc, sk_share);
+      DRes<SECPoint> share =  ops.multiply(acc, ops.key(sk));
       DRes<ECPoint> pk = ops.open(share);
       return pk;
     });
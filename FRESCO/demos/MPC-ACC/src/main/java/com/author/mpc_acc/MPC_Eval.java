@@ -8,8 +8,10 @@ import dk.alexandra.fresco.framework.builder.numeric.Numeric;
 import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCOps;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzKeyHandle;
 import java.math.BigInteger;
 import iaik.security.ec.math.curve.ECPoint;
+import java.util.ArrayList;
 import java.util.List;
 import dk.alexandra.fresco.framework.value.SInt;
 
@@ -24,7 +26,7 @@ public class MPC_Eval implements Application<ECPoint, ProtocolBuilderNumeric> {
 
   // private static Logger log = LoggerFactory.getLogger(MPC_Eval.class);
 
-  private BigInteger sk_share;
+  private SpdzKeyHandle sk;
   private ECPoint g1;
   private List<BigInteger> X;
 
@@ -34,8 +36,8 @@ public class MPC_Eval implements Application<ECPoint, ProtocolBuilderNumeric> {
    * @param x The x coordinate
    * @param y The y coordinate
    */
-  public MPC_Eval(BigInteger sk_share, ECPoint g1, List<BigInteger> X) {
-    this.sk_share = sk_share;
+  public MPC_Eval(SpdzKeyHandle sk, ECPoint g1, List<BigInteger> X) {
+    this.sk = sk;
     this.g1 = g1;
     this.X = X;
   }
@@ -44,12 +46,16 @@ public class MPC_Eval implements Application<ECPoint, ProtocolBuilderNumeric> {
   public DRes<ECPoint> buildComputation(ProtocolBuilderNumeric producer) {
     return producer.seq(seq -> {
       SpdzECCOps ops = new SpdzECCOps(seq);
-      DRes<SInt> share_s = ops.knownScalar(sk_share);
+      return ops.key(sk);
+    }).seq((seq, share_s) -> {
       Numeric numericIo = seq.numeric();
-      DRes<SInt> q = numericIo.add(X.get(0), share_s);
-      for (int i = 1; i < X.size(); i++) {
-        q = numericIo.mult(q, numericIo.add(X.get(i), share_s));
+      List<DRes<SInt>> factors = new ArrayList<>(X.size());
+      for (BigInteger x : X) {
+        factors.add(numericIo.add(x, () -> share_s));
       }
+      // constant number of rounds regardless of |X|
+      DRes<SInt> q = seq.advancedNumeric().unboundedFanInProduct(factors);
+      SpdzECCOps ops = new SpdzECCOps(seq);
       DRes<SInt> share_r = numericIo.randomElement();
       DRes<SECPoint> o_share =  ops.multiply(g1, numericIo.mult(q, share_r));
       return ops.open(o_share);
@@ -0,0 +1,47 @@
+package com.author.mpc_acc;
+
+import dk.alexandra.fresco.framework.Application;
+import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
+
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCOps;
+import java.math.BigInteger;
+import iaik.security.ec.math.curve.ECPoint;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creates the accumulator from the secret shared points g1^{s^i}. The coefficients of the
+ * polynomial are computed locally, so the only interaction is opening the result.
+ *
+ * @author ******
+ */
+public class MPC_EvalPowers implements Application<ECPoint, ProtocolBuilderNumeric> {
+
+  private List<SECPoint> powers;
+  private List<BigInteger> X;
+
+  /**
+   * Construct a new evaluation from powers.
+   * @param powers the shared points g1^{s^i}, at least |X| + 1 of them
+   * @param X the elements to accumulate
+   */
+  public MPC_EvalPowers(List<SECPoint> powers, List<BigInteger> X) {
+    this.powers = powers;
+    this.X = X;
+  }
+
+  @Override
+  public DRes<ECPoint> buildComputation(ProtocolBuilderNumeric producer) {
+    return producer.seq(seq -> {
+      BigInteger order = seq.getBasicNumericContext().getModulus();
+      Polynomial pol = Polynomial.expand(X.toArray(new BigInteger[X.size()]), order);
+      List<BigInteger> coeff = Arrays.asList(pol.getCoefficient());
+      SpdzECCOps ops = new SpdzECCOps(seq);
+      DRes<SECPoint> o_share =
+          ops.innerProductWithPublicPart(coeff, powers.subList(0, coeff.size()));
+      return ops.open(o_share);
+    });
+  }
+}
@@ -2,11 +2,13 @@ package com.author.mpc_acc;
 
 import dk.alexandra.fresco.framework.Application;
 import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.value.SInt;
 // import org.slf4j.LoggerFactory;
 import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
 
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCOps;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzKeyHandle;
 import java.math.BigInteger;
 import iaik.security.ec.math.curve.ECPoint;
 
@@ -22,6 +24,7 @@ public class MPC_Gen implements Application<ECPoint, ProtocolBuilderNumeric> {
   // private static Logger log = LoggerFactory.getLogger(MPC_Gen.class);
 
   private BigInteger sk_share;
+  private SpdzKeyHandle sk;
   private ECPoint g2;
 
   /**
@@ -30,8 +33,9 @@ public class MPC_Gen implements Application<ECPoint, ProtocolBuilderNumeric> {
    * @param x The x coordinate
    * @param y The y coordinate
    */
-  public MPC_Gen(BigInteger sk_share, ECPoint g2) {
+  public MPC_Gen(BigInteger sk_share, SpdzKeyHandle sk, ECPoint g2) {
     this.sk_share = sk_share;
+    this.sk = sk;
     this.g2 = g2;
   }
 
@@ -39,7 +43,9 @@ public class MPC_Gen implements Application<ECPoint, ProtocolBuilderNumeric> {
   public DRes<ECPoint> buildComputation(ProtocolBuilderNumeric producer) {
     return producer.seq(seq -> {
       SpdzECCOps ops = new SpdzECCOps(seq);
-      DRes<SECPoint> share =  ops.knownMultiply(g2, sk_share);
+      // authenticate the share once, later applications refer to it through the handle
+      DRes<SInt> key = ops.authenticateKey(sk, sk_share);
+      DRes<SECPoint> share =  ops.multiply(g2, key);
       DRes<ECPoint> pk = ops.open(share);
       return pk;
     });
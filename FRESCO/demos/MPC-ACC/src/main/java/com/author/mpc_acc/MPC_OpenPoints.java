@@ -0,0 +1,36 @@
+package com.author.mpc_acc;
+
+import dk.alexandra.fresco.framework.Application;
+import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
+
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCOps;
+import iaik.security.ec.math.curve.ECPoint;
+import java.util.List;
+
+/**
+ * Opens a list of secret shared points in a single round.
+ *
+ * @author ******
+ */
+public class MPC_OpenPoints implements Application<List<ECPoint>, ProtocolBuilderNumeric> {
+
+  private List<SECPoint> points;
+
+  /**
+   * Construct a new opening.
+   * @param points the shared points to open
+   */
+  public MPC_OpenPoints(List<SECPoint> points) {
+    this.points = points;
+  }
+
+  @Override
+  public DRes<List<ECPoint>> buildComputation(ProtocolBuilderNumeric producer) {
+    return producer.seq(seq -> {
+      SpdzECCOps ops = new SpdzECCOps(seq);
+      return ops.openAll(points);
+    });
+  }
+}
@@ -0,0 +1,71 @@
+package com.author.mpc_acc;
+
+import dk.alexandra.fresco.framework.Application;
+import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
+
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCOps;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzKeyHandle;
+import java.math.BigInteger;
+import iaik.security.ec.math.curve.ECPoint;
+import dk.alexandra.fresco.framework.value.SInt;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Computes secret shared points g1^{s^i} for i = 0, ..., t. The powers of the secret key are
+ * computed by repeated doubling, so only log(t) rounds of multiplications are needed.
+ *
+ * @author ******
+ */
+public class MPC_Powers implements Application<List<SECPoint>, ProtocolBuilderNumeric> {
+
+  private SpdzKeyHandle sk;
+  private ECPoint g1;
+  private int t;
+
+  /**
+   * Construct a new power computation.
+   * @param sk the handle of the authenticated secret key
+   * @param g1 the generator
+   * @param t the highest power to compute
+   */
+  public MPC_Powers(SpdzKeyHandle sk, ECPoint g1, int t) {
+    this.sk = sk;
+    this.g1 = g1;
+    this.t = t;
+  }
+
+  @Override
+  public DRes<List<SECPoint>> buildComputation(ProtocolBuilderNumeric producer) {
+    return producer.seq(seq -> {
+      SpdzECCOps ops = new SpdzECCOps(seq);
+      return ops.key(sk);
+    }).seq((seq, share_s) -> {
+      List<DRes<SInt>> powers = new ArrayList<>(t);
+      powers.add(share_s);
+      return () -> powers;
+    }).whileLoop(powers -> powers.size() < t, (seq, powers) -> seq.par(par -> {
+      // powers holds s^1, ..., s^m, so s^m * s^j yields s^{m+1}, ..., s^{2m}
+      int m = powers.size();
+      DRes<SInt> highest = powers.get(m - 1);
+      List<DRes<SInt>> next = new ArrayList<>(powers);
+      for (int j = 0; j < m && m + j < t; j++) {
+        next.add(par.numeric().mult(highest, powers.get(j)));
+      }
+      return () -> next;
+    })).par((par, powers) -> {
+      SpdzECCOps ops = new SpdzECCOps(par);
+      List<DRes<SECPoint>> points = new ArrayList<>(t + 1);
+      // s^0 = 1 is shared additively, so only party 1 holds the one
+      boolean first = par.getBasicNumericContext().getMyId() == 1;
+      points.add(ops.knownMultiply(g1, first ? BigInteger.ONE : BigInteger.ZERO));
+      for (DRes<SInt> power : powers) {
+        points.add(ops.multiply(g1, power));
+      }
+      return () -> points.stream().map(DRes::out).collect(Collectors.toList());
+    });
+  }
+}
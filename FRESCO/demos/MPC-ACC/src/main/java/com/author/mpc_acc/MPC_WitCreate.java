@@ -8,6 +8,7 @@ import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
 
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCOps;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzKeyHandle;
 import java.math.BigInteger;
 import iaik.security.ec.math.curve.ECPoint;
 import dk.alexandra.fresco.framework.value.SInt;
@@ -23,7 +24,7 @@ public class MPC_WitCreate implements Application<ECPoint, ProtocolBuilderNumeri
 
   // private static Logger log = LoggerFactory.getLogger(MPC_Gen.class);
 
-  private BigInteger sk_share;
+  private SpdzKeyHandle sk;
   private BigInteger x;
   private ECPoint acc;
   private DRes<SInt> ro;
@@ -34,8 +35,8 @@ public class MPC_WitCreate implements Application<ECPoint, ProtocolBuilderNumeri
    * @param x The x coordinate
    * @param y The y coordinate
    */
-  public MPC_WitCreate(BigInteger sk_share,  BigInteger x, ECPoint acc) {
-    this.sk_share = sk_share;
+  public MPC_WitCreate(SpdzKeyHandle sk,  BigInteger x, ECPoint acc) {
+    this.sk = sk;
     this.x = x;
     this.acc = acc;
   }
@@ -44,7 +45,7 @@ public class MPC_WitCreate implements Application<ECPoint, ProtocolBuilderNumeri
   public DRes<ECPoint> buildComputation(ProtocolBuilderNumeric producer) {
     return producer.seq(seq -> {
       SpdzECCOps ops = new SpdzECCOps(seq);
-      DRes<SInt> share = ops.knownScalar(sk_share);
+      DRes<SInt> share = ops.key(sk);
       Numeric numericIo = seq.numeric();
       DRes<SInt> q = numericIo.add(x, share);
       // invert q: z = q^-1
@@ -0,0 +1,81 @@
+package com.author.mpc_acc;
+
+import dk.alexandra.fresco.framework.Application;
+import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.builder.numeric.Numeric;
+import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
+
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCOps;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzKeyHandle;
+import java.math.BigInteger;
+import iaik.security.ec.math.curve.ECPoint;
+import dk.alexandra.fresco.framework.value.SInt;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the witnesses for a list of elements in a single MPC run. All inversions are masked and
+ * opened in one round, followed by one batch of ECC multiplications and a single batched opening,
+ * so the number of rounds does not depend on the number of witnesses.
+ *
+ * @author ******
+ */
+public class MPC_WitCreateBatch implements Application<List<ECPoint>, ProtocolBuilderNumeric> {
+
+  private SpdzKeyHandle sk;
+  private List<BigInteger> xs;
+  private ECPoint acc;
+  private List<DRes<SInt>> ros;
+
+  /**
+   * Construct a new batched witness creation.
+   * @param sk the handle of the authenticated secret key
+   * @param xs the elements to create witnesses for
+   * @param acc the current accumulator
+   */
+  public MPC_WitCreateBatch(SpdzKeyHandle sk, List<BigInteger> xs, ECPoint acc) {
+    this.sk = sk;
+    this.xs = xs;
+    this.acc = acc;
+  }
+
+  @Override
+  public DRes<List<ECPoint>> buildComputation(ProtocolBuilderNumeric producer) {
+    return producer.seq(seq -> {
+      SpdzECCOps ops = new SpdzECCOps(seq);
+      return ops.key(sk);
+    }).par((par, share) -> {
+      ros = new ArrayList<>(xs.size());
+      List<DRes<BigInteger>> sigmas = new ArrayList<>(xs.size());
+      for (BigInteger x : xs) {
+        DRes<SInt> ro = par.numeric().randomElement();
+        ros.add(ro);
+        sigmas.add(par.seq(seq -> {
+          Numeric numericIo = seq.numeric();
+          DRes<SInt> q = numericIo.add(x, () -> share);
+          // invert q: z = q^-1
+          DRes<SInt> sigma = numericIo.mult(ro, q);
+          return numericIo.open(sigma);
+        }));
+      }
+      return () -> sigmas;
+    }).par((par, sigmas) -> {
+      BigInteger order = acc.getCurve().getOrder();
+      List<DRes<SECPoint>> witnesses = new ArrayList<>(xs.size());
+      for (int i = 0; i < xs.size(); i++) {
+        BigInteger sigma_inv = sigmas.get(i).out().modInverse(order);
+        DRes<SInt> ro = ros.get(i);
+        witnesses.add(par.seq(seq -> {
+          DRes<SInt> z = seq.numeric().mult(sigma_inv, ro);
+          SpdzECCOps ops = new SpdzECCOps(seq);
+          return ops.multiply(acc, z);
+        }));
+      }
+      return () -> witnesses;
+    }).seq((seq, witnesses) -> {
+      SpdzECCOps ops = new SpdzECCOps(seq);
+      return ops.openAll(witnesses);
+    });
+  }
+}
@@ -7,6 +7,7 @@ import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
 
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCOps;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzKeyHandle;
 import java.math.BigInteger;
 import iaik.security.ec.math.curve.ECPoint;
 
@@ -21,7 +22,7 @@ public class MPC_WitUpdateAdd implements Application<ECPoint, ProtocolBuilderNum
 
   // private static Logger log = LoggerFactory.getLogger(MPC_Gen.class);
 
-  private BigInteger sk_share;
+  private SpdzKeyHandle sk;
   private ECPoint wit;
 
   /**
@@ -30,8 +31,8 @@ public class MPC_WitUpdateAdd implements Application<ECPoint, ProtocolBuilderNum
    * @param x The x coordinate
    * @param y The y coordinate
    */
-  public MPC_WitUpdateAdd(BigInteger sk_share, ECPoint wit) {
-    this.sk_share = sk_share;
+  public MPC_WitUpdateAdd(SpdzKeyHandle sk, ECPoint wit) {
+    this.sk = sk;
     this.wit = wit;
   }
 
@@ -39,7 +40,7 @@ public class MPC_WitUpdateAdd implements Application<ECPoint, ProtocolBuilderNum
   public DRes<ECPoint> buildComputation(ProtocolBuilderNumeric producer) {
     return producer.seq(seq -> {
       SpdzECCOps ops = new SpdzECCOps(seq);
-      DRes<SECPoint> share =  ops.knownMultiply(wit, sk_share);
+      DRes<SECPoint> share =  ops.multiply(wit, ops.key(sk));
       DRes<ECPoint> o_share = ops.open(share);
       return o_share;
     });
@@ -35,7 +35,15 @@ public class Main{
     long time = System.currentTimeMillis();
     MPC_Acc acc = new MPC_Acc(SIZE, params);
     int inverse_ops = 4;
-    acc.prepareBatches(params.el + inverse_ops - 1, inverse_ops + 1);
+    // the unbounded fan-in product in eval uses 3n + 2 triples and 2n + 2 random elements
+    int eval_mults = 3 * params.el + 3;
+    int eval_randoms = 2 * params.el + 3;
+    // MPC_Powers takes t - 1 triples for s^2, ..., s^t, and genPowers(el) is run twice below
+    int power_mults = 2 * (params.el - 1);
+    if (params.highWatermark > 0)
+      acc.startBackgroundPreprocessing(params.lowWatermark, params.highWatermark, params.instances);
+    else
+      acc.prepareBatches(eval_mults + power_mults + inverse_ops, eval_randoms + inverse_ops + 1);
     time = System.currentTimeMillis() - time;
     System.out.println("Preprocessing time (offline): " + time + "ms");
     acc.gen();
@@ -54,6 +62,24 @@ public class Main{
     System.out.println("Correct verify: " + acc.verify(accu, wit, x));
     System.out.println("Incorrect verify: " + acc.verify(accu, wit, X.get(1)));
 
+    System.out.println("Verify batch:");
+    List<Witness> wits = acc.witCreateBatch(accu, aux, X);
+    if (wits == null)
+      return;
+    System.out.println("Correct verify: " + acc.verifyBatch(accu, wits));
+    wits.set(0, new Witness(wits.get(0).getWitness(), X.get(1)));
+    System.out.println("Incorrect verify: " + acc.verifyBatch(accu, wits));
+
+    System.out.println("Verify powers:");
+    acc.genPowers(params.el, false);
+    EvalResult res_powers = acc.evalPowers(X);
+    Witness wit_powers = acc.witCreate(res_powers.getAcc(), res_powers.getAuxillery(), x);
+    System.out.println("Correct verify: " + acc.verify(res_powers.getAcc(), wit_powers, x));
+    System.out.println("Incorrect verify: " + acc.verify(res_powers.getAcc(), wit_powers, X.get(1)));
+    acc.genPowers(params.el, true);
+    EvalResult res_public = acc.evalPowers(X);
+    System.out.println("Public powers match: " + res_public.getAcc().equals(res_powers.getAcc()));
+
     System.out.println("Verify add:");
     BigInteger new_el = new BigInteger("83702547212275448046482791686331419891000794825496896897047292718659199874066");
     EvalResult add_res = acc.add(accu, aux, new_el);
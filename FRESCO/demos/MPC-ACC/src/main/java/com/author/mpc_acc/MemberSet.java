@@ -0,0 +1,328 @@
+package com.author.mpc_acc;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An immutable set of accumulated elements, stored as a hash array mapped trie.
+ *
+ * Membership tests take O(1) expected time. Adding or removing an element returns a new set
+ * that shares all but O(log_32 n) nodes with the old one, so keeping the member set of every
+ * accumulator version does not require copying it.
+ *
+ * @author ******
+ */
+public final class MemberSet implements Iterable<BigInteger> {
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  private static final MemberSet EMPTY = new MemberSet(null, 0);
+
+  private final Node root;
+  private final int size;
+
+  private MemberSet(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  public static MemberSet empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns the set of the given elements. An accumulator holds every element at most once, so the
+   * elements must be distinct.
+   *
+   * @throws IllegalArgumentException if an element occurs more than once
+   */
+  public static MemberSet of(Collection<BigInteger> elements) {
+    MemberSet set = EMPTY;
+    for (BigInteger x : elements) {
+      MemberSet next = set.add(x);
+      if (next == set) {
+        throw new IllegalArgumentException("The element " + x + " occurs more than once");
+      }
+      set = next;
+    }
+    return set;
+  }
+
+  public boolean contains(BigInteger x) {
+    return root != null && root.contains(x, hash(x), 0);
+  }
+
+  public boolean containsAll(Collection<BigInteger> elements) {
+    for (BigInteger x : elements) {
+      if (!contains(x)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a set that also contains x, or this set if x is already a member.
+   */
+  public MemberSet add(BigInteger x) {
+    int h = hash(x);
+    if (root == null) {
+      return new MemberSet(new BitmapNode(1 << (h & MASK), new Object[] {x}), 1);
+    }
+    Node node = root.add(x, h, 0);
+    return node == root ? this : new MemberSet(node, size + 1);
+  }
+
+  /**
+   * Returns a set without x, or this set if x is not a member.
+   */
+  public MemberSet remove(BigInteger x) {
+    if (root == null) {
+      return this;
+    }
+    Node node = root.remove(x, hash(x), 0);
+    return node == root ? this : new MemberSet(node, size - 1);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the members as a new list. The order is not the insertion order, it follows the hashes
+   * of the members and is the same for any two sets with the same members.
+   */
+  public List<BigInteger> toList() {
+    List<BigInteger> list = new ArrayList<>(size);
+    if (root != null) {
+      root.collect(list);
+    }
+    return list;
+  }
+
+  public BigInteger[] toArray() {
+    return toList().toArray(new BigInteger[size]);
+  }
+
+  @Override
+  public Iterator<BigInteger> iterator() {
+    return toList().iterator();
+  }
+
+  private static int hash(BigInteger x) {
+    int h = x.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Creates the smallest subtree holding two elements with different values.
+   */
+  private static Node merge(BigInteger a, int ha, BigInteger b, int hb, int shift) {
+    if (shift >= 32) {
+      return new CollisionNode(a.compareTo(b) < 0 ? new BigInteger[] {a, b}
+          : new BigInteger[] {b, a});
+    }
+    int ia = (ha >>> shift) & MASK;
+    int ib = (hb >>> shift) & MASK;
+    if (ia == ib) {
+      return new BitmapNode(1 << ia, new Object[] {merge(a, ha, b, hb, shift + BITS)});
+    }
+    Object[] array = ia < ib ? new Object[] {a, b} : new Object[] {b, a};
+    return new BitmapNode((1 << ia) | (1 << ib), array);
+  }
+
+  private abstract static class Node {
+
+    abstract boolean contains(BigInteger x, int h, int shift);
+
+    /**
+     * Returns this node if x is already present.
+     */
+    abstract Node add(BigInteger x, int h, int shift);
+
+    /**
+     * Returns this node if x is not present and null if the node becomes empty.
+     */
+    abstract Node remove(BigInteger x, int h, int shift);
+
+    /**
+     * Returns the element if this node holds exactly one element and no subtrees.
+     */
+    abstract BigInteger single();
+
+    abstract void collect(List<BigInteger> list);
+  }
+
+  private static final class BitmapNode extends Node {
+
+    private final int bitmap;
+    // holds either elements or subtrees, ordered by their bit
+    private final Object[] array;
+
+    BitmapNode(int bitmap, Object[] array) {
+      this.bitmap = bitmap;
+      this.array = array;
+    }
+
+    @Override
+    boolean contains(BigInteger x, int h, int shift) {
+      int bit = 1 << ((h >>> shift) & MASK);
+      if ((bitmap & bit) == 0) {
+        return false;
+      }
+      Object o = array[Integer.bitCount(bitmap & (bit - 1))];
+      if (o instanceof Node) {
+        return ((Node) o).contains(x, h, shift + BITS);
+      }
+      return o.equals(x);
+    }
+
+    @Override
+    Node add(BigInteger x, int h, int shift) {
+      int bit = 1 << ((h >>> shift) & MASK);
+      int idx = Integer.bitCount(bitmap & (bit - 1));
+      if ((bitmap & bit) == 0) {
+        Object[] copy = new Object[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, idx);
+        copy[idx] = x;
+        System.arraycopy(array, idx, copy, idx + 1, array.length - idx);
+        return new BitmapNode(bitmap | bit, copy);
+      }
+      Object o = array[idx];
+      Object replacement;
+      if (o instanceof Node) {
+        Node child = ((Node) o).add(x, h, shift + BITS);
+        if (child == o) {
+          return this;
+        }
+        replacement = child;
+      } else if (o.equals(x)) {
+        return this;
+      } else {
+        BigInteger other = (BigInteger) o;
+        replacement = merge(other, hash(other), x, h, shift + BITS);
+      }
+      Object[] copy = array.clone();
+      copy[idx] = replacement;
+      return new BitmapNode(bitmap, copy);
+    }
+
+    @Override
+    Node remove(BigInteger x, int h, int shift) {
+      int bit = 1 << ((h >>> shift) & MASK);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int idx = Integer.bitCount(bitmap & (bit - 1));
+      Object o = array[idx];
+      if (o instanceof Node) {
+        Node child = ((Node) o).remove(x, h, shift + BITS);
+        if (child == o) {
+          return this;
+        }
+        if (child != null) {
+          // a subtree with a single element is stored inline instead
+          BigInteger single = child.single();
+          Object[] copy = array.clone();
+          copy[idx] = single != null ? single : child;
+          return new BitmapNode(bitmap, copy);
+        }
+      } else if (!o.equals(x)) {
+        return this;
+      }
+      if (array.length == 1) {
+        return null;
+      }
+      Object[] copy = new Object[array.length - 1];
+      System.arraycopy(array, 0, copy, 0, idx);
+      System.arraycopy(array, idx + 1, copy, idx, array.length - idx - 1);
+      return new BitmapNode(bitmap & ~bit, copy);
+    }
+
+    @Override
+    BigInteger single() {
+      if (array.length == 1 && array[0] instanceof BigInteger) {
+        return (BigInteger) array[0];
+      }
+      return null;
+    }
+
+    @Override
+    void collect(List<BigInteger> list) {
+      for (Object o : array) {
+        if (o instanceof Node) {
+          ((Node) o).collect(list);
+        } else {
+          list.add((BigInteger) o);
+        }
+      }
+    }
+  }
+
+  /**
+   * Holds elements whose hashes are equal in all bits, in ascending order.
+   */
+  private static final class CollisionNode extends Node {
+
+    private final BigInteger[] values;
+
+    CollisionNode(BigInteger[] values) {
+      this.values = values;
+    }
+
+    private int indexOf(BigInteger x) {
+      return Arrays.binarySearch(values, x);
+    }
+
+    @Override
+    boolean contains(BigInteger x, int h, int shift) {
+      return indexOf(x) >= 0;
+    }
+
+    @Override
+    Node add(BigInteger x, int h, int shift) {
+      int idx = indexOf(x);
+      if (idx >= 0) {
+        return this;
+      }
+      idx = -idx - 1;
+      BigInteger[] copy = new BigInteger[values.length + 1];
+      System.arraycopy(values, 0, copy, 0, idx);
+      copy[idx] = x;
+      System.arraycopy(values, idx, copy, idx + 1, values.length - idx);
+      return new CollisionNode(copy);
+    }
+
+    @Override
+    Node remove(BigInteger x, int h, int shift) {
+      int idx = indexOf(x);
+      if (idx < 0) {
+        return this;
+      }
+      if (values.length == 1) {
+        return null;
+      }
+      BigInteger[] copy = new BigInteger[values.length - 1];
+      System.arraycopy(values, 0, copy, 0, idx);
+      System.arraycopy(values, idx + 1, copy, idx, values.length - idx - 1);
+      return new CollisionNode(copy);
+    }
+
+    @Override
+    BigInteger single() {
+      return values.length == 1 ? values[0] : null;
+    }
+
+    @Override
+    void collect(List<BigInteger> list) {
+      for (BigInteger x : values) {
+        list.add(x);
+      }
+    }
+  }
+}
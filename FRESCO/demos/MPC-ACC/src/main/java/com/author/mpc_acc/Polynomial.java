@@ -1,6 +1,8 @@
 package com.author.mpc_acc;
 
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * This class represents a monic, reducible polynomial over Z_p
@@ -10,6 +12,26 @@ import java.math.BigInteger;
  */
 public class Polynomial {
 
+  /**
+   * Up to this many roots the polynomial is expanded directly.
+   */
+  private static final int SCHOOLBOOK_THRESHOLD = 64;
+
+  /**
+   * Subtrees with at least this many roots are expanded in parallel.
+   */
+  private static final int PARALLEL_THRESHOLD = 2048;
+
+  /**
+   * Below this length polynomials are multiplied with the schoolbook method.
+   */
+  private static final int KARATSUBA_THRESHOLD = 32;
+
+  /**
+   * From this length on polynomials are multiplied with the NTT, if the order permits it.
+   */
+  private static final int NTT_THRESHOLD = 256;
+
   private final BigInteger[] coeffs_;
   private final int degree_;
 
@@ -33,6 +55,10 @@ public class Polynomial {
   /**
    * Expands a polynomial of the form $\prod_{i=0}^{n} (X + A_i)$
    *
+   * Small inputs are expanded directly. Larger inputs are split into a product tree whose
+   * nodes are multiplied with Karatsuba, or with a number theoretic transform if the order is a
+   * prime with enough roots of unity. The upper levels of large trees are computed in parallel.
+   *
    * @param roots
    *          The list containing the root A_i
    * @param order
@@ -43,6 +69,23 @@ public class Polynomial {
   public static Polynomial expand(BigInteger[] roots, BigInteger order) {
     final int degree = roots.length;
 
+    if (degree <= SCHOOLBOOK_THRESHOLD) {
+      return expandSchoolbook(roots, order);
+    }
+
+    final BigInteger[] coeffs = new ProductTree(roots, 0, degree, new Multiplier(order), false)
+        .invoke();
+    final Polynomial result = new Polynomial(degree, order);
+    for (int i = 0; i <= degree; i++) {
+      result.setCoefficient(i, coeffs[i]);
+    }
+
+    return result;
+  }
+
+  private static Polynomial expandSchoolbook(BigInteger[] roots, BigInteger order) {
+    final int degree = roots.length;
+
     if (degree == 0) {
       final Polynomial p = new Polynomial(1, order);
       p.setCoefficient(0, BigInteger.ONE);
@@ -71,6 +114,53 @@ public class Polynomial {
     return result;
   }
 
+  /**
+   * Multiplies this polynomial by (X + root). This method is immutable.
+   *
+   * @param root
+   *          the root A to add
+   * @param order
+   *          modulus
+   *
+   * @return the resulting polynomial of one degree higher
+   */
+  public Polynomial multiplyLinear(BigInteger root, BigInteger order) {
+    final Polynomial result = new Polynomial(degree_ + 1, order);
+
+    result.setCoefficient(0, coeffs_[0].multiply(root).mod(order));
+    for (int i = 1; i <= degree_; i++) {
+      result.setCoefficient(i, coeffs_[i - 1].add(coeffs_[i].multiply(root)).mod(order));
+    }
+    result.setCoefficient(degree_ + 1, coeffs_[degree_]);
+
+    return result;
+  }
+
+  /**
+   * Divides this polynomial by (X + root) using synthetic division. The remainder is dropped, so
+   * the result is only the exact quotient if -root is a root of this polynomial. This method is
+   * immutable.
+   *
+   * @param root
+   *          the root A to remove
+   * @param order
+   *          modulus
+   *
+   * @return the resulting polynomial of one degree lower
+   */
+  public Polynomial divideLinear(BigInteger root, BigInteger order) {
+    final Polynomial result = new Polynomial(degree_ - 1, order);
+
+    BigInteger q = coeffs_[degree_];
+    result.setCoefficient(degree_ - 1, q);
+    for (int i = degree_ - 1; i > 0; i--) {
+      q = coeffs_[i].subtract(q.multiply(root)).mod(order);
+      result.setCoefficient(i - 1, q);
+    }
+
+    return result;
+  }
+
   /**
    * Returns a coefficient of this polynomial
    *
@@ -135,4 +225,299 @@ public class Polynomial {
 
     return ret;
   }
+
+  /**
+   * Builds the subproduct tree of the given roots, whose nodes hold the expansions of
+   * $\prod_{i=from}^{to-1} (X + A_i)$ for halving ranges of roots.
+   *
+   * @param roots
+   *          The list containing the root A_i
+   * @param order
+   *          modulus
+   *
+   * @return The root of the tree
+   */
+  static ProductTree productTree(BigInteger[] roots, BigInteger order) {
+    final ProductTree tree =
+        new ProductTree(roots, 0, roots.length, new Multiplier(order), true);
+    tree.invoke();
+    return tree;
+  }
+
+  /**
+   * Computes the coefficients of $\prod_{i=from}^{to-1} (X + A_i)$, lowest degree first, by
+   * splitting the roots in halves and multiplying the two subproducts. If keep is set, the subtrees
+   * and their coefficients are kept, so the tree can be walked once it is computed. Otherwise only
+   * the coefficients of the root are returned and the levels below are dropped as they are used.
+   */
+  static final class ProductTree extends RecursiveTask<BigInteger[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BigInteger[] roots;
+    private final int from;
+    private final int to;
+    private final Multiplier multiplier;
+    private final boolean keep;
+    private ProductTree left;
+    private ProductTree right;
+    private BigInteger[] coefficients;
+
+    ProductTree(BigInteger[] roots, int from, int to, Multiplier multiplier, boolean keep) {
+      this.roots = roots;
+      this.from = from;
+      this.to = to;
+      this.multiplier = multiplier;
+      this.keep = keep;
+    }
+
+    @Override
+    protected BigInteger[] compute() {
+      final BigInteger[] result;
+      if (to - from <= SCHOOLBOOK_THRESHOLD) {
+        result = leaf();
+      } else {
+        final int mid = (from + to) >>> 1;
+        final ProductTree lower = new ProductTree(roots, from, mid, multiplier, keep);
+        final ProductTree upper = new ProductTree(roots, mid, to, multiplier, keep);
+        if (to - from >= PARALLEL_THRESHOLD) {
+          lower.fork();
+          final BigInteger[] r = upper.compute();
+          result = multiplier.multiply(lower.join(), r);
+        } else {
+          result = multiplier.multiply(lower.compute(), upper.compute());
+        }
+        if (keep) {
+          left = lower;
+          right = upper;
+        }
+      }
+      if (keep) {
+        coefficients = result;
+      }
+      return result;
+    }
+
+    BigInteger[] getRoots() {
+      return roots;
+    }
+
+    int getFrom() {
+      return from;
+    }
+
+    int getTo() {
+      return to;
+    }
+
+    /**
+     * Returns the coefficients of the product over the roots of this node, if the tree is kept.
+     */
+    BigInteger[] getCoefficients() {
+      return coefficients;
+    }
+
+    /**
+     * Returns the subtree of the lower half of the roots, or null if this node is a leaf or the
+     * tree is not kept.
+     */
+    ProductTree getLeft() {
+      return left;
+    }
+
+    ProductTree getRight() {
+      return right;
+    }
+
+    private BigInteger[] leaf() {
+      final BigInteger order = multiplier.order;
+      final BigInteger[] coeffs = new BigInteger[to - from + 1];
+      Arrays.fill(coeffs, BigInteger.ZERO);
+      coeffs[0] = BigInteger.ONE;
+      for (int i = from; i < to; i++) {
+        // multiply by (X + A_i), going down so coeffs[j - 1] still holds the old value
+        for (int j = i - from + 1; j > 0; j--) {
+          coeffs[j] = coeffs[j - 1].add(coeffs[j].multiply(roots[i])).mod(order);
+        }
+        coeffs[0] = coeffs[0].multiply(roots[i]).mod(order);
+      }
+      return coeffs;
+    }
+  }
+
+  /**
+   * Multiplies polynomials over Z_order given as coefficient arrays, lowest degree first.
+   */
+  static final class Multiplier {
+
+    private final BigInteger order;
+    // primitive 2^nttLog-th root of unity, or null if the NTT cannot be used
+    private final BigInteger root;
+    private final int nttLog;
+
+    Multiplier(BigInteger order) {
+      this.order = order;
+      final BigInteger orderMinusOne = order.subtract(BigInteger.ONE);
+      final int twoAdicity = orderMinusOne.getLowestSetBit();
+      BigInteger root = null;
+      int nttLog = 0;
+      if (twoAdicity >= 10 && order.isProbablePrime(40)) {
+        nttLog = Math.min(twoAdicity, 30);
+        final BigInteger oddPart = orderMinusOne.shiftRight(twoAdicity);
+        final BigInteger half = BigInteger.ONE.shiftLeft(twoAdicity - 1);
+        for (int g = 2; g < 1000 && root == null; g++) {
+          // g^oddPart has order 2^twoAdicity exactly if g is a non-residue
+          final BigInteger candidate = BigInteger.valueOf(g).modPow(oddPart, order);
+          if (!candidate.modPow(half, order).equals(BigInteger.ONE)) {
+            root = candidate.modPow(BigInteger.ONE.shiftLeft(twoAdicity - nttLog), order);
+          }
+        }
+      }
+      this.root = root;
+      this.nttLog = nttLog;
+    }
+
+    BigInteger[] multiply(BigInteger[] a, BigInteger[] b) {
+      final int shorter = Math.min(a.length, b.length);
+      if (shorter < KARATSUBA_THRESHOLD) {
+        return schoolbook(a, b);
+      }
+      if (root != null && shorter >= NTT_THRESHOLD
+          && a.length + b.length - 1 <= (1 << nttLog)) {
+        return ntt(a, b);
+      }
+      return karatsuba(a, b);
+    }
+
+    private BigInteger[] schoolbook(BigInteger[] a, BigInteger[] b) {
+      final BigInteger[] c = zeros(a.length + b.length - 1);
+      for (int i = 0; i < a.length; i++) {
+        for (int j = 0; j < b.length; j++) {
+          c[i + j] = c[i + j].add(a[i].multiply(b[j]));
+        }
+      }
+      for (int k = 0; k < c.length; k++) {
+        c[k] = c[k].mod(order);
+      }
+      return c;
+    }
+
+    private BigInteger[] karatsuba(BigInteger[] a, BigInteger[] b) {
+      if (Math.min(a.length, b.length) < KARATSUBA_THRESHOLD) {
+        return schoolbook(a, b);
+      }
+      final int n = Math.max(a.length, b.length);
+      final int m = n / 2;
+      final BigInteger[] a0 = slice(a, 0, m);
+      final BigInteger[] a1 = slice(a, m, n);
+      final BigInteger[] b0 = slice(b, 0, m);
+      final BigInteger[] b1 = slice(b, m, n);
+      final BigInteger[] z0 = karatsuba(a0, b0);
+      final BigInteger[] z2 = karatsuba(a1, b1);
+      final BigInteger[] z1 = karatsuba(add(a0, a1), add(b0, b1));
+
+      final BigInteger[] c = zeros(2 * n - 1);
+      for (int i = 0; i < z0.length; i++) {
+        c[i] = c[i].add(z0[i]);
+        c[i + m] = c[i + m].subtract(z0[i]);
+      }
+      for (int i = 0; i < z2.length; i++) {
+        c[i + 2 * m] = c[i + 2 * m].add(z2[i]);
+        c[i + m] = c[i + m].subtract(z2[i]);
+      }
+      for (int i = 0; i < z1.length; i++) {
+        c[i + m] = c[i + m].add(z1[i]);
+      }
+      final BigInteger[] result = new BigInteger[a.length + b.length - 1];
+      for (int k = 0; k < result.length; k++) {
+        result[k] = c[k].mod(order);
+      }
+      return result;
+    }
+
+    private BigInteger[] ntt(BigInteger[] a, BigInteger[] b) {
+      final int length = a.length + b.length - 1;
+      final int size = Integer.highestOneBit(length - 1) << 1;
+      final BigInteger[] fa = slice(a, 0, size);
+      final BigInteger[] fb = slice(b, 0, size);
+      transform(fa, false);
+      transform(fb, false);
+      for (int i = 0; i < size; i++) {
+        fa[i] = fa[i].multiply(fb[i]).mod(order);
+      }
+      transform(fa, true);
+      final BigInteger sizeInverse = BigInteger.valueOf(size).modInverse(order);
+      final BigInteger[] result = new BigInteger[length];
+      for (int i = 0; i < length; i++) {
+        result[i] = fa[i].multiply(sizeInverse).mod(order);
+      }
+      return result;
+    }
+
+    /**
+     * In-place iterative Cooley-Tukey transform of a power of two length.
+     */
+    private void transform(BigInteger[] x, boolean invert) {
+      final int size = x.length;
+      for (int i = 1, j = 0; i < size; i++) {
+        int bit = size >> 1;
+        for (; (j & bit) != 0; bit >>= 1) {
+          j ^= bit;
+        }
+        j ^= bit;
+        if (i < j) {
+          final BigInteger tmp = x[i];
+          x[i] = x[j];
+          x[j] = tmp;
+        }
+      }
+      for (int len = 2; len <= size; len <<= 1) {
+        BigInteger step = root.modPow(BigInteger.valueOf((1L << nttLog) / len), order);
+        if (invert) {
+          step = step.modInverse(order);
+        }
+        final int half = len >> 1;
+        final BigInteger[] twiddles = new BigInteger[half];
+        twiddles[0] = BigInteger.ONE;
+        for (int j = 1; j < half; j++) {
+          twiddles[j] = twiddles[j - 1].multiply(step).mod(order);
+        }
+        for (int i = 0; i < size; i += len) {
+          for (int j = 0; j < half; j++) {
+            final BigInteger u = x[i + j];
+            final BigInteger v = x[i + j + half].multiply(twiddles[j]).mod(order);
+            x[i + j] = u.add(v).mod(order);
+            x[i + j + half] = u.subtract(v).mod(order);
+          }
+        }
+      }
+    }
+
+    private static BigInteger[] zeros(int length) {
+      final BigInteger[] c = new BigInteger[length];
+      Arrays.fill(c, BigInteger.ZERO);
+      return c;
+    }
+
+    /**
+     * Returns the coefficients from up to to, padded with zeros.
+     */
+    private static BigInteger[] slice(BigInteger[] a, int from, int to) {
+      final BigInteger[] c = zeros(to - from);
+      if (from < a.length) {
+        System.arraycopy(a, from, c, 0, Math.min(a.length, to) - from);
+      }
+      return c;
+    }
+
+    private static BigInteger[] add(BigInteger[] a, BigInteger[] b) {
+      final BigInteger[] c = zeros(Math.max(a.length, b.length));
+      for (int i = 0; i < c.length; i++) {
+        final BigInteger x = i < a.length ? a[i] : BigInteger.ZERO;
+        final BigInteger y = i < b.length ? b[i] : BigInteger.ZERO;
+        c[i] = x.add(y);
+      }
+      return c;
+    }
+  }
 }
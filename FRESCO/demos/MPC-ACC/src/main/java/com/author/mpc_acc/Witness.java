@@ -1,7 +1,12 @@
 package com.author.mpc_acc;
 
+import dk.alexandra.fresco.suite.spdz.ECCExtension.MultiScalarMultiplication;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import iaik.security.ec.math.curve.ECPoint;
+import iaik.security.ec.math.curve.Pairing;
 
 /**
  * A simple class containing the AUX data
@@ -25,4 +30,42 @@ public class Witness {
   public BigInteger getElement() {
     return element;
   }
+
+  /**
+   * Verifies many witnesses against one accumulator with two pairings. With random 64 bit
+   * exponents rho_j the checks e(acc, G2) = e(wit_j, G2^x_j * pk2) are combined into
+   * e(sum rho_j x_j wit_j - (sum rho_j) acc, G2) = e(-sum rho_j wit_j, pk2), which an invalid
+   * witness passes with probability about 2^-64.
+   *
+   * @param pairing the pairing of the accumulator
+   * @param g2 the generator of the second group
+   * @param pk2 the public key in the second group
+   * @param order the order of the groups
+   * @param acc the accumulator
+   * @param wits the witnesses to verify
+   * @param random the source of the exponents
+   * @return true if all witnesses are valid
+   */
+  public static boolean verifyBatch(Pairing pairing, ECPoint g2, ECPoint pk2, BigInteger order,
+      ECPoint acc, List<Witness> wits, Random random) {
+    if (wits.isEmpty())
+      return true;
+
+    List<ECPoint> points = new ArrayList<ECPoint>(wits.size() + 1);
+    List<BigInteger> rho = new ArrayList<BigInteger>(wits.size());
+    List<BigInteger> rho_x = new ArrayList<BigInteger>(wits.size() + 1);
+    BigInteger rho_sum = BigInteger.ZERO;
+    for (Witness wit : wits) {
+      BigInteger rho_j = new BigInteger(64, random).add(BigInteger.ONE);
+      points.add(wit.getWitness());
+      rho.add(rho_j);
+      rho_x.add(rho_j.multiply(wit.getElement()).mod(order));
+      rho_sum = rho_sum.add(rho_j);
+    }
+    ECPoint w = MultiScalarMultiplication.multiply(points, rho).negatePoint();
+    points.add(acc);
+    rho_x.add(rho_sum.negate().mod(order));
+    ECPoint v = MultiScalarMultiplication.multiply(points, rho_x);
+    return pairing.pair(v, g2).equals(pairing.pair(w, pk2));
+  }
 }
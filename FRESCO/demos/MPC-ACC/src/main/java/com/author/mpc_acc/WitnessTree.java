@@ -0,0 +1,268 @@
+package com.author.mpc_acc;
+
+import dk.alexandra.fresco.suite.spdz.ECCExtension.MultiScalarMultiplication;
+import iaik.security.ec.math.curve.ECPoint;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the witnesses of all roots of an accumulated polynomial at once, walking down its
+ * subproduct tree.
+ *
+ * <p>With the public powers P_k = s^k * G1 and f = prod_i (X + A_i), the witness of A_j is
+ * r * sum_k q_k P_k for q = f / (X + A_j). A node of the tree over the roots S holds the points
+ * Q_t = sum_k c_k P_{k + t} for t < |S|, where c = f / prod_{i in S} (X + A_i). The root holds the
+ * powers themselves, and the points of a child are the middle product of the points of its parent
+ * with the polynomial of its sibling. This is the transposed remainder tree of a multipoint
+ * evaluation. The middle products are computed with a transposed Karatsuba over the points, so
+ * about n^1.58 log n scalar multiplications are needed instead of the n^2 of one multi-scalar
+ * multiplication per witness. Pippenger's method makes the latter cheaper per scalar on long
+ * inputs, so subtrees with up to about a thousand roots are finished directly with one
+ * multi-scalar multiplication per witness over the points of the subtree.</p>
+ *
+ * @author ******
+ */
+final class WitnessTree {
+
+  /**
+   * Below this length middle products take one multi-scalar multiplication per output.
+   */
+  private static final int KARATSUBA_THRESHOLD = 64;
+
+  /**
+   * Subtrees with at most this many roots are finished directly with one multi-scalar
+   * multiplication per witness, which beats the smaller products of the tree up to this size.
+   */
+  private static final int DIRECT_THRESHOLD = 1024;
+
+  /**
+   * Subtrees and middle products of at least this size are computed in parallel.
+   */
+  private static final int PARALLEL_THRESHOLD = 128;
+
+  private WitnessTree() {
+  }
+
+  /**
+   * Computes r * sum_k q_k P_k for q = f / (X + A_j) for every root A_j of the tree.
+   *
+   * @param tree
+   *          the subproduct tree of f
+   * @param powers
+   *          the public powers P_0, ..., P_n of at least the degree of f
+   * @param r
+   *          the randomness of the accumulator
+   * @param order
+   *          the order of the group
+   *
+   * @return the witnesses in the order of the roots of the tree
+   */
+  static ECPoint[] witnesses(Polynomial.ProductTree tree, List<ECPoint> powers, BigInteger r,
+      BigInteger order) {
+    return witnesses(tree, powers, r, order, DIRECT_THRESHOLD);
+  }
+
+  /**
+   * Computes the witnesses, finishing subtrees with at most directThreshold roots directly.
+   */
+  static ECPoint[] witnesses(Polynomial.ProductTree tree, List<ECPoint> powers, BigInteger r,
+      BigInteger order, int directThreshold) {
+    final int n = tree.getTo() - tree.getFrom();
+    final ECPoint[] result = new ECPoint[n];
+    final ECPoint[] points = powers.subList(0, n).toArray(new ECPoint[n]);
+    new Descent(tree, points, r, order, directThreshold, result).invoke();
+    return result;
+  }
+
+  /**
+   * Pushes the points of a node down to its leaves.
+   */
+  private static final class Descent extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Polynomial.ProductTree node;
+    private final ECPoint[] points;
+    private final BigInteger r;
+    private final BigInteger order;
+    private final int directThreshold;
+    private final ECPoint[] result;
+
+    Descent(Polynomial.ProductTree node, ECPoint[] points, BigInteger r, BigInteger order,
+        int directThreshold, ECPoint[] result) {
+      this.node = node;
+      this.points = points;
+      this.r = r;
+      this.order = order;
+      this.directThreshold = directThreshold;
+      this.result = result;
+    }
+
+    @Override
+    protected void compute() {
+      final Polynomial.ProductTree left = node.getLeft();
+      final Polynomial.ProductTree right = node.getRight();
+      if (left == null || points.length <= directThreshold) {
+        direct();
+        return;
+      }
+      final Descent toLeft =
+          new Descent(left, childPoints(right, left), r, order, directThreshold, result);
+      final Descent toRight =
+          new Descent(right, childPoints(left, right), r, order, directThreshold, result);
+      if (points.length >= PARALLEL_THRESHOLD) {
+        invokeAll(toLeft, toRight);
+      } else {
+        toLeft.compute();
+        toRight.compute();
+      }
+    }
+
+    /**
+     * Computes the points of a child from the polynomial of its sibling. The polynomial is monic,
+     * so its leading coefficient only adds the shifted points.
+     */
+    private ECPoint[] childPoints(Polynomial.ProductTree sibling, Polynomial.ProductTree child) {
+      final BigInteger[] g = sibling.getCoefficients();
+      final int degree = g.length - 1;
+      final int length = child.getTo() - child.getFrom();
+      final ECPoint[] childPoints =
+          middleProduct(Arrays.copyOf(g, degree), points, length, order);
+      for (int t = 0; t < length; t++) {
+        childPoints[t] = childPoints[t].clone().addPoint(points[degree + t]);
+      }
+      return childPoints;
+    }
+
+    /**
+     * Computes the witnesses of the roots of this node from its points and its polynomial.
+     */
+    private void direct() {
+      final BigInteger[] roots = node.getRoots();
+      final BigInteger[] g = node.getCoefficients();
+      final int size = points.length;
+      final List<ECPoint> pointList = Arrays.asList(points);
+      IntStream.range(node.getFrom(), node.getTo()).parallel().forEach(j -> {
+        // g / (X + A_j) by synthetic division
+        final BigInteger[] q = new BigInteger[size];
+        q[size - 1] = g[size];
+        for (int i = size - 1; i > 0; i--) {
+          q[i - 1] = g[i].subtract(q[i].multiply(roots[j])).mod(order);
+        }
+        result[j] = MultiScalarMultiplication.multiply(pointList, Arrays.asList(q))
+            .multiplyPoint(r);
+      });
+    }
+  }
+
+  /**
+   * Computes the middle product sum_k a_k Q_{k + t} for t < length, where a has at most
+   * points.length + 1 - length coefficients.
+   */
+  static ECPoint[] middleProduct(BigInteger[] a, ECPoint[] points, int length, BigInteger order) {
+    // pad to a square product which halves evenly down to the threshold, the padding only meets
+    // zero coefficients or unused outputs
+    int n = Math.max(a.length, length);
+    int shift = 0;
+    while ((n - 1 >> shift) + 1 >= KARATSUBA_THRESHOLD) {
+      shift++;
+    }
+    n = ((n - 1 >> shift) + 1) << shift;
+    final BigInteger[] paddedA = pad(a, n);
+    final ECPoint[] paddedPoints = pad(points, 2 * n - 1);
+    return Arrays.copyOf(new MiddleProduct(paddedA, paddedPoints, order).invoke(), length);
+  }
+
+  /**
+   * Computes the middle product of a square case with points.length = 2 * a.length - 1, where
+   * a.length halves evenly until it is below the threshold.
+   */
+  private static final class MiddleProduct extends RecursiveTask<ECPoint[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final BigInteger[] a;
+    private final ECPoint[] points;
+    private final BigInteger order;
+
+    MiddleProduct(BigInteger[] a, ECPoint[] points, BigInteger order) {
+      this.a = a;
+      this.points = points;
+      this.order = order;
+    }
+
+    @Override
+    protected ECPoint[] compute() {
+      final int n = a.length;
+      if (n < KARATSUBA_THRESHOLD) {
+        return direct();
+      }
+      // with a = a0 + X^h a1 and the points split in thirds Q0, Q1, Q2 overlapping by h - 1,
+      // the low half is MP(a0 + a1, Q1) + MP(a0, Q0 - Q1) and the high half is
+      // MP(a0 + a1, Q1) + MP(a1, Q2 - Q1)
+      final int h = n / 2;
+      final BigInteger[] a0 = Arrays.copyOfRange(a, 0, h);
+      final BigInteger[] a1 = Arrays.copyOfRange(a, h, n);
+      final BigInteger[] sum = new BigInteger[h];
+      for (int i = 0; i < h; i++) {
+        sum[i] = a0[i].add(a1[i]).mod(order);
+      }
+      final ECPoint[] middle = Arrays.copyOfRange(points, h, 3 * h - 1);
+      final ECPoint[] low = new ECPoint[2 * h - 1];
+      final ECPoint[] high = new ECPoint[2 * h - 1];
+      for (int i = 0; i < 2 * h - 1; i++) {
+        low[i] = points[i].clone().subtractPoint(middle[i]);
+        high[i] = points[2 * h + i].clone().subtractPoint(middle[i]);
+      }
+      final MiddleProduct both = new MiddleProduct(sum, middle, order);
+      final MiddleProduct lowOnly = new MiddleProduct(a0, low, order);
+      final MiddleProduct highOnly = new MiddleProduct(a1, high, order);
+      if (n >= PARALLEL_THRESHOLD) {
+        ForkJoinTask.invokeAll(both, lowOnly, highOnly);
+      } else {
+        both.invoke();
+        lowOnly.invoke();
+        highOnly.invoke();
+      }
+      final ECPoint[] shared = both.getRawResult();
+      final ECPoint[] lowResult = lowOnly.getRawResult();
+      final ECPoint[] highResult = highOnly.getRawResult();
+      final ECPoint[] result = new ECPoint[n];
+      for (int i = 0; i < h; i++) {
+        result[i] = shared[i].clone().addPoint(lowResult[i]);
+        result[h + i] = shared[i].clone().addPoint(highResult[i]);
+      }
+      return result;
+    }
+
+    private ECPoint[] direct() {
+      final int n = a.length;
+      final List<BigInteger> scalars = Arrays.asList(a);
+      final List<ECPoint> pointList = Arrays.asList(points);
+      final ECPoint[] result = new ECPoint[n];
+      for (int t = 0; t < n; t++) {
+        result[t] = MultiScalarMultiplication.multiply(pointList.subList(t, t + n), scalars);
+      }
+      return result;
+    }
+  }
+
+  private static BigInteger[] pad(BigInteger[] a, int length) {
+    final BigInteger[] padded = Arrays.copyOf(a, length);
+    Arrays.fill(padded, a.length, length, BigInteger.ZERO);
+    return padded;
+  }
+
+  private static ECPoint[] pad(ECPoint[] points, int length) {
+    final ECPoint[] padded = Arrays.copyOf(points, length);
+    for (int i = points.length; i < length; i++) {
+      padded[i] = points[0].getCurve().getNeutralPoint();
+    }
+    return padded;
+  }
+}
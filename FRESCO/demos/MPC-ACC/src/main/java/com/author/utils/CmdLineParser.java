@@ -22,9 +22,16 @@ public class CmdLineParser {
     public static final String PARTYMSG       = "Connection data for a party. Use -p multiple times to specify many players. You must always at least include yourself. Must be on the form [id]:[hostname]:[port]. id is a unique positive integer for the player, host and port is where to find the player";
     public static final String PRESTRATMSG    = "Used to set the preprocessing Strategy of SPDZ";
     public static final String LOGGINGMSG     = "Informs FRESCO that performance logging should be triggered";
+    public static final String WATERMARKMSG   = "Produce MASCOT preprocessing in the background, keeping between low and high elements of each kind available. Must be on the form [low]:[high]";
+    public static final String INSTANCESMSG   = "The number of MASCOT instances producing preprocessing in parallel in the background, each on its own thread and network. Only used together with -w";
+    public static final String EVALMSG        = "The evaluation strategy, one of SEQUENTIAL, SEQUENTIAL_BATCHED or PARALLEL_BATCHED. PARALLEL_BATCHED evaluates the local elliptic curve operations of a round on all cores. Defaults to SEQUENTIAL";
+    public static final String PIPELINEDMSG   = "Run the SPDZ MAC checks in the background on a network of their own, overlapping them with the evaluation. Must be given to all parties or none";
     public static final String IDERRMSG       = "ID must be positive";
     public static final String PARTYERRMSG    = "Party ids must be unique";
     public static final String SETERRMSG       = "number of elements must be > 1";
+    public static final String WATERMARKERRMSG = "watermarks must satisfy 0 <= low <= high and high > 0";
+    public static final String INSTANCESERRMSG = "number of instances must be > 0";
+    public static final String EVALERRMSG      = "unknown evaluation strategy: ";
     // private static Logger log = LoggerFactory.getLogger(CmdLineParser.class);
     public static int newID = 0;
 
@@ -66,6 +73,10 @@ public class CmdLineParser {
         options.addOption(Option.builder("D").desc(PRESTRATMSG).required(true).hasArg().numberOfArgs(2).valueSeparator().build());
         options.addOption(Option.builder("l").desc(LOGGINGMSG).required(false).hasArg(false).build());
         options.addOption(Option.builder("n").desc(SETMSG).required(false).hasArg().build());
+        options.addOption(Option.builder("w").desc(WATERMARKMSG).longOpt("watermarks").required(false).hasArg().build());
+        options.addOption(Option.builder("c").desc(INSTANCESMSG).longOpt("instances").required(false).hasArg().build());
+        options.addOption(Option.builder("e").desc(EVALMSG).longOpt("evaluation").required(false).hasArg().build());
+        options.addOption(Option.builder("k").desc(PIPELINEDMSG).longOpt("pipelined-mac-check").required(false).hasArg(false).build());
 
         // Parse Command line input into CommandLine format
         CommandLineParser parser = new DefaultParser();
@@ -78,6 +89,7 @@ public class CmdLineParser {
             set = Integer.parseInt(cmd.getOptionValue("n"));
         boolean logging = cmd.hasOption("l");
         boolean multiThreaded = cmd.hasOption("m");
+        boolean pipelinedMacCheck = cmd.hasOption("k");
         final Map<Integer, Party> parties = new HashMap<>();
         List<Map<Integer, Party>> partyList = new ArrayList<>();
         Party myParty = null;
@@ -91,6 +103,42 @@ public class CmdLineParser {
         if (set < 2)
             throw new ParseException(SETERRMSG);
 
+        int lowWatermark = 0;
+        int highWatermark = 0;
+        if (cmd.hasOption("w")) {
+            String[] w = cmd.getOptionValue("w").split(":");
+            if (w.length != 2)
+                throw new ParseException(WATERMARKMSG);
+            try {
+                lowWatermark = Integer.parseInt(w[0]);
+                highWatermark = Integer.parseInt(w[1]);
+            } catch (NumberFormatException e) {
+                throw new ParseException(WATERMARKMSG);
+            }
+            if (lowWatermark < 0 || highWatermark < lowWatermark || highWatermark < 1)
+                throw new ParseException(WATERMARKERRMSG);
+        }
+
+        int instances = 1;
+        if (cmd.hasOption("c")) {
+            try {
+                instances = Integer.parseInt(cmd.getOptionValue("c"));
+            } catch (NumberFormatException e) {
+                throw new ParseException(INSTANCESERRMSG);
+            }
+        }
+        if (instances < 1)
+            throw new ParseException(INSTANCESERRMSG);
+
+        EvaluationStrategy evaluationStrategy = EvaluationStrategy.SEQUENTIAL;
+        if (cmd.hasOption("e")) {
+            try {
+                evaluationStrategy = EvaluationStrategy.valueOf(cmd.getOptionValue("e"));
+            } catch (IllegalArgumentException e) {
+                throw new ParseException(EVALERRMSG + cmd.getOptionValue("e"));
+            }
+        }
+
 
         // check if all parties are entered correctly
         for (String partyOptions : cmd.getOptionValues("p")) {
@@ -118,7 +166,10 @@ public class CmdLineParser {
         params.setId(myid);
         params.setParties(partyList, myParty);
         params.setPreprocessingStrategy(strategy);
-        params.setEvaluationStrategy(EvaluationStrategy.SEQUENTIAL);
+        params.setEvaluationStrategy(evaluationStrategy);
+        params.setWatermarks(lowWatermark, highWatermark);
+        params.setInstances(instances);
+        params.setPipelinedMacCheck(pipelinedMacCheck);
         return params;
 
     }
@@ -183,6 +234,10 @@ public class CmdLineParser {
         public EvaluationStrategy evaluationStrategy;
         public boolean multiThreaded;
         public int el;
+        public int lowWatermark;
+        public int highWatermark;
+        public int instances;
+        public boolean pipelinedMacCheck;
 
         public BuilderParams(boolean logging, boolean multiThreaded){ this.logging = logging; this.multiThreaded = multiThreaded;}
         public void setId(int id){ this.id = id; }
@@ -197,6 +252,9 @@ public class CmdLineParser {
         public void setMaxBitLength(int maxBitLength){ this.maxBitLength = maxBitLength; }
         public void setPreprocessingStrategy(PreprocessingStrategy strategy){ this.preprocessingStrategy = strategy; }
         public void setEvaluationStrategy(EvaluationStrategy strategy){ this.evaluationStrategy = strategy; }
+        public void setWatermarks(int low, int high){ this.lowWatermark = low; this.highWatermark = high; }
+        public void setInstances(int instances){ this.instances = instances; }
+        public void setPipelinedMacCheck(boolean pipelinedMacCheck){ this.pipelinedMacCheck = pipelinedMacCheck; }
     }
 
 }
@@ -19,6 +19,8 @@ import dk.alexandra.fresco.framework.util.*;
 import dk.alexandra.fresco.framework.value.SInt;
 import dk.alexandra.fresco.logging.BatchEvaluationLoggingDecorator;
 import dk.alexandra.fresco.suite.ProtocolSuite;
+import dk.alexandra.fresco.suite.ProtocolSuite.RoundSynchronization;
+import dk.alexandra.fresco.suite.spdz.PipelinedSpdzRoundSynchronization;
 import dk.alexandra.fresco.suite.spdz.SpdzProtocolSuite;
 import dk.alexandra.fresco.suite.spdz.SpdzResourcePool;
 import dk.alexandra.fresco.suite.spdz.SpdzResourcePoolImpl;
@@ -160,8 +162,29 @@ public abstract class MPCBuilder<ObjectT> {
      * @return this.
      */
     public MPCBuilder<ObjectT> withSpdzLength(int maxBitLength){
+        return withSpdzLength(maxBitLength, false);
+    }
+
+    /**
+     * Instantiating the SpdzProtocolSuite required for the computation. If the MAC checks are pipelined, they run in
+     * the background on a network of their own, which is created here so all parties create it at the same point.
+     * @param maxBitLength the maximum number of bits for each shared variable
+     * @param pipelinedMacCheck whether to use the PipelinedSpdzRoundSynchronization
+     * @return this.
+     */
+    public MPCBuilder<ObjectT> withSpdzLength(int maxBitLength, boolean pipelinedMacCheck){
         this.maxBitLength = maxBitLength;
-        this.mySuite = new SpdzProtocolSuite(maxBitLength);
+        if (!pipelinedMacCheck) {
+            this.mySuite = new SpdzProtocolSuite(maxBitLength);
+            return this;
+        }
+        Network macCheckNetwork = myNetworkManager.createExtraNetwork();
+        this.mySuite = new SpdzProtocolSuite(maxBitLength) {
+            @Override
+            public RoundSynchronization<SpdzResourcePool> createRoundSynchronization() {
+                return new PipelinedSpdzRoundSynchronization(this, macCheckNetwork);
+            }
+        };
         return this;
     }
 
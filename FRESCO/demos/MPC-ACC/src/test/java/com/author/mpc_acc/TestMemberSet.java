@@ -0,0 +1,149 @@
+package com.author.mpc_acc;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestMemberSet {
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void testAddRemoveContains() {
+    MemberSet set = MemberSet.empty();
+    Set<BigInteger> expected = new HashSet<>();
+    for (int i = 0; i < 5000; i++) {
+      BigInteger x = BigInteger.valueOf(random.nextInt(2000));
+      MemberSet next;
+      if (random.nextBoolean()) {
+        next = set.add(x);
+        Assert.assertEquals(expected.add(x), next != set);
+      } else {
+        next = set.remove(x);
+        Assert.assertEquals(expected.remove(x), next != set);
+      }
+      set = next;
+      Assert.assertEquals(expected.size(), set.size());
+      Assert.assertEquals(expected.contains(x), set.contains(x));
+    }
+    assertMembers(expected, set);
+  }
+
+  @Test
+  public void testOlderVersionsAreUnchanged() {
+    MemberSet small = MemberSet.of(Arrays.asList(BigInteger.ONE, BigInteger.TEN));
+    MemberSet larger = small.add(BigInteger.valueOf(7));
+    MemberSet smaller = small.remove(BigInteger.ONE);
+    assertMembers(new HashSet<>(Arrays.asList(BigInteger.ONE, BigInteger.TEN)), small);
+    Assert.assertEquals(3, larger.size());
+    Assert.assertTrue(larger.contains(BigInteger.valueOf(7)));
+    Assert.assertEquals(1, smaller.size());
+    Assert.assertFalse(smaller.contains(BigInteger.ONE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOfRejectsDuplicates() {
+    MemberSet.of(Arrays.asList(BigInteger.ONE, BigInteger.TEN, BigInteger.ONE));
+  }
+
+  @Test
+  public void testHashCollisions() {
+    List<BigInteger> colliding = colliding(6);
+    for (BigInteger x : colliding) {
+      Assert.assertEquals(colliding.get(0).hashCode(), x.hashCode());
+    }
+    MemberSet set = MemberSet.of(colliding).add(BigInteger.ONE);
+    assertMembers(new HashSet<>(set.toList()), set);
+    Assert.assertEquals(7, set.size());
+    for (BigInteger x : colliding) {
+      Assert.assertTrue(set.contains(x));
+    }
+    Assert.assertFalse(set.contains(colliding(7).get(6)));
+    // remove down to a single colliding element, which moves back into its parent
+    Set<BigInteger> expected = new HashSet<>(set.toList());
+    for (int i = 0; i < colliding.size() - 1; i++) {
+      set = set.remove(colliding.get(i));
+      expected.remove(colliding.get(i));
+      assertMembers(expected, set);
+    }
+    Assert.assertSame(set, set.remove(colliding.get(0)));
+  }
+
+  @Test
+  public void testDeepLevels() {
+    // the spread hashes agree in all but the top two bits, so the elements meet at the last level
+    List<BigInteger> deep = new ArrayList<>();
+    for (int top = 0; top < 4; top++) {
+      deep.add(withSpreadHash((top << 30) | 0x155));
+    }
+    MemberSet set = MemberSet.of(deep);
+    assertMembers(new HashSet<>(deep), set);
+    Assert.assertFalse(set.contains(withSpreadHash(0x155 | 1 << 29)));
+    for (BigInteger x : deep) {
+      set = set.remove(x);
+      Assert.assertFalse(set.contains(x));
+    }
+    Assert.assertEquals(0, set.size());
+    Assert.assertTrue(set.toList().isEmpty());
+  }
+
+  @Test
+  public void testToListOrder() {
+    List<BigInteger> elements = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      elements.add(new BigInteger(256, random));
+    }
+    elements.addAll(colliding(4));
+    MemberSet set = MemberSet.of(elements);
+    List<BigInteger> list = set.toList();
+    Assert.assertEquals(elements.size(), list.size());
+    Assert.assertEquals(new HashSet<>(elements), new HashSet<>(list));
+    Assert.assertArrayEquals(list.toArray(), set.toArray());
+    // the order only depends on the members
+    Collections.shuffle(elements, random);
+    Assert.assertEquals(list, MemberSet.of(elements).toList());
+    List<BigInteger> iterated = new ArrayList<>();
+    set.forEach(iterated::add);
+    Assert.assertEquals(list, iterated);
+  }
+
+  private static void assertMembers(Set<BigInteger> expected, MemberSet set) {
+    Assert.assertEquals(expected.size(), set.size());
+    List<BigInteger> list = set.toList();
+    Assert.assertEquals(expected.size(), list.size());
+    Assert.assertEquals(expected, new HashSet<>(list));
+    for (BigInteger x : expected) {
+      Assert.assertTrue(set.contains(x));
+    }
+  }
+
+  /**
+   * Returns n distinct elements with the same hash code, as 31 * a + b is the hash code of an
+   * element with the magnitude words a and b. The first elements do not depend on n.
+   */
+  private static List<BigInteger> colliding(int n) {
+    List<BigInteger> elements = new ArrayList<>();
+    for (int k = 0; k < n; k++) {
+      long a = 1 + k;
+      long b = 100 + 31L * (64 - k);
+      elements.add(BigInteger.valueOf(a).shiftLeft(32).add(BigInteger.valueOf(b)));
+    }
+    return elements;
+  }
+
+  /**
+   * Returns an element whose hash code, after the spreading of MemberSet, is the given value.
+   */
+  private static BigInteger withSpreadHash(int spread) {
+    // h ^ (h >>> 16) is an involution
+    int h = spread ^ (spread >>> 16);
+    return BigInteger.valueOf(h & 0xFFFFFFFFL);
+  }
+}
@@ -0,0 +1,119 @@
+package com.author.mpc_acc;
+
+import iaik.security.ec.math.curve.AtePairingOverBarretoNaehrigCurveFactory;
+import iaik.security.ec.math.curve.PairingTypes;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestPolynomial {
+
+  /**
+   * The order of the BLS12-381 groups, whose multiplicative group has 2^32 roots of unity.
+   */
+  private static final BigInteger NTT_ORDER = new BigInteger(
+      "73eda753299d7d483339d80809a1d80553bda402fffe5bfeffffffff00000001", 16);
+
+  /**
+   * The order of the curves used by the accumulator, which has too few roots of unity.
+   */
+  private static final BigInteger BN_ORDER = AtePairingOverBarretoNaehrigCurveFactory
+      .getPairing(PairingTypes.TYPE_3, 256).getGroup1().getOrder();
+
+  // lengths around the Karatsuba and NTT thresholds of 32 and 256 coefficients
+  private static final int[][] LENGTHS = {
+      {1, 40}, {31, 31}, {31, 300}, {32, 32}, {33, 40}, {64, 65}, {100, 600},
+      {255, 255}, {256, 256}, {257, 300}, {512, 513}};
+
+  // degrees around the expansion thresholds of 64 and 2048 roots, and multiplications of
+  // subproducts of 32 and 256 roots
+  private static final int[] DEGREES = {1, 2, 32, 63, 64, 65, 128, 129, 511, 512, 513, 2047,
+      2048, 2049};
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void testOrders() {
+    Assert.assertTrue(NTT_ORDER.subtract(BigInteger.ONE).getLowestSetBit() >= 10);
+    Assert.assertTrue(BN_ORDER.subtract(BigInteger.ONE).getLowestSetBit() < 10);
+  }
+
+  @Test
+  public void testMultiplyWithNtt() {
+    testMultiply(NTT_ORDER);
+  }
+
+  @Test
+  public void testMultiplyWithoutNtt() {
+    testMultiply(BN_ORDER);
+  }
+
+  @Test
+  public void testExpandWithNtt() {
+    testExpand(NTT_ORDER);
+  }
+
+  @Test
+  public void testExpandWithoutNtt() {
+    testExpand(BN_ORDER);
+  }
+
+  @Test
+  public void testDivideLinear() {
+    BigInteger[] roots = randomElements(100, BN_ORDER);
+    Polynomial p = Polynomial.expand(roots, BN_ORDER);
+    BigInteger[] rest = new BigInteger[roots.length - 1];
+    System.arraycopy(roots, 1, rest, 0, rest.length);
+    Assert.assertArrayEquals(Polynomial.expand(rest, BN_ORDER).getCoefficient(),
+        p.divideLinear(roots[0], BN_ORDER).getCoefficient());
+  }
+
+  private void testMultiply(BigInteger order) {
+    Polynomial.Multiplier multiplier = new Polynomial.Multiplier(order);
+    for (int[] lengths : LENGTHS) {
+      BigInteger[] a = randomElements(lengths[0], order);
+      BigInteger[] b = randomElements(lengths[1], order);
+      BigInteger[] expected = schoolbook(a, b, order);
+      Assert.assertArrayEquals("Wrong product for lengths " + lengths[0] + ", " + lengths[1],
+          expected, multiplier.multiply(a, b));
+      Assert.assertArrayEquals(expected, multiplier.multiply(b, a));
+    }
+  }
+
+  private void testExpand(BigInteger order) {
+    for (int degree : DEGREES) {
+      BigInteger[] roots = randomElements(degree, order);
+      Polynomial expected = new Polynomial(0, order);
+      expected.setCoefficient(0, BigInteger.ONE);
+      for (BigInteger root : roots) {
+        expected = expected.multiplyLinear(root, order);
+      }
+      Polynomial actual = Polynomial.expand(roots, order);
+      Assert.assertEquals(degree, actual.getDegree());
+      Assert.assertArrayEquals("Wrong expansion of degree " + degree, expected.getCoefficient(),
+          actual.getCoefficient());
+    }
+  }
+
+  private BigInteger[] schoolbook(BigInteger[] a, BigInteger[] b, BigInteger order) {
+    BigInteger[] c = new BigInteger[a.length + b.length - 1];
+    for (int k = 0; k < c.length; k++) {
+      c[k] = BigInteger.ZERO;
+    }
+    for (int i = 0; i < a.length; i++) {
+      for (int j = 0; j < b.length; j++) {
+        c[i + j] = c[i + j].add(a[i].multiply(b[j])).mod(order);
+      }
+    }
+    return c;
+  }
+
+  private BigInteger[] randomElements(int n, BigInteger order) {
+    BigInteger[] elements = new BigInteger[n];
+    for (int i = 0; i < n; i++) {
+      elements[i] = new BigInteger(order.bitLength(), random).mod(order);
+    }
+    return elements;
+  }
+}
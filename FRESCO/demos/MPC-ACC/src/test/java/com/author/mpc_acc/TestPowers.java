@@ -0,0 +1,104 @@
+package com.author.mpc_acc;
+
+import dk.alexandra.fresco.framework.Party;
+import dk.alexandra.fresco.framework.configuration.NetworkUtil;
+import dk.alexandra.fresco.framework.sce.evaluator.EvaluationStrategy;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SECPoint;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzKeyHandle;
+import dk.alexandra.fresco.suite.spdz.configuration.PreprocessingStrategy;
+import iaik.security.ec.math.curve.AtePairingOverBarretoNaehrigCurveFactory;
+import iaik.security.ec.math.curve.ECPoint;
+import iaik.security.ec.math.curve.Pairing;
+import iaik.security.ec.math.curve.PairingTypes;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestPowers {
+
+  private static final Pairing PAIRING =
+      AtePairingOverBarretoNaehrigCurveFactory.getPairing(PairingTypes.TYPE_3, 256);
+  private static final ECPoint G1 = PAIRING.getGroup1().getGenerator();
+  private static final ECPoint G2 = PAIRING.getGroup2().getGenerator();
+  private static final BigInteger ORDER = PAIRING.getGroup1().getOrder();
+
+  @Test
+  public void testTwoParties() throws Exception {
+    testPowers(2, 5);
+  }
+
+  @Test
+  public void testThreeParties() throws Exception {
+    testPowers(3, 4);
+  }
+
+  /**
+   * Shares the key s = s_1 + ... + s_n, computes the shared powers g1^{s^i} for i = 0, ..., t with
+   * MASCOT and compares the opened points with the powers computed in the clear.
+   */
+  private static void testPowers(int noOfParties, int t) throws Exception {
+    // all parties derive the same shares from a common seed
+    Random random = new Random(noOfParties);
+    BigInteger[] shares = new BigInteger[noOfParties];
+    BigInteger s = BigInteger.ZERO;
+    for (int i = 0; i < noOfParties; i++) {
+      shares[i] = new BigInteger(ORDER.bitLength() - 1, random);
+      s = s.add(shares[i]);
+    }
+    List<Integer> ports = NetworkUtil.getFreePorts(noOfParties);
+    Map<Integer, Party> parties = new HashMap<>();
+    for (int i = 1; i <= noOfParties; i++) {
+      parties.put(i, new Party(i, "localhost", ports.get(i - 1)));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(noOfParties);
+    try {
+      List<Future<List<ECPoint>>> results = new ArrayList<>();
+      for (int i = 1; i <= noOfParties; i++) {
+        Party myParty = parties.get(i);
+        BigInteger share = shares[i - 1];
+        results.add(executor.submit(() -> openPowers(parties, myParty, share, t)));
+      }
+      for (Future<List<ECPoint>> result : results) {
+        List<ECPoint> opened = result.get();
+        Assert.assertEquals(t + 1, opened.size());
+        BigInteger power = BigInteger.ONE;
+        for (int i = 0; i <= t; i++) {
+          Assert.assertEquals("Wrong power " + i, G1.clone().multiplyPoint(power), opened.get(i));
+          power = power.multiply(s).mod(ORDER);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static List<ECPoint> openPowers(Map<Integer, Party> parties, Party myParty,
+      BigInteger share, int t) throws Exception {
+    MPCParams params = new MPCParamsBuilder(false)
+        .withBatchEvalStrat(EvaluationStrategy.SEQUENTIAL_BATCHED)
+        .withNetwork(parties, myParty)
+        .withResourcePool(PreprocessingStrategy.MASCOT, ORDER)
+        .withSpdzLength(ORDER.bitLength())
+        .build();
+    try {
+      SpdzKeyHandle sk = new SpdzKeyHandle("sk");
+      params.getMySce().runApplication(new MPC_Gen(share, sk, G2), params.getMyPool(),
+          params.getMyNetwork());
+      List<SECPoint> powers = params.getMySce().runApplication(new MPC_Powers(sk, G1, t),
+          params.getMyPool(), params.getMyNetwork());
+      return params.getMySce().runApplication(new MPC_OpenPoints(powers), params.getMyPool(),
+          params.getMyNetwork());
+    } finally {
+      params.shutdown();
+    }
+  }
+}
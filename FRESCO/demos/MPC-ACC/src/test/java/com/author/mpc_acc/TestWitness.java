@@ -0,0 +1,88 @@
+package com.author.mpc_acc;
+
+import iaik.security.ec.math.curve.AtePairingOverBarretoNaehrigCurveFactory;
+import iaik.security.ec.math.curve.ECPoint;
+import iaik.security.ec.math.curve.Pairing;
+import iaik.security.ec.math.curve.PairingTypes;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestWitness {
+
+  private final Pairing pairing =
+      AtePairingOverBarretoNaehrigCurveFactory.getPairing(PairingTypes.TYPE_3, 256);
+  private final ECPoint g1 = pairing.getGroup1().getGenerator();
+  private final ECPoint g2 = pairing.getGroup2().getGenerator();
+  private final BigInteger order = pairing.getGroup1().getOrder();
+  private final Random random = new Random(42);
+
+  private BigInteger sk;
+  private ECPoint pk2;
+  private ECPoint acc;
+  private List<Witness> wits;
+
+  /**
+   * Accumulates ten elements x_i as acc = G1^prod(x_i + sk), with witnesses acc^(1 / (x_j + sk)).
+   */
+  @Before
+  public void setup() {
+    sk = randomElement();
+    pk2 = g2.clone().multiplyPoint(sk);
+    List<BigInteger> elements = new ArrayList<>();
+    BigInteger product = BigInteger.ONE;
+    for (int i = 0; i < 10; i++) {
+      BigInteger x = randomElement();
+      elements.add(x);
+      product = product.multiply(x.add(sk)).mod(order);
+    }
+    acc = g1.clone().multiplyPoint(product);
+    wits = new ArrayList<>();
+    for (BigInteger x : elements) {
+      wits.add(new Witness(acc.clone().multiplyPoint(x.add(sk).modInverse(order)), x));
+    }
+  }
+
+  @Test
+  public void testValidWitnesses() {
+    Assert.assertTrue(verifyBatch(wits));
+    Assert.assertTrue(verifyBatch(wits.subList(0, 1)));
+    Assert.assertTrue(verifyBatch(Collections.emptyList()));
+  }
+
+  @Test
+  public void testWrongElement() {
+    Witness wit = wits.get(3);
+    wits.set(3, new Witness(wit.getWitness(), wit.getElement().add(BigInteger.ONE)));
+    Assert.assertFalse(verifyBatch(wits));
+  }
+
+  @Test
+  public void testWrongWitness() {
+    Witness wit = wits.get(7);
+    wits.set(7, new Witness(wit.getWitness().clone().addPoint(g1), wit.getElement()));
+    Assert.assertFalse(verifyBatch(wits));
+  }
+
+  @Test
+  public void testSwappedWitnesses() {
+    Witness first = wits.get(0);
+    Witness second = wits.get(1);
+    wits.set(0, new Witness(second.getWitness(), first.getElement()));
+    wits.set(1, new Witness(first.getWitness(), second.getElement()));
+    Assert.assertFalse(verifyBatch(wits));
+  }
+
+  private boolean verifyBatch(List<Witness> batch) {
+    return Witness.verifyBatch(pairing, g2, pk2, order, acc, batch, random);
+  }
+
+  private BigInteger randomElement() {
+    return new BigInteger(order.bitLength(), random).mod(order);
+  }
+}
@@ -0,0 +1,106 @@
+package com.author.mpc_acc;
+
+import iaik.security.ec.math.curve.AtePairingOverBarretoNaehrigCurveFactory;
+import iaik.security.ec.math.curve.ECPoint;
+import iaik.security.ec.math.curve.EllipticCurve;
+import iaik.security.ec.math.curve.PairingTypes;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestWitnessTree {
+
+  private final EllipticCurve curve =
+      AtePairingOverBarretoNaehrigCurveFactory.getPairing(PairingTypes.TYPE_3, 256).getGroup1();
+  private final BigInteger order = curve.getOrder();
+  private final Random random = new Random(42);
+
+  @Test
+  public void testMiddleProduct() {
+    // lengths around the Karatsuba threshold of 64, odd and even, square and not
+    int[][] shapes = {{1, 1}, {3, 2}, {63, 63}, {64, 64}, {65, 65}, {66, 65}, {129, 128},
+        {40, 100}, {100, 40}};
+    for (int[] shape : shapes) {
+      BigInteger[] a = randomElements(shape[0]);
+      int length = shape[1];
+      ECPoint[] points = randomPoints(a.length + length - 1);
+      ECPoint[] actual = WitnessTree.middleProduct(a, points, length, order);
+      Assert.assertEquals(length, actual.length);
+      for (int t = 0; t < length; t++) {
+        ECPoint expected = curve.getNeutralPoint();
+        for (int k = 0; k < a.length; k++) {
+          expected.addPoint(points[k + t].clone().multiplyPoint(a[k]));
+        }
+        Assert.assertEquals("Wrong output " + t + " for shape " + shape[0] + ", " + shape[1],
+            expected, actual[t]);
+      }
+    }
+  }
+
+  @Test
+  public void testDirect() {
+    testWitnesses(1, 1024);
+    testWitnesses(5, 1024);
+    testWitnesses(300, 1024);
+  }
+
+  @Test
+  public void testDescent() {
+    // the leaves of the product tree hold at most 64 roots
+    testWitnesses(64, 1);
+    testWitnesses(65, 1);
+    testWitnesses(300, 1);
+    testWitnesses(300, 100);
+  }
+
+  /**
+   * Compares the witnesses with r * prod_{i != j} (s + A_i) * G for a known s.
+   */
+  private void testWitnesses(int n, int directThreshold) {
+    BigInteger s = randomElement();
+    BigInteger r = randomElement();
+    List<ECPoint> powers = new ArrayList<>();
+    BigInteger power = BigInteger.ONE;
+    for (int k = 0; k <= n; k++) {
+      powers.add(curve.getGenerator().clone().multiplyPoint(power));
+      power = power.multiply(s).mod(order);
+    }
+    BigInteger[] roots = randomElements(n);
+    ECPoint[] witnesses = WitnessTree.witnesses(Polynomial.productTree(roots, order), powers, r,
+        order, directThreshold);
+    Assert.assertEquals(n, witnesses.length);
+    for (int j = 0; j < n; j++) {
+      BigInteger exponent = r;
+      for (int i = 0; i < n; i++) {
+        if (i != j) {
+          exponent = exponent.multiply(s.add(roots[i])).mod(order);
+        }
+      }
+      Assert.assertEquals("Wrong witness " + j + " of " + n,
+          curve.getGenerator().clone().multiplyPoint(exponent), witnesses[j]);
+    }
+  }
+
+  private ECPoint[] randomPoints(int n) {
+    ECPoint[] points = new ECPoint[n];
+    for (int i = 0; i < n; i++) {
+      points[i] = curve.getGenerator().clone().multiplyPoint(randomElement());
+    }
+    return points;
+  }
+
+  private BigInteger[] randomElements(int n) {
+    BigInteger[] elements = new BigInteger[n];
+    for (int i = 0; i < n; i++) {
+      elements[i] = randomElement();
+    }
+    return elements;
+  }
+
+  private BigInteger randomElement() {
+    return new BigInteger(order.bitLength(), random).mod(order);
+  }
+}
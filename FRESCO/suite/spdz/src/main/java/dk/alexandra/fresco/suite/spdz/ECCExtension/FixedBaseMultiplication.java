@@ -0,0 +1,135 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import iaik.security.ec.math.curve.ECPoint;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Scalar multiplication for long-lived base points, such as the generators of the curves or a
+ * public key.
+ *
+ * <p>For a registered base P the multiples d * 2^(WINDOW * i) * P are precomputed for every window
+ * i and digit d, so a scalar multiplication only needs one addition per window and no doublings.
+ * Building a table costs about three times a plain scalar multiplication, so tables are only built
+ * for bases registered with {@link #register(ECPoint)}. Other bases fall back to a plain scalar
+ * multiplication.</p>
+ *
+ * <p>{@link #multiply(ECPoint, BigInteger)} finds the table of a base by identity, so it neither
+ * encodes the base nor takes a lock. Callers multiply with the instance returned by register,
+ * which must not be modified. At most {@code CAPACITY} bases are registered at a time, the
+ * least recently registered base is dropped first.</p>
+ *
+ * @author ******
+ */
+public final class FixedBaseMultiplication {
+
+  private static final int WINDOW = 4;
+  private static final int CAPACITY = 32;
+
+  // copy on write, ordered from the least to the most recently registered base
+  private static volatile Entry[] registered = new Entry[0];
+
+  private FixedBaseMultiplication() {
+  }
+
+  /**
+   * Registers a base which will be multiplied many times, building its table unless an equal base
+   * is registered already.
+   *
+   * @param base the base point, which is not modified
+   * @return the registered instance of the base, which later multiplications should use
+   */
+  public static synchronized ECPoint register(ECPoint base) {
+    byte[] encoding = base.encodePoint();
+    Entry[] entries = registered;
+    int index = 0;
+    while (index < entries.length && !Arrays.equals(entries[index].encoding, encoding)) {
+      index++;
+    }
+    Entry entry;
+    Entry[] updated;
+    if (index < entries.length) {
+      entry = entries[index];
+      updated = new Entry[entries.length];
+      System.arraycopy(entries, 0, updated, 0, index);
+      System.arraycopy(entries, index + 1, updated, index, entries.length - index - 1);
+    } else {
+      ECPoint copy = base.clone();
+      entry = new Entry(copy, encoding, new Table(copy));
+      int kept = Math.min(entries.length, CAPACITY - 1);
+      updated = new Entry[kept + 1];
+      System.arraycopy(entries, entries.length - kept, updated, 0, kept);
+    }
+    updated[updated.length - 1] = entry;
+    registered = updated;
+    return entry.base;
+  }
+
+  /**
+   * Computes k * base without modifying base, using the table of the base if it is a registered
+   * instance.
+   *
+   * @param base the base point
+   * @param k the scalar
+   * @return a new point holding k * base
+   */
+  public static ECPoint multiply(ECPoint base, BigInteger k) {
+    for (Entry entry : registered) {
+      if (entry.base == base) {
+        return entry.table.multiply(k);
+      }
+    }
+    return base.clone().multiplyPoint(k);
+  }
+
+  private static final class Entry {
+
+    private final ECPoint base;
+    private final byte[] encoding;
+    private final Table table;
+
+    Entry(ECPoint base, byte[] encoding, Table table) {
+      this.base = base;
+      this.encoding = encoding;
+      this.table = table;
+    }
+  }
+
+  private static final class Table {
+
+    private final BigInteger order;
+    // points[i][d] = d * 2^(WINDOW * i) * base, for d > 0
+    private final ECPoint[][] points;
+
+    Table(ECPoint base) {
+      this.order = base.getCurve().getOrder();
+      int windows = (order.bitLength() + WINDOW - 1) / WINDOW;
+      int digits = 1 << WINDOW;
+      points = new ECPoint[windows][digits];
+      BigInteger two = BigInteger.valueOf(2);
+      BigInteger shift = BigInteger.ONE.shiftLeft(WINDOW);
+      ECPoint windowBase = base.clone();
+      for (int i = 0; i < windows; i++) {
+        points[i][1] = windowBase.clone();
+        points[i][2] = windowBase.clone().multiplyPoint(two);
+        for (int d = 3; d < digits; d++) {
+          points[i][d] = points[i][d - 1].clone().addPoint(windowBase);
+        }
+        windowBase = windowBase.clone().multiplyPoint(shift);
+      }
+    }
+
+    ECPoint multiply(BigInteger k) {
+      BigInteger scalar = k.mod(order);
+      int mask = (1 << WINDOW) - 1;
+      ECPoint result = null;
+      for (int i = 0; i < points.length; i++) {
+        int digit = scalar.shiftRight(WINDOW * i).intValue() & mask;
+        if (digit != 0) {
+          result = result == null ? points[i][digit].clone() : result.addPoint(points[i][digit]);
+        }
+      }
+      return result == null ? points[0][1].getCurve().getNeutralPoint() : result;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import iaik.security.ec.math.curve.ECPoint;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Computes sums of the form sum_i k_i * P_i using the bucket method of Pippenger.
+ *
+ * <p>The scalars are split into windows of c bits. For every window each point is added to the
+ * bucket of its digit, and the buckets are summed with a running sum, so a window costs about
+ * n + 2^(c+1) additions instead of one scalar multiplication per point. The window size is
+ * chosen from the number of points. The input points are never modified.</p>
+ *
+ * @author ******
+ */
+public final class MultiScalarMultiplication {
+
+  /**
+   * Below this many points the naive method is used.
+   */
+  private static final int NAIVE_THRESHOLD = 4;
+
+  private MultiScalarMultiplication() {
+  }
+
+  /**
+   * Computes sum_i scalars[i] * points[i].
+   *
+   * @param points the points, all on the same curve
+   * @param scalars the non-negative scalars
+   * @return a new point holding the sum
+   */
+  public static ECPoint multiply(List<ECPoint> points, List<BigInteger> scalars) {
+    return multiply(points, scalars, false);
+  }
+
+  /**
+   * Computes sum_i scalars[i] * points[i], optionally computing the windows in parallel.
+   *
+   * @param points the points, all on the same curve
+   * @param scalars the non-negative scalars
+   * @param parallel whether to compute the windows in parallel
+   * @return a new point holding the sum
+   */
+  public static ECPoint multiply(List<ECPoint> points, List<BigInteger> scalars,
+      boolean parallel) {
+    if (points.size() != scalars.size()) {
+      throw new IllegalArgumentException("Number of scalars and points must match");
+    }
+    if (points.isEmpty()) {
+      throw new IllegalArgumentException("At least one point is needed");
+    }
+    int n = points.size();
+    if (n < NAIVE_THRESHOLD) {
+      ECPoint result = points.get(0).clone().multiplyPoint(scalars.get(0));
+      for (int i = 1; i < n; i++) {
+        result.addPoint(points.get(i).clone().multiplyPoint(scalars.get(i)));
+      }
+      return result;
+    }
+
+    int bits = 0;
+    for (BigInteger scalar : scalars) {
+      if (scalar.signum() < 0) {
+        throw new IllegalArgumentException("Scalars must be non-negative");
+      }
+      bits = Math.max(bits, scalar.bitLength());
+    }
+    if (bits == 0) {
+      return points.get(0).getCurve().getNeutralPoint();
+    }
+    final int c = windowSize(n);
+    final int windows = (bits + c - 1) / c;
+    final int[][] digits = new int[n][];
+    for (int i = 0; i < n; i++) {
+      digits[i] = digits(scalars.get(i), c, windows);
+    }
+
+    IntStream range = IntStream.range(0, windows);
+    if (parallel) {
+      range = range.parallel();
+    }
+    ECPoint[] sums = range.mapToObj(w -> window(points, digits, w, c))
+        .toArray(ECPoint[]::new);
+
+    BigInteger shift = BigInteger.ONE.shiftLeft(c);
+    ECPoint result = null;
+    for (int w = windows - 1; w >= 0; w--) {
+      if (result != null) {
+        result.multiplyPoint(shift);
+      }
+      result = add(result, sums[w]);
+    }
+    return result == null ? points.get(0).getCurve().getNeutralPoint() : result;
+  }
+
+  /**
+   * Chooses a window size of roughly log2(n) - 2 bits, which balances the n additions into
+   * buckets against the 2^(c+1) additions of the running sum.
+   */
+  static int windowSize(int n) {
+    int log = 31 - Integer.numberOfLeadingZeros(n);
+    return Math.max(2, Math.min(16, log - 2));
+  }
+
+  private static int[] digits(BigInteger scalar, int c, int windows) {
+    int[] digits = new int[windows];
+    int mask = (1 << c) - 1;
+    for (int w = 0; w < windows; w++) {
+      digits[w] = scalar.shiftRight(w * c).intValue() & mask;
+    }
+    return digits;
+  }
+
+  private static ECPoint window(List<ECPoint> points, int[][] digits, int w, int c) {
+    ECPoint[] buckets = new ECPoint[1 << c];
+    for (int i = 0; i < digits.length; i++) {
+      int digit = digits[i][w];
+      if (digit != 0) {
+        buckets[digit] = add(buckets[digit], points.get(i));
+      }
+    }
+    // sum_d d * B_d computed as the sum of the running sums B_top + ... + B_d
+    ECPoint running = null;
+    ECPoint sum = null;
+    for (int d = buckets.length - 1; d > 0; d--) {
+      running = add(running, buckets[d]);
+      if (running != null) {
+        sum = add(sum, running);
+      }
+    }
+    return sum;
+  }
+
+  /**
+   * Adds right to left, where null is the neutral element. Only left is modified.
+   */
+  private static ECPoint add(ECPoint left, ECPoint right) {
+    if (right == null) {
+      return left;
+    }
+    if (left == null) {
+      return right.clone();
+    }
+    return left.addPoint(right);
+  }
+}
@@ -0,0 +1,43 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import dk.alexandra.fresco.suite.spdz.gates.SpdzNativeProtocol;
+import java.math.BigInteger;
+
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePool;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePoolImpl;
+import dk.alexandra.fresco.framework.value.SInt;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+
+/**
+ * Authenticates this party's share of a secret key as a {@link SpdzKnownScalar} and keeps the
+ * result in the {@link SpdzKeyStore} of the resource pool under the given handle.
+ *
+ * @author ******
+ */
+public class SpdzAuthenticateKeyProtocol extends SpdzNativeProtocol<SInt> {
+
+  private final SpdzKeyHandle handle;
+  private final SpdzKnownScalar share;
+
+  public SpdzAuthenticateKeyProtocol(SpdzKeyHandle handle, BigInteger share) {
+    this.handle = handle;
+    this.share = new SpdzKnownScalar(share);
+  }
+
+  @Override
+  public EvaluationStatus evaluate(int round, SpdzResourcePool spdzResourcePool,
+      Network network) {
+    EvaluationStatus status = share.evaluate(round, spdzResourcePool, network);
+    if (status == EvaluationStatus.IS_DONE) {
+      ((SpdzResourcePoolImpl) spdzResourcePool).getKeyStore()
+          .put(handle, (SpdzSInt) share.out());
+    }
+    return status;
+  }
+
+  @Override
+  public SInt out() {
+    return share.out();
+  }
+}
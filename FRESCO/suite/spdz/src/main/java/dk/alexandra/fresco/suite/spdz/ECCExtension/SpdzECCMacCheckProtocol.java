@@ -17,8 +17,11 @@ import iaik.security.ec.math.curve.ECPoint;
 import iaik.security.ec.math.curve.EllipticCurve;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECPoint;
 
 /**
@@ -27,6 +30,15 @@ import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECPoint;
  */
 public class SpdzECCMacCheckProtocol implements Computation<Void, ProtocolBuilderNumeric> {
 
+  /**
+   * Bit length of the random coefficients for the opened points.
+   */
+  private static final int COEFFICIENT_BIT_LENGTH = 128;
+  /**
+   * From this many opened points on, A and GAMMA are computed in parallel.
+   */
+  private static final int PARALLEL_THRESHOLD = 256;
+
   private final BigInteger modulus;
   private final List<SpdzSInt> closedValues;
   private final List<FieldElement> openedValues;
@@ -75,26 +87,15 @@ public class SpdzECCMacCheckProtocol implements Computation<Void, ProtocolBuilde
         .seq(new CoinTossingComputation(drbgByteLength, commitmentSerializer, localDrbg))
         .seq((seq, seed) -> {
           Drbg jointDrbg = jointDrbgSupplier.apply(seed);
-          FieldElement[] rs = sampleRandomCoefficients(openedValues.size() + openedValuesECC.size(), definition,
+          FieldElement[] rs = sampleRandomCoefficients(openedValues.size(), definition,
               jointDrbg);
+          List<BigInteger> rsECC = sampleShortCoefficients(openedValuesECC.size(), jointDrbg);
           FieldElement a = definition.createElement(0);
           int index = 0;
           for (FieldElement openedValue : openedValues) {
             FieldElement openedValueHidden = openedValue.multiply(rs[index++]);
             a = a.add(openedValueHidden);
           }
-          // ECC A
-          ECPoint A = null;
-          EllipticCurve curve = null;
-          if (openedValuesECC.size() != 0)  {
-            curve = openedValuesECC.get(0).getCurve();
-            A = curve.getNeutralPoint();
-            for (ECPoint openedValue : openedValuesECC) {
-              ECPoint openedValueHidden = openedValue.clone().multiplyPoint(definition.convertToUnsigned(rs[index++]));
-              A.addPoint(openedValueHidden);
-            }
-          }
-
 
           // compute gamma_i as the sum of all MAC's on the opened values times
           // r_j.
@@ -104,24 +105,33 @@ public class SpdzECCMacCheckProtocol implements Computation<Void, ProtocolBuilde
             FieldElement closedValueHidden = rs[index++].multiply(closedValue.getMac());
             gamma = gamma.add(closedValueHidden);
           }
-          // ECC GAMMA
-          ECPoint GAMMA = null;
-          if (openedValuesECC.size() != 0)  {
-            GAMMA = curve.getNeutralPoint();
-            for (SpdzECPoint closedValue : closedValuesECC) {
-              ECPoint closedValueHidden = closedValue.getMac().clone().multiplyPoint(definition.convertToUnsigned(rs[index++]));
-              GAMMA.addPoint(closedValueHidden);
-            }
-          }
 
           // compute delta_i as: gamma_i - alpha_i*a
           byte[] deltaBytes = null;
           FieldElement delta = gamma.subtract(alpha.multiply(a));
           if (openedValuesECC.size() != 0)  {
+            // ECC A and GAMMA as multi-scalar multiplications over the opened values and macs
+            EllipticCurve curve = openedValuesECC.get(0).getCurve();
+            List<ECPoint> macsECC = closedValuesECC.stream()
+                .map(SpdzECPoint::getMac)
+                .collect(Collectors.toList());
+            boolean parallel = openedValuesECC.size() >= PARALLEL_THRESHOLD;
+            ForkJoinTask<ECPoint> gammaTask = null;
+            if (parallel) {
+              gammaTask = ForkJoinTask.adapt(
+                  () -> MultiScalarMultiplication.multiply(macsECC, rsECC, true)).fork();
+            }
+            ECPoint A = MultiScalarMultiplication.multiply(openedValuesECC, rsECC, parallel);
+            ECPoint GAMMA = parallel
+                ? gammaTask.join()
+                : MultiScalarMultiplication.multiply(macsECC, rsECC);
+
             // compute delta_i * G + GAMMA - alpha_i*A
-            ECPoint DELTA = curve.getGenerator().clone().multiplyPoint(definition.convertToUnsigned(delta));
+            ECPoint generator = FixedBaseMultiplication.register(curve.getGenerator());
+            ECPoint DELTA = FixedBaseMultiplication.multiply(generator,
+                definition.convertToUnsigned(delta));
             DELTA.addPoint(GAMMA);
-            DELTA.subtractPoint(A.clone().multiplyPoint(definition.convertToUnsigned(alpha)));
+            DELTA.subtractPoint(A.multiplyPoint(definition.convertToUnsigned(alpha)));
 
             deltaBytes = DELTA.encodePoint();
           } else {
@@ -188,4 +198,19 @@ public class SpdzECCMacCheckProtocol implements Computation<Void, ProtocolBuilde
     }
     return coefficients;
   }
+
+  /**
+   * Samples the coefficients for the opened points. These only need to be as long as the
+   * statistical security, which makes the multi-scalar multiplications much cheaper than with
+   * coefficients of the full field size.
+   */
+  private List<BigInteger> sampleShortCoefficients(int numCoefficients, Drbg jointDrbg) {
+    List<BigInteger> coefficients = new ArrayList<>(numCoefficients);
+    for (int i = 0; i < numCoefficients; i++) {
+      byte[] bytes = new byte[COEFFICIENT_BIT_LENGTH / Byte.SIZE];
+      jointDrbg.nextBytes(bytes);
+      coefficients.add(new BigInteger(1, bytes));
+    }
+    return coefficients;
+  }
 }
@@ -7,6 +7,7 @@ import dk.alexandra.fresco.framework.DRes;
 import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
 import iaik.security.ec.math.curve.ECPoint;
 import dk.alexandra.fresco.framework.value.SInt;
+import java.util.List;
 
 public class SpdzECCOps {
   private final ProtocolBuilderNumeric protocolBuilder;
@@ -20,6 +21,34 @@ public class SpdzECCOps {
     return protocolBuilder.append(spdzKnownScalara);
   }
 
+  /**
+   * Authenticates this party's shares of many values at once, with a single MASCOT input per party
+   * instead of one per value. All parties must input the same number of shares.
+   */
+  public DRes<List<DRes<SInt>>> knownScalars(List<BigInteger> ks) {
+    SpdzKnownScalars spdzKnownScalars = new SpdzKnownScalars(ks);
+    return protocolBuilder.append(spdzKnownScalars);
+  }
+
+  /**
+   * Authenticates this party's share of a secret key once and keeps it under the given handle, so
+   * later applications can use {@link #key(SpdzKeyHandle)} instead of {@link
+   * #knownScalar(BigInteger)}.
+   */
+  public DRes<SInt> authenticateKey(SpdzKeyHandle handle, BigInteger share) {
+    SpdzAuthenticateKeyProtocol spdzAuthenticateKeyProtocol =
+        new SpdzAuthenticateKeyProtocol(handle, share);
+    return protocolBuilder.append(spdzAuthenticateKeyProtocol);
+  }
+
+  /**
+   * Returns the authenticated key share kept under the given handle, without any interaction.
+   */
+  public DRes<SInt> key(SpdzKeyHandle handle) {
+    SpdzKeyShareProtocol spdzKeyShareProtocol = new SpdzKeyShareProtocol(handle);
+    return protocolBuilder.append(spdzKeyShareProtocol);
+  }
+
   public DRes<SECPoint> knownMultiply(ECPoint p, BigInteger k) {
     SpdzKnownMultECCProtocol spdzKnownMultECCProtocol = new SpdzKnownMultECCProtocol(p, k);
     return protocolBuilder.append(spdzKnownMultECCProtocol);
@@ -30,9 +59,20 @@ public class SpdzECCOps {
     return protocolBuilder.append(spdzMultECCProtocol);
   }
 
+  public DRes<SECPoint> innerProductWithPublicPart(List<BigInteger> k,
+      List<? extends DRes<SECPoint>> p) {
+    SpdzInnerProductECCProtocol spdzInnerProductECCProtocol = new SpdzInnerProductECCProtocol(k, p);
+    return protocolBuilder.append(spdzInnerProductECCProtocol);
+  }
+
   public DRes<ECPoint> open(DRes<SECPoint> secretshare) {
     SpdzOutputPointProtocol spdzOutputPointProtocol = new SpdzOutputPointProtocol(secretshare);
     return protocolBuilder.append(spdzOutputPointProtocol);
   }
 
+  public DRes<List<ECPoint>> openAll(List<? extends DRes<SECPoint>> secretshares) {
+    SpdzOutputPointsProtocol spdzOutputPointsProtocol = new SpdzOutputPointsProtocol(secretshares);
+    return protocolBuilder.append(spdzOutputPointsProtocol);
+  }
+
 }
@@ -25,8 +25,8 @@ public class SpdzECPoint implements SECPoint, Serializable {
 
   public static SpdzECPoint multiplyPoint(ECPoint p, BigInteger share, BigInteger mac) {
 
-    ECPoint ECshare = p.clone().multiplyPoint(share);
-    ECPoint ECmac = p.clone().multiplyPoint(mac);
+    ECPoint ECshare = FixedBaseMultiplication.multiply(p, share);
+    ECPoint ECmac = FixedBaseMultiplication.multiply(p, mac);
     return new SpdzECPoint(ECshare, ECmac);
   }
 
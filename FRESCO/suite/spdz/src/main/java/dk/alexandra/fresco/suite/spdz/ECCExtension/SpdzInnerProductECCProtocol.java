@@ -0,0 +1,58 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import dk.alexandra.fresco.suite.spdz.gates.SpdzNativeProtocol;
+import java.math.BigInteger;
+
+import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.framework.sce.evaluator.ParallelizableProtocol;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePool;
+import iaik.security.ec.math.curve.ECPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Spdz protocol computing the multi-scalar multiplication of public scalars and secret shared
+ * points. The shares and macs are combined locally, so no communication is needed.
+ *
+ * @author ******
+ */
+public class SpdzInnerProductECCProtocol extends SpdzNativeProtocol<SECPoint>
+    implements ParallelizableProtocol {
+
+  private List<BigInteger> left;
+  private List<? extends DRes<SECPoint>> right;
+  private SpdzECPoint out;
+
+  public SpdzInnerProductECCProtocol(List<BigInteger> k, List<? extends DRes<SECPoint>> p) {
+    if (k.size() != p.size()) {
+      throw new IllegalArgumentException("Number of scalars and points must match");
+    }
+    this.left = k;
+    this.right = p;
+  }
+
+  @Override
+  public EvaluationStatus evaluate(int round, SpdzResourcePool spdzResourcePool,
+      Network network) {
+
+    List<ECPoint> shares = new ArrayList<>(right.size());
+    List<ECPoint> macs = new ArrayList<>(right.size());
+    for (DRes<SECPoint> p : right) {
+      SpdzECPoint point = (SpdzECPoint) p.out();
+      shares.add(point.getShare());
+      macs.add(point.getMac());
+    }
+    ECPoint share = MultiScalarMultiplication.multiply(shares, left);
+    ECPoint mac = MultiScalarMultiplication.multiply(macs, left);
+    out = new SpdzECPoint(share, mac);
+
+    return EvaluationStatus.IS_DONE;
+  }
+
+  @Override
+  public SpdzECPoint out() {
+    return out;
+  }
+}
@@ -0,0 +1,55 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Refers to a secret key whose shares have been authenticated once, e.g. the trapdoor of an
+ * accumulator, so applications can use the authenticated key without inputting the shares again.
+ * The authenticated key is kept in the {@link SpdzKeyStore} of the resource pool under the name of
+ * the handle.
+ *
+ * @author ******
+ */
+public final class SpdzKeyHandle implements Serializable {
+
+  private static final long serialVersionUID = 3802163911582317206L;
+
+  private final String name;
+
+  /**
+   * Creates a handle for the key with the given name.
+   *
+   * @param name the name of the key, which must be the same for all parties
+   */
+  public SpdzKeyHandle(String name) {
+    this.name = Objects.requireNonNull(name);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    return name.equals(((SpdzKeyHandle) o).name);
+  }
+
+  @Override
+  public int hashCode() {
+    return name.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "SpdzKeyHandle{"
+        + "name='" + name + '\''
+        + '}';
+  }
+}
@@ -0,0 +1,37 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import dk.alexandra.fresco.suite.spdz.gates.SpdzNativeProtocol;
+
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePool;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePoolImpl;
+import dk.alexandra.fresco.framework.value.SInt;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+
+/**
+ * Looks up the authenticated share of a key in the {@link SpdzKeyStore} of the resource pool,
+ * without any interaction.
+ *
+ * @author ******
+ */
+public class SpdzKeyShareProtocol extends SpdzNativeProtocol<SInt> {
+
+  private final SpdzKeyHandle handle;
+  private SpdzSInt out;
+
+  public SpdzKeyShareProtocol(SpdzKeyHandle handle) {
+    this.handle = handle;
+  }
+
+  @Override
+  public EvaluationStatus evaluate(int round, SpdzResourcePool spdzResourcePool,
+      Network network) {
+    out = ((SpdzResourcePoolImpl) spdzResourcePool).getKeyStore().get(handle);
+    return EvaluationStatus.IS_DONE;
+  }
+
+  @Override
+  public SInt out() {
+    return out;
+  }
+}
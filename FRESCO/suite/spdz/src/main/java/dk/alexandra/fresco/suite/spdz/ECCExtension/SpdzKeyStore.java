@@ -0,0 +1,77 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import dk.alexandra.fresco.framework.sce.resources.storage.Storage;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the authenticated shares of secret keys for the lifetime of a resource pool, so a key only
+ * has to be authenticated once per session.
+ *
+ * <p>The authenticated shares can be persisted to a {@link Storage} and restored in a later
+ * session. The MAC of a restored share is only valid if the later session uses the same MAC key,
+ * e.g. when the pre-processed material is read from storage.</p>
+ *
+ * @author ******
+ */
+public class SpdzKeyStore {
+
+  private final Map<SpdzKeyHandle, SpdzSInt> keys = new ConcurrentHashMap<>();
+
+  /**
+   * Stores the authenticated share of a key, replacing any share stored for the same handle.
+   */
+  public void put(SpdzKeyHandle handle, SpdzSInt key) {
+    keys.put(handle, key);
+  }
+
+  /**
+   * Returns the authenticated share of a key.
+   *
+   * @param handle the handle of the key
+   * @return the authenticated share
+   * @throws IllegalStateException if the key has not been authenticated
+   */
+  public SpdzSInt get(SpdzKeyHandle handle) {
+    SpdzSInt key = keys.get(handle);
+    if (key == null) {
+      throw new IllegalStateException("The key " + handle.getName()
+          + " has not been authenticated");
+    }
+    return key;
+  }
+
+  public boolean contains(SpdzKeyHandle handle) {
+    return keys.containsKey(handle);
+  }
+
+  /**
+   * Writes the authenticated share of a key to a storage, using the name of the handle as key.
+   *
+   * @param handle the handle of the key
+   * @param storage the storage to write to
+   * @param storageName the name of the storage
+   * @return true if the share was written
+   */
+  public boolean persist(SpdzKeyHandle handle, Storage storage, String storageName) {
+    return storage.putObject(storageName, handle.getName(), get(handle));
+  }
+
+  /**
+   * Reads the authenticated share of a key from a storage, if present.
+   *
+   * @param handle the handle of the key
+   * @param storage the storage to read from
+   * @param storageName the name of the storage
+   * @return true if the share was present in the storage
+   */
+  public boolean restore(SpdzKeyHandle handle, Storage storage, String storageName) {
+    SpdzSInt key = storage.getObject(storageName, handle.getName());
+    if (key == null) {
+      return false;
+    }
+    keys.put(handle, key);
+    return true;
+  }
+}
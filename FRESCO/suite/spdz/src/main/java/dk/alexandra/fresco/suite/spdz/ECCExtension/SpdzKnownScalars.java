@@ -0,0 +1,62 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import dk.alexandra.fresco.suite.spdz.gates.SpdzNativeProtocol;
+import java.math.BigInteger;
+
+import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePool;
+import dk.alexandra.fresco.framework.value.SInt;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import dk.alexandra.fresco.suite.spdz.storage.SpdzDataSupplier;
+import dk.alexandra.fresco.suite.spdz.storage.SpdzMascotDataSupplier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batched version of {@link SpdzKnownScalar}, which authenticates all the shares with a single
+ * MASCOT input per party.
+ *
+ * @author ******
+ */
+public class SpdzKnownScalars extends SpdzNativeProtocol<List<DRes<SInt>>> {
+
+  private List<BigInteger> ks;
+  private List<DRes<SInt>> out;
+
+  public SpdzKnownScalars(List<BigInteger> ks) {
+    this.ks = ks;
+  }
+
+  @Override
+  public EvaluationStatus evaluate(int round, SpdzResourcePool spdzResourcePool,
+      Network network) {
+
+    FieldDefinition fd = spdzResourcePool.getFieldDefinition();
+    List<FieldElement> values = new ArrayList<>(ks.size());
+    for (BigInteger k : ks) {
+      values.add(fd.createElement(k));
+    }
+
+    out = new ArrayList<>(ks.size());
+    SpdzDataSupplier dataSupplier = spdzResourcePool.getDataSupplier();
+    if (!(dataSupplier instanceof SpdzMascotDataSupplier)) {
+      FieldElement globalKeyShare = dataSupplier.getSecretSharedKey();
+      for (FieldElement value : values) {
+        out.add(new SpdzSInt(value, value.multiply(globalKeyShare)));
+      }
+      return EvaluationStatus.IS_DONE;
+    }
+
+    out.addAll(((SpdzMascotDataSupplier) dataSupplier).shareKnownElements(values));
+
+    return EvaluationStatus.IS_DONE;
+  }
+
+  @Override
+  public List<DRes<SInt>> out() {
+    return out;
+  }
+}
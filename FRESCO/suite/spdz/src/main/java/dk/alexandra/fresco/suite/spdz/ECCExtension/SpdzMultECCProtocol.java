@@ -4,6 +4,7 @@ import java.math.BigInteger;
 
 import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
 import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.framework.sce.evaluator.ParallelizableProtocol;
 import dk.alexandra.fresco.suite.spdz.SpdzResourcePool;
 import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
 import iaik.security.ec.math.curve.ECPoint;
@@ -15,7 +16,8 @@ import dk.alexandra.fresco.framework.DRes;
  *
  * @author ******
  */
-public class SpdzMultECCProtocol extends SpdzNativeProtocol<SECPoint> {
+public class SpdzMultECCProtocol extends SpdzNativeProtocol<SECPoint>
+    implements ParallelizableProtocol {
 
   private ECPoint left;
   private DRes<SInt> right;
@@ -0,0 +1,105 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import dk.alexandra.fresco.suite.spdz.gates.SpdzNativeProtocol;
+
+import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.MaliciousException;
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePool;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePoolImpl;
+import iaik.security.ec.math.curve.ECPoint;
+import iaik.security.ec.math.curve.EllipticCurve;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A Spdz protocol opening a list of points at once.
+ *
+ * <p>Every party sends all its shares in a single message, where each encoded point is preceded by
+ * its length in two bytes. The received points are decoded and summed in parallel.</p>
+ *
+ * @author ******
+ */
+public class SpdzOutputPointsProtocol extends SpdzNativeProtocol<List<ECPoint>> {
+
+  private final List<? extends DRes<SECPoint>> in;
+  private List<SpdzECPoint> shares;
+  private List<ECPoint> out;
+
+  public SpdzOutputPointsProtocol(List<? extends DRes<SECPoint>> in) {
+    this.in = in;
+  }
+
+  @Override
+  public EvaluationStatus evaluate(int round, SpdzResourcePool spdzResourcePool,
+      Network network) {
+    if (round == 0) {
+      shares = in.stream().map(p -> (SpdzECPoint) p.out()).collect(Collectors.toList());
+      ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+      for (SpdzECPoint share : shares) {
+        byte[] encoded = share.serializeShare();
+        buffer.write(encoded.length >>> 8);
+        buffer.write(encoded.length);
+        buffer.write(encoded, 0, encoded.length);
+      }
+      network.sendToAll(buffer.toByteArray());
+      return EvaluationStatus.HAS_MORE_ROUNDS;
+    } else {
+      List<byte[]> received = network.receiveFromAll();
+      List<List<byte[]>> split = new ArrayList<>(received.size());
+      for (byte[] message : received) {
+        split.add(split(message, shares.size()));
+      }
+      this.out = IntStream.range(0, shares.size()).parallel()
+          .mapToObj(i -> open(shares.get(i).getCurve(), split, i))
+          .collect(Collectors.toList());
+      ((SpdzResourcePoolImpl) spdzResourcePool).getOpenedECCValueStore()
+          .pushOpenedValues(shares, out);
+      return EvaluationStatus.IS_DONE;
+    }
+  }
+
+  private static List<byte[]> split(byte[] message, int count) {
+    List<byte[]> points = new ArrayList<>(count);
+    int offset = 0;
+    try {
+      for (int i = 0; i < count; i++) {
+        int length = ((message[offset] & 0xFF) << 8) | (message[offset + 1] & 0xFF);
+        offset += 2;
+        if (offset + length > message.length) {
+          throw new MaliciousException("Decoding error! Aborting!");
+        }
+        points.add(Arrays.copyOfRange(message, offset, offset + length));
+        offset += length;
+      }
+    } catch (ArrayIndexOutOfBoundsException e) {
+      throw new MaliciousException("Decoding error! Aborting!");
+    }
+    if (offset != message.length) {
+      throw new MaliciousException("Decoding error! Aborting!");
+    }
+    return points;
+  }
+
+  private static ECPoint open(EllipticCurve curve, List<List<byte[]>> split, int index) {
+    try {
+      ECPoint openedVal = curve.decodePoint(split.get(0).get(index));
+      for (int i = 1; i < split.size(); i++) {
+        openedVal = openedVal.addPoint(curve.decodePoint(split.get(i).get(index)));
+      }
+      return openedVal;
+    } catch (Exception e) {
+      throw new MaliciousException("Decoding error! Aborting!");
+    }
+  }
+
+  @Override
+  public List<ECPoint> out() {
+    return out;
+  }
+}
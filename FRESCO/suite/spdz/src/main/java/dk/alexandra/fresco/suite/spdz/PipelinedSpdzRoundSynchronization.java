@@ -0,0 +1,153 @@
+package dk.alexandra.fresco.suite.spdz;
+
+import dk.alexandra.fresco.framework.ProtocolCollection;
+import dk.alexandra.fresco.framework.builder.numeric.BuilderFactoryNumeric;
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.suite.ProtocolSuite.DummyRoundSynchronization;
+import dk.alexandra.fresco.suite.ProtocolSuiteNumeric;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCMacCheckProtocol;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzOutputPointProtocol;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzOutputPointsProtocol;
+import dk.alexandra.fresco.suite.spdz.gates.SpdzOutputProtocol;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.StreamSupport;
+
+/**
+ * A round synchronization for spdz which runs the MAC checks in the background.
+ *
+ * <p>When a MAC check is due, the opened values are taken from the stores and checked on a
+ * separate thread using a dedicated network, while the evaluation continues with the next batches.
+ * The checks are done in the order they were started. Before a batch containing an output protocol
+ * is evaluated, and when the evaluation finishes, all checks of values opened so far are waited
+ * for, so no output is released before the values it depends on have been checked.</p>
+ *
+ * <p>The values to check are chosen only from the sequence of batches, which is the same for all
+ * parties, so all parties check the same values in the same order.</p>
+ */
+public class PipelinedSpdzRoundSynchronization extends SpdzRoundSynchronization {
+
+  private static final int DEFAULT_VALUE_THRESHOLD = 10000;
+  private static final int DEFAULT_BATCH_SIZE = 128;
+  private final Network macCheckNetwork;
+  private final ProtocolSuiteNumeric<SpdzResourcePool> macCheckSuite;
+  private final List<Future<?>> pendingChecks;
+  private ExecutorService executor;
+
+  /**
+   * Creates new {@link PipelinedSpdzRoundSynchronization}.
+   *
+   * @param spdzProtocolSuite the spdz protocol suite which we will use for the mac-check
+   * computation
+   * @param macCheckNetwork network used only for the mac-checks, connecting the same parties as
+   * the network used for the evaluation
+   * @param openValueThreshold number of open values we accumulate before starting a mac-check
+   * in the background
+   * @param batchSize batch size for mac-check protocol
+   */
+  public PipelinedSpdzRoundSynchronization(SpdzProtocolSuite spdzProtocolSuite,
+      Network macCheckNetwork, int openValueThreshold, int batchSize) {
+    super(spdzProtocolSuite, openValueThreshold, batchSize);
+    this.macCheckNetwork = macCheckNetwork;
+    this.macCheckSuite = new MacCheckProtocolSuite(spdzProtocolSuite);
+    this.pendingChecks = new ArrayList<>();
+  }
+
+  public PipelinedSpdzRoundSynchronization(SpdzProtocolSuite spdzProtocolSuite,
+      Network macCheckNetwork) {
+    this(spdzProtocolSuite, macCheckNetwork, DEFAULT_VALUE_THRESHOLD, DEFAULT_BATCH_SIZE);
+  }
+
+  @Override
+  protected void doMacCheck(SpdzResourcePool resourcePool, Network network) {
+    // the values are taken from the stores here, so the evaluation can keep opening new values
+    SpdzECCMacCheckProtocol macCheck = createMacCheck(resourcePool);
+    if (executor == null) {
+      executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "spdz-mac-check");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    pendingChecks.add(executor.submit(
+        () -> evaluateMacCheck(macCheck, macCheckSuite, resourcePool, macCheckNetwork)));
+  }
+
+  @Override
+  public void beforeBatch(ProtocolCollection<SpdzResourcePool> protocols,
+      SpdzResourcePool resourcePool, Network network) {
+    super.beforeBatch(protocols, resourcePool, network);
+    boolean releasesOutput = StreamSupport.stream(protocols.spliterator(), false)
+        .anyMatch(p -> p instanceof SpdzOutputProtocol
+            || p instanceof SpdzOutputPointProtocol
+            || p instanceof SpdzOutputPointsProtocol);
+    if (releasesOutput) {
+      if (resourcePool.getOpenedValueStore().hasPendingValues()
+          || ((SpdzResourcePoolImpl) resourcePool).getOpenedECCValueStore().hasPendingValues()) {
+        doMacCheck(resourcePool, network);
+      }
+      awaitMacChecks();
+    }
+  }
+
+  @Override
+  public void finishedEval(SpdzResourcePool resourcePool, Network network) {
+    try {
+      super.finishedEval(resourcePool, network);
+      awaitMacChecks();
+    } finally {
+      if (executor != null) {
+        executor.shutdownNow();
+        executor = null;
+      }
+    }
+  }
+
+  /**
+   * Waits for all started mac checks, rethrowing the failure of any of them.
+   */
+  private void awaitMacChecks() {
+    try {
+      for (Future<?> check : pendingChecks) {
+        check.get();
+      }
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new RuntimeException("Mac check failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while waiting for mac check", e);
+    } finally {
+      pendingChecks.clear();
+    }
+  }
+
+  /**
+   * Evaluates the mac checks without doing mac checks of its own, since the stores belong to the
+   * main evaluation.
+   */
+  private static class MacCheckProtocolSuite implements ProtocolSuiteNumeric<SpdzResourcePool> {
+
+    private final SpdzProtocolSuite spdzProtocolSuite;
+
+    MacCheckProtocolSuite(SpdzProtocolSuite spdzProtocolSuite) {
+      this.spdzProtocolSuite = spdzProtocolSuite;
+    }
+
+    @Override
+    public BuilderFactoryNumeric init(SpdzResourcePool resourcePool) {
+      return spdzProtocolSuite.init(resourcePool);
+    }
+
+    @Override
+    public RoundSynchronization<SpdzResourcePool> createRoundSynchronization() {
+      return new DummyRoundSynchronization<>();
+    }
+  }
+}
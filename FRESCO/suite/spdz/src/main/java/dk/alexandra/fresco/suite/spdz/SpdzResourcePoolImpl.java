@@ -10,6 +10,7 @@ import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
 import dk.alexandra.fresco.suite.spdz.storage.SpdzDataSupplier;
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzOpenedValueECCStoreImpl;
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECPoint;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzKeyStore;
 import java.security.MessageDigest;
 import java.util.function.Function;
 import iaik.security.ec.math.curve.ECPoint;
@@ -21,6 +22,7 @@ public class SpdzResourcePoolImpl extends ResourcePoolImpl implements SpdzResour
   private final MessageDigest messageDigest;
   private final OpenedValueStore<SpdzSInt, FieldElement> openedValueStore;
   private final OpenedValueStore<SpdzECPoint, ECPoint> openedECCValueStore;
+  private final SpdzKeyStore keyStore;
   private final SpdzDataSupplier dataSupplier;
   private final Function<byte[], Drbg> drbgSupplier;
   private final int drbgSeedBitLength;
@@ -42,7 +44,8 @@ public class SpdzResourcePoolImpl extends ResourcePoolImpl implements SpdzResour
     super(myId, noOfPlayers);
     this.dataSupplier = dataSupplier;
     this.openedValueStore = openedValueStore;
-    this.openedECCValueStore = null;
+    this.openedECCValueStore = new SpdzOpenedValueECCStoreImpl();
+    this.keyStore = new SpdzKeyStore();
     this.messageDigest = ExceptionConverter.safe(
         () -> MessageDigest.getInstance("SHA-256"),
         "Configuration error, SHA-256 is needed for Spdz");
@@ -68,6 +71,7 @@ public class SpdzResourcePoolImpl extends ResourcePoolImpl implements SpdzResour
     this.dataSupplier = dataSupplier;
     this.openedValueStore = openedValueStore;
     this.openedECCValueStore = openedECCValueStore;
+    this.keyStore = new SpdzKeyStore();
     this.messageDigest = ExceptionConverter.safe(
         () -> MessageDigest.getInstance("SHA-256"),
         "Configuration error, SHA-256 is needed for Spdz");
@@ -89,6 +93,13 @@ public class SpdzResourcePoolImpl extends ResourcePoolImpl implements SpdzResour
     return openedECCValueStore;
   }
 
+  /**
+   * Returns the store of authenticated key shares, which lives as long as this resource pool.
+   */
+  public SpdzKeyStore getKeyStore() {
+    return keyStore;
+  }
+
   @Override
   public SpdzDataSupplier getDataSupplier() {
     return dataSupplier;
@@ -9,6 +9,7 @@ import dk.alexandra.fresco.framework.sce.evaluator.BatchedProtocolEvaluator;
 import dk.alexandra.fresco.framework.sce.evaluator.BatchedStrategy;
 import dk.alexandra.fresco.framework.util.OpenedValueStore;
 import dk.alexandra.fresco.suite.ProtocolSuite.RoundSynchronization;
+import dk.alexandra.fresco.suite.ProtocolSuiteNumeric;
 import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
 import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCMacCheckProtocol;
 import dk.alexandra.fresco.suite.spdz.gates.SpdzOutputProtocol;
@@ -54,22 +55,37 @@ public class SpdzRoundSynchronization implements RoundSynchronization<SpdzResour
   }
 
   protected void doMacCheck(SpdzResourcePool resourcePool, Network network) {
-    SpdzBuilder spdzBuilder = new SpdzBuilder(
-        spdzProtocolSuite.createNumericContext(resourcePool),
-        spdzProtocolSuite.createRealNumericContext());
-    BatchEvaluationStrategy<SpdzResourcePool> batchStrategy = new BatchedStrategy<>();
-    BatchedProtocolEvaluator<SpdzResourcePool> evaluator =
-        new BatchedProtocolEvaluator<>(batchStrategy, spdzProtocolSuite, batchSize);
+    evaluateMacCheck(createMacCheck(resourcePool), spdzProtocolSuite, resourcePool, network);
+  }
+
+  /**
+   * Creates a mac check of all values opened so far and removes them from the stores.
+   */
+  SpdzECCMacCheckProtocol createMacCheck(SpdzResourcePool resourcePool) {
     OpenedValueStore<SpdzSInt, FieldElement> store = resourcePool.getOpenedValueStore();
     OpenedValueStore<SpdzECPoint, ECPoint> ECCstore = ((SpdzResourcePoolImpl)resourcePool).getOpenedECCValueStore();
     // switched to SpdzECCMacCheck
-    SpdzECCMacCheckProtocol macCheck = new SpdzECCMacCheckProtocol(
+    return new SpdzECCMacCheckProtocol(
         store.popValues(),
         ECCstore.popValues(),
         resourcePool.getModulus(),
         resourcePool::createRandomGenerator,
         resourcePool.getDataSupplier().getSecretSharedKey(),
         resourcePool.getDrbgSeedBitLength());
+  }
+
+  /**
+   * Evaluates a mac check using the given protocol suite for the evaluation.
+   */
+  void evaluateMacCheck(SpdzECCMacCheckProtocol macCheck,
+      ProtocolSuiteNumeric<SpdzResourcePool> protocolSuite, SpdzResourcePool resourcePool,
+      Network network) {
+    SpdzBuilder spdzBuilder = new SpdzBuilder(
+        spdzProtocolSuite.createNumericContext(resourcePool),
+        spdzProtocolSuite.createRealNumericContext());
+    BatchEvaluationStrategy<SpdzResourcePool> batchStrategy = new BatchedStrategy<>();
+    BatchedProtocolEvaluator<SpdzResourcePool> evaluator =
+        new BatchedProtocolEvaluator<>(batchStrategy, protocolSuite, batchSize);
     ProtocolBuilderNumeric sequential = spdzBuilder.createSequential();
     macCheck.buildComputation(sequential);
     evaluator.eval(sequential.build(), resourcePool, network);
@@ -0,0 +1,300 @@
+package dk.alexandra.fresco.suite.spdz.storage;
+
+import dk.alexandra.fresco.framework.builder.numeric.field.BigIntegerFieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzInputMask;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzTriple;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Data supplier which reads the pre-processed material MP-SPDZ stores for a prime field, e.g. in
+ * Player-Data/2-128-40/, so material produced by the MP-SPDZ offline phase can be used by the
+ * SPDZ protocol suite.
+ *
+ * <p>The directory must contain the Params-Data file holding the prime, the
+ * Player-MAC-Keys-p-P[n] file holding the MAC key share and the Triples-p-P[n], Squares-p-P[n],
+ * Bits-p-P[n] and Inputs-p-P[n]-[m] files, where n and m are the zero-based MP-SPDZ player
+ * numbers, i.e. one less than the FRESCO party ids. The shares in these files are stored as raw
+ * little-endian limbs in Montgomery representation, as written by MP-SPDZ's gfp class. Random
+ * elements are taken from the squares, since MP-SPDZ does not store random elements on their
+ * own. MP-SPDZ does not produce exponentiation pipes.</p>
+ *
+ * <p>The files are read in chunks of many shares, so the material is streamed from disk rather
+ * than loaded into memory.</p>
+ */
+public class MpSpdzDataSupplier implements SpdzDataSupplier, Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(MpSpdzDataSupplier.class);
+  public static final String PARAMS_FILE = "Params-Data";
+  public static final String MAC_KEY_FILE_PREFIX = "Player-MAC-Keys-p-P";
+  private static final int CHUNK_SIZE = 1 << 20;
+
+  private final String directory;
+  private final int myId;
+  private final int noOfParties;
+  private final String threadSuffix;
+  private final FieldDefinition definition;
+  private final BigInteger modulus;
+  private final BigInteger montgomeryInverse;
+  private final int elementWidth;
+  private final Map<String, ShareReader> readers;
+  private FieldElement ssk;
+
+  /**
+   * Creates a new supplier reading the material of a party from an MP-SPDZ preprocessing
+   * directory. Each field element is assumed to use as many 64-bit limbs as the prime, which is
+   * the case when MP-SPDZ is compiled with the smallest possible GFP_MOD_SZ.
+   *
+   * @param directory the MP-SPDZ preprocessing directory
+   * @param myId the FRESCO id of this party
+   * @param noOfParties the number of parties in the computation
+   */
+  public MpSpdzDataSupplier(String directory, int myId, int noOfParties) {
+    this(directory, myId, noOfParties, -1, 0);
+  }
+
+  /**
+   * Creates a new supplier reading the material of a party from an MP-SPDZ preprocessing
+   * directory.
+   *
+   * @param directory the MP-SPDZ preprocessing directory
+   * @param myId the FRESCO id of this party
+   * @param noOfParties the number of parties in the computation
+   * @param threadNumber the MP-SPDZ thread whose files to read, i.e. the files ending with
+   *     -T[threadNumber], or -1 to read files without a thread suffix
+   * @param limbsPerElement the number of 64-bit limbs per field element, i.e. the GFP_MOD_SZ
+   *     MP-SPDZ was compiled with, or 0 to use as many as the prime needs
+   */
+  public MpSpdzDataSupplier(String directory, int myId, int noOfParties, int threadNumber,
+      int limbsPerElement) {
+    this.directory = directory.endsWith(File.separator) ? directory : directory + File.separator;
+    this.myId = myId;
+    this.noOfParties = noOfParties;
+    this.threadSuffix = threadNumber >= 0 ? "-T" + threadNumber : "";
+    this.modulus = readModulus();
+    this.definition = new BigIntegerFieldDefinition(modulus);
+    int primeLimbs = (modulus.bitLength() + Long.SIZE - 1) / Long.SIZE;
+    if (limbsPerElement != 0 && limbsPerElement < primeLimbs) {
+      throw new IllegalArgumentException("A prime of " + modulus.bitLength()
+          + " bits does not fit in " + limbsPerElement + " limbs");
+    }
+    this.elementWidth = (limbsPerElement == 0 ? primeLimbs : limbsPerElement) * Long.BYTES;
+    // MP-SPDZ's Montgomery representation of x is x * 2^(64 * limbs of the prime) mod p
+    this.montgomeryInverse =
+        BigInteger.ONE.shiftLeft(Long.SIZE * primeLimbs).modInverse(modulus);
+    this.readers = new HashMap<>();
+  }
+
+  @Override
+  public SpdzTriple getNextTriple() {
+    ShareReader reader = getReader("Triples-p-P" + (myId - 1), 6);
+    ByteBuffer record = nextRecord(reader, "Triple");
+    return new SpdzTriple(getSInt(reader, record), getSInt(reader, record),
+        getSInt(reader, record));
+  }
+
+  @Override
+  public SpdzSInt[] getNextExpPipe() {
+    throw new UnsupportedOperationException("MP-SPDZ does not produce exponentiation pipes");
+  }
+
+  @Override
+  public SpdzInputMask getNextInputMask(int towardPlayerId) {
+    boolean mine = towardPlayerId == myId;
+    ShareReader reader = getReader("Inputs-p-P" + (myId - 1) + "-" + (towardPlayerId - 1),
+        mine ? 3 : 2);
+    ByteBuffer record = nextRecord(reader, "Mask towards player " + towardPlayerId);
+    SpdzSInt mask = getSInt(reader, record);
+    if (mine) {
+      return new SpdzInputMask(mask, getElement(reader, record));
+    } else {
+      return new SpdzInputMask(mask);
+    }
+  }
+
+  @Override
+  public SpdzSInt getNextBit() {
+    ShareReader reader = getReader("Bits-p-P" + (myId - 1), 2);
+    return getSInt(reader, nextRecord(reader, "Bit"));
+  }
+
+  @Override
+  public SpdzSInt getNextRandomFieldElement() {
+    ShareReader reader = getReader("Squares-p-P" + (myId - 1), 4);
+    ByteBuffer record = nextRecord(reader, "Square");
+    SpdzSInt element = getSInt(reader, record);
+    // skip the square
+    record.position(record.position() + 2 * elementWidth);
+    return element;
+  }
+
+  @Override
+  public FieldDefinition getFieldDefinition() {
+    return definition;
+  }
+
+  @Override
+  public FieldElement getSecretSharedKey() {
+    if (ssk == null) {
+      ssk = readMacKey();
+    }
+    return ssk;
+  }
+
+  /**
+   * Closes all files read from.
+   */
+  @Override
+  public void close() {
+    for (ShareReader reader : readers.values()) {
+      reader.close();
+    }
+    readers.clear();
+  }
+
+  private BigInteger readModulus() {
+    String name = directory + PARAMS_FILE;
+    try {
+      String[] lines = new String(Files.readAllBytes(Paths.get(name)),
+          StandardCharsets.US_ASCII).trim().split("\\s+");
+      return new BigInteger(lines[0]);
+    } catch (NoSuchFileException e) {
+      throw new IllegalArgumentException("Modulus was not present in the storage " + name, e);
+    } catch (IOException e) {
+      throw new RuntimeException("IOException accessing store name: " + name, e);
+    }
+  }
+
+  private FieldElement readMacKey() {
+    String name = directory + MAC_KEY_FILE_PREFIX + (myId - 1);
+    String[] tokens;
+    try {
+      tokens = new String(Files.readAllBytes(Paths.get(name)),
+          StandardCharsets.US_ASCII).trim().split("\\s+");
+    } catch (NoSuchFileException e) {
+      throw new IllegalArgumentException("SSK was not present in the storage " + name, e);
+    } catch (IOException e) {
+      throw new RuntimeException("IOException accessing store name: " + name, e);
+    }
+    if (Integer.parseInt(tokens[0]) != noOfParties) {
+      throw new IllegalArgumentException("The MAC keys in " + name + " are for " + tokens[0]
+          + " parties, but the computation has " + noOfParties);
+    }
+    // the key share is written in signed decimal
+    return definition.createElement(new BigInteger(tokens[1]).mod(modulus));
+  }
+
+  private ShareReader getReader(String fileName, int elementsPerRecord) {
+    ShareReader reader = readers.get(fileName);
+    if (reader == null) {
+      String name = directory + fileName + threadSuffix;
+      try {
+        reader = new ShareReader(name, elementWidth * elementsPerRecord);
+      } catch (NoSuchFileException e) {
+        throw new IllegalArgumentException(
+            "The file " + name + " was not present in the storage", e);
+      } catch (IOException e) {
+        throw new RuntimeException("IOException accessing store name: " + name, e);
+      }
+      readers.put(fileName, reader);
+    }
+    return reader;
+  }
+
+  private ByteBuffer nextRecord(ShareReader reader, String kind) {
+    ByteBuffer record = reader.nextRecord();
+    if (record == null) {
+      logger.error(kind + " no. " + reader.counter + " was not present in the storage: "
+          + reader.name);
+      throw new IllegalArgumentException(
+          kind + " no. " + reader.counter + " was not present in the storage: " + reader.name);
+    }
+    reader.counter++;
+    return record;
+  }
+
+  private SpdzSInt getSInt(ShareReader reader, ByteBuffer record) {
+    return new SpdzSInt(getElement(reader, record), getElement(reader, record));
+  }
+
+  private FieldElement getElement(ShareReader reader, ByteBuffer record) {
+    byte[] scratch = reader.scratch;
+    for (int i = scratch.length - 1; i >= 0; i--) {
+      scratch[i] = record.get();
+    }
+    return definition.createElement(
+        new BigInteger(1, scratch).multiply(montgomeryInverse).mod(modulus));
+  }
+
+  /**
+   * Reads fixed size records of a file in chunks.
+   */
+  private class ShareReader {
+
+    private final String name;
+    private final FileChannel channel;
+    private final int recordSize;
+    private final ByteBuffer buffer;
+    private final byte[] scratch;
+    private int counter;
+
+    ShareReader(String name, int recordSize) throws IOException {
+      this.name = name;
+      this.channel = FileChannel.open(Paths.get(name), StandardOpenOption.READ);
+      this.recordSize = recordSize;
+      this.buffer = ByteBuffer.allocateDirect(Math.max(1, CHUNK_SIZE / recordSize) * recordSize)
+          .order(ByteOrder.LITTLE_ENDIAN);
+      this.buffer.limit(0);
+      this.scratch = new byte[elementWidth];
+    }
+
+    /**
+     * Returns a buffer positioned at the next record, or null if there are no more records.
+     */
+    ByteBuffer nextRecord() {
+      if (buffer.remaining() < recordSize) {
+        buffer.compact();
+        try {
+          while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading until the chunk is full or the file ends
+          }
+        } catch (IOException e) {
+          throw new RuntimeException("IOException reading from store name " + name, e);
+        }
+        buffer.flip();
+        if (buffer.remaining() < recordSize) {
+          if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException(name + " ends with an incomplete record");
+          }
+          return null;
+        }
+      }
+      return buffer;
+    }
+
+    void close() {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // Do nothing - nothing can be done
+      }
+    }
+  }
+}
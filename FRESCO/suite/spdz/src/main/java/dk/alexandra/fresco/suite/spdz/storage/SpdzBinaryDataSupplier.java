@@ -0,0 +1,297 @@
+package dk.alexandra.fresco.suite.spdz.storage;
+
+import dk.alexandra.fresco.framework.builder.numeric.field.BigIntegerFieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzInputMask;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzTriple;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Data supplier which reads pre-processed material written by {@link SpdzBinaryDataWriter}.
+ *
+ * <p>Compared to {@link SpdzStorageDataSupplier}, which reads serialized Java objects, the records
+ * have a fixed size and are read directly from memory mapped windows of the files. When a window
+ * is taken into use, the next window is mapped and loaded into memory on a separate thread, so
+ * reading through the material sequentially rarely waits for the disk.</p>
+ */
+public class SpdzBinaryDataSupplier implements SpdzDataSupplier, Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(SpdzBinaryDataSupplier.class);
+  public static final String RANDOM_STORAGE = "RANDOM";
+  public static final String FILE_EXTENSION = ".bin";
+  private static final int DEFAULT_WINDOW_SIZE = 1 << 24;
+
+  private final String storageName;
+  private final int windowSize;
+  private final Map<String, RecordReader> readers;
+  private int tripleCounter = 0;
+  private int randomElementCounter = 0;
+  private int expPipeCounter = 0;
+  private final int[] inputMaskCounters;
+  private int bitCounter = 0;
+  private FieldElement ssk;
+  private FieldDefinition definition;
+
+  /**
+   * Creates a new supplier reading the files of the given storage.
+   *
+   * @param storageName prefix of the names of the files, as given to the writer
+   * @param noOfParties the number of parties in the computation
+   */
+  public SpdzBinaryDataSupplier(String storageName, int noOfParties) {
+    this(storageName, noOfParties, DEFAULT_WINDOW_SIZE);
+  }
+
+  SpdzBinaryDataSupplier(String storageName, int noOfParties, int windowSize) {
+    this.storageName = storageName;
+    this.windowSize = windowSize;
+    this.readers = new HashMap<>();
+    this.inputMaskCounters = new int[noOfParties];
+  }
+
+  @Override
+  public SpdzTriple getNextTriple() {
+    ByteBuffer record = nextRecord(SpdzStorageDataSupplier.TRIPLE_STORAGE, "Triple",
+        tripleCounter++);
+    RecordReader reader = readers.get(SpdzStorageDataSupplier.TRIPLE_STORAGE);
+    return new SpdzTriple(reader.getSInt(record), reader.getSInt(record),
+        reader.getSInt(record));
+  }
+
+  @Override
+  public SpdzSInt[] getNextExpPipe() {
+    ByteBuffer record = nextRecord(SpdzStorageDataSupplier.EXP_PIPE_STORAGE, "expPipe",
+        expPipeCounter++);
+    RecordReader reader = readers.get(SpdzStorageDataSupplier.EXP_PIPE_STORAGE);
+    SpdzSInt[] expPipe = new SpdzSInt[reader.elementsPerRecord / 2];
+    for (int i = 0; i < expPipe.length; i++) {
+      expPipe[i] = reader.getSInt(record);
+    }
+    return expPipe;
+  }
+
+  @Override
+  public SpdzInputMask getNextInputMask(int towardPlayerId) {
+    String suffix = SpdzStorageDataSupplier.INPUT_STORAGE + towardPlayerId;
+    ByteBuffer record = nextRecord(suffix, "Mask towards player " + towardPlayerId,
+        inputMaskCounters[towardPlayerId - 1]++);
+    RecordReader reader = readers.get(suffix);
+    SpdzSInt mask = reader.getSInt(record);
+    if (reader.elementsPerRecord == 3) {
+      return new SpdzInputMask(mask, reader.getElement(record));
+    } else {
+      return new SpdzInputMask(mask);
+    }
+  }
+
+  @Override
+  public SpdzSInt getNextBit() {
+    ByteBuffer record = nextRecord(SpdzStorageDataSupplier.BIT_STORAGE, "Bit", bitCounter++);
+    return readers.get(SpdzStorageDataSupplier.BIT_STORAGE).getSInt(record);
+  }
+
+  @Override
+  public SpdzSInt getNextRandomFieldElement() {
+    ByteBuffer record = nextRecord(RANDOM_STORAGE, "Random element", randomElementCounter++);
+    return readers.get(RANDOM_STORAGE).getSInt(record);
+  }
+
+  @Override
+  public FieldDefinition getFieldDefinition() {
+    if (definition == null) {
+      readSecretSharedKey();
+    }
+    return definition;
+  }
+
+  @Override
+  public FieldElement getSecretSharedKey() {
+    if (ssk == null) {
+      readSecretSharedKey();
+    }
+    return ssk;
+  }
+
+  /**
+   * Closes all files read from.
+   */
+  @Override
+  public void close() {
+    for (RecordReader reader : readers.values()) {
+      reader.close();
+    }
+    readers.clear();
+  }
+
+  private void readSecretSharedKey() {
+    RecordReader reader = getReader(SpdzStorageDataSupplier.SSK_KEY, null);
+    ByteBuffer record = reader.nextRecord();
+    if (record == null) {
+      throw new IllegalArgumentException("SSK was not present in the storage "
+          + reader.name);
+    }
+    this.definition = new BigIntegerFieldDefinition(reader.modulus);
+    this.ssk = definition.createElement(
+        SpdzBinaryFormat.getElement(record, new byte[reader.elementWidth]));
+  }
+
+  private ByteBuffer nextRecord(String suffix, String kind, int counter) {
+    RecordReader reader = getReader(suffix, kind + " no. " + counter);
+    ByteBuffer record = reader.nextRecord();
+    if (record == null) {
+      logger.error(kind + " no. " + counter + " was not present in the storage: " + reader.name);
+      throw new IllegalArgumentException(
+          kind + " no. " + counter + " was not present in the storage: " + reader.name);
+    }
+    return record;
+  }
+
+  private RecordReader getReader(String suffix, String description) {
+    RecordReader reader = readers.get(suffix);
+    if (reader == null) {
+      String name = storageName + suffix + FILE_EXTENSION;
+      BigInteger modulus = suffix.equals(SpdzStorageDataSupplier.SSK_KEY)
+          ? null
+          : getFieldDefinition().getModulus();
+      try {
+        reader = new RecordReader(name, modulus, windowSize);
+      } catch (NoSuchFileException e) {
+        throw new IllegalArgumentException((description == null ? "SSK" : description)
+            + " was not present in the storage: " + name, e);
+      } catch (IOException e) {
+        throw new RuntimeException("IOException accessing store name: " + name, e);
+      }
+      readers.put(suffix, reader);
+    }
+    return reader;
+  }
+
+  /**
+   * Reads the records of a single file through memory mapped windows.
+   */
+  private class RecordReader {
+
+    private final String name;
+    private final FileChannel channel;
+    private final int elementWidth;
+    private final int elementsPerRecord;
+    private final BigInteger modulus;
+    private final long windowLength;
+    private final long size;
+    private final byte[] scratch;
+    private long nextOffset;
+    private ByteBuffer current;
+    private MappedByteBuffer prefetched;
+
+    /**
+     * Opens a file and checks its header.
+     *
+     * @param name the name of the file
+     * @param expectedModulus the modulus the file must use, or null to accept any modulus
+     * @param windowSize the approximate number of bytes to map at a time
+     */
+    RecordReader(String name, BigInteger expectedModulus, int windowSize) throws IOException {
+      this.name = name;
+      this.channel = FileChannel.open(Paths.get(name), StandardOpenOption.READ);
+      try {
+        this.size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(3 * Integer.BYTES)
+            .order(SpdzBinaryFormat.BYTE_ORDER);
+        readFully(header, 0);
+        if (header.getInt() != SpdzBinaryFormat.MAGIC) {
+          throw new IllegalArgumentException(name + " is not a binary SPDZ storage");
+        }
+        this.elementWidth = header.getInt();
+        this.elementsPerRecord = header.getInt();
+        this.scratch = new byte[elementWidth];
+        ByteBuffer modulusBytes = ByteBuffer.allocate(elementWidth);
+        readFully(modulusBytes, header.capacity());
+        this.modulus = SpdzBinaryFormat.getElement(modulusBytes, scratch);
+        if (expectedModulus != null && !expectedModulus.equals(modulus)) {
+          throw new IllegalArgumentException(name + " holds elements modulo " + modulus
+              + " but the storage uses the modulus " + expectedModulus);
+        }
+        int recordSize = elementWidth * elementsPerRecord;
+        this.nextOffset = SpdzBinaryFormat.headerSize(elementWidth);
+        if ((size - nextOffset) % recordSize != 0) {
+          throw new IllegalArgumentException(name + " ends with an incomplete record");
+        }
+        this.windowLength = (long) Math.max(1, windowSize / recordSize) * recordSize;
+      } catch (IOException | RuntimeException e) {
+        channel.close();
+        throw e;
+      }
+    }
+
+    /**
+     * Returns a buffer positioned at the next record, or null if there are no more records.
+     */
+    ByteBuffer nextRecord() {
+      if (current == null || !current.hasRemaining()) {
+        if (prefetched == null && nextOffset >= size) {
+          return null;
+        }
+        current = prefetched != null ? prefetched : map();
+        prefetched = nextOffset < size ? map() : null;
+        if (prefetched != null) {
+          MappedByteBuffer toLoad = prefetched;
+          ForkJoinPool.commonPool().execute(toLoad::load);
+        }
+      }
+      return current;
+    }
+
+    SpdzSInt getSInt(ByteBuffer record) {
+      return new SpdzSInt(getElement(record), getElement(record));
+    }
+
+    FieldElement getElement(ByteBuffer record) {
+      return definition.createElement(SpdzBinaryFormat.getElement(record, scratch));
+    }
+
+    void close() {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // Do nothing - nothing can be done
+      }
+    }
+
+    private MappedByteBuffer map() {
+      long length = Math.min(windowLength, size - nextOffset);
+      try {
+        MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, nextOffset, length);
+        buffer.order(SpdzBinaryFormat.BYTE_ORDER);
+        nextOffset += length;
+        return buffer;
+      } catch (IOException e) {
+        throw new RuntimeException("IOException reading from store name " + name, e);
+      }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new IllegalArgumentException(name + " ends within the header");
+        }
+      }
+      buffer.flip();
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package dk.alexandra.fresco.suite.spdz.storage;
+
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzInputMask;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzTriple;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes pre-processed material of one party in the binary format read by
+ * {@link SpdzBinaryDataSupplier}.
+ *
+ * <p>Each kind of material is written to its own file, named by the storage name followed by the
+ * same suffixes as used by {@link SpdzStorageDataSupplier} and {@link
+ * SpdzBinaryDataSupplier#FILE_EXTENSION}. Existing files are overwritten. Use
+ * {@link #writeFrom(SpdzDataSupplier, int, int, int, int, int, int)} to store the output of e.g. a
+ * {@link SpdzMascotDataSupplier} for later use.</p>
+ */
+public class SpdzBinaryDataWriter implements Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  private final String storageName;
+  private final BigInteger modulus;
+  private final FieldDefinition definition;
+  private final int elementWidth;
+  private final Map<String, RecordWriter> writers;
+
+  /**
+   * Creates a writer for material in the given field.
+   *
+   * @param storageName prefix of the names of the files to write, e.g. a folder and a party id
+   * @param definition the field of the material
+   */
+  public SpdzBinaryDataWriter(String storageName, FieldDefinition definition) {
+    this.storageName = storageName;
+    this.definition = definition;
+    this.modulus = definition.getModulus();
+    this.elementWidth = SpdzBinaryFormat.elementWidth(modulus);
+    this.writers = new HashMap<>();
+  }
+
+  public void writeSecretSharedKey(FieldElement ssk) {
+    RecordWriter writer = getWriter(SpdzStorageDataSupplier.SSK_KEY, 1);
+    writer.put(ssk);
+    // the key is read before anything else, so it is written right away
+    writer.flush();
+  }
+
+  public void writeTriple(SpdzTriple triple) {
+    RecordWriter writer = getWriter(SpdzStorageDataSupplier.TRIPLE_STORAGE, 6);
+    writer.put(triple.getA());
+    writer.put(triple.getB());
+    writer.put(triple.getC());
+  }
+
+  public void writeRandomElement(SpdzSInt element) {
+    getWriter(SpdzBinaryDataSupplier.RANDOM_STORAGE, 2).put(element);
+  }
+
+  public void writeBit(SpdzSInt bit) {
+    getWriter(SpdzStorageDataSupplier.BIT_STORAGE, 2).put(bit);
+  }
+
+  /**
+   * Writes an input mask towards the given party. The masks towards the party owning the storage
+   * must include the real value, and the masks towards other parties must not.
+   */
+  public void writeInputMask(int towardsPlayerId, SpdzInputMask mask) {
+    boolean hasRealValue = mask.getRealValue() != null;
+    RecordWriter writer = getWriter(SpdzStorageDataSupplier.INPUT_STORAGE + towardsPlayerId,
+        hasRealValue ? 3 : 2);
+    writer.put(mask.getMask());
+    if (hasRealValue) {
+      writer.put(mask.getRealValue());
+    }
+  }
+
+  /**
+   * Writes an exponentiation pipe. All pipes of a storage must have the same length.
+   */
+  public void writeExpPipe(SpdzSInt[] expPipe) {
+    RecordWriter writer = getWriter(SpdzStorageDataSupplier.EXP_PIPE_STORAGE,
+        2 * expPipe.length);
+    for (SpdzSInt element : expPipe) {
+      writer.put(element);
+    }
+  }
+
+  /**
+   * Writes the key share and the given amounts of material taken from a data supplier.
+   *
+   * @param supplier the supplier to take the material from
+   * @param noOfPlayers the number of players
+   * @param noOfTriples number of triples to write
+   * @param noOfRandomElements number of random elements to write
+   * @param noOfBits number of bits to write
+   * @param noOfInputMasks number of input masks to write towards each player
+   * @param noOfExpPipes number of exponentiation pipes to write
+   */
+  public void writeFrom(SpdzDataSupplier supplier, int noOfPlayers, int noOfTriples,
+      int noOfRandomElements, int noOfBits, int noOfInputMasks, int noOfExpPipes) {
+    writeSecretSharedKey(supplier.getSecretSharedKey());
+    if (supplier instanceof SpdzMascotDataSupplier) {
+      // let Mascot produce the material in one batch instead of many small ones
+      SpdzMascotDataSupplier mascotSupplier = (SpdzMascotDataSupplier) supplier;
+      mascotSupplier.produceTriples(noOfTriples);
+      mascotSupplier.produceRandomFieldElements(noOfRandomElements);
+    }
+    for (int i = 0; i < noOfTriples; i++) {
+      writeTriple(supplier.getNextTriple());
+    }
+    for (int i = 0; i < noOfRandomElements; i++) {
+      writeRandomElement(supplier.getNextRandomFieldElement());
+    }
+    for (int i = 0; i < noOfBits; i++) {
+      writeBit(supplier.getNextBit());
+    }
+    for (int towardsPlayerId = 1; towardsPlayerId <= noOfPlayers; towardsPlayerId++) {
+      for (int i = 0; i < noOfInputMasks; i++) {
+        writeInputMask(towardsPlayerId, supplier.getNextInputMask(towardsPlayerId));
+      }
+    }
+    for (int i = 0; i < noOfExpPipes; i++) {
+      writeExpPipe(supplier.getNextExpPipe());
+    }
+  }
+
+  /**
+   * Flushes and closes all files written to.
+   */
+  @Override
+  public void close() {
+    RuntimeException failure = null;
+    for (RecordWriter writer : writers.values()) {
+      try {
+        writer.close();
+      } catch (RuntimeException e) {
+        failure = e;
+      }
+    }
+    writers.clear();
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private RecordWriter getWriter(String suffix, int elementsPerRecord) {
+    String name = storageName + suffix + SpdzBinaryDataSupplier.FILE_EXTENSION;
+    RecordWriter writer = writers.get(name);
+    if (writer == null) {
+      writer = new RecordWriter(name, elementsPerRecord);
+      writers.put(name, writer);
+    } else if (writer.elementsPerRecord != elementsPerRecord) {
+      throw new IllegalArgumentException("Records of " + elementsPerRecord
+          + " elements cannot be written to " + name + " which holds records of "
+          + writer.elementsPerRecord + " elements");
+    }
+    return writer;
+  }
+
+  private class RecordWriter {
+
+    private final String name;
+    private final int elementsPerRecord;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    RecordWriter(String name, int elementsPerRecord) {
+      this.name = name;
+      this.elementsPerRecord = elementsPerRecord;
+      try {
+        this.channel = FileChannel.open(Paths.get(name), StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+      } catch (IOException e) {
+        throw new RuntimeException("IOException accessing store name: " + name, e);
+      }
+      this.buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE,
+          SpdzBinaryFormat.headerSize(elementWidth) + elementWidth))
+          .order(SpdzBinaryFormat.BYTE_ORDER);
+      SpdzBinaryFormat.putHeader(buffer, modulus, elementsPerRecord);
+    }
+
+    void put(SpdzSInt element) {
+      put(element.getShare());
+      put(element.getMac());
+    }
+
+    void put(FieldElement element) {
+      if (buffer.remaining() < elementWidth) {
+        flush();
+      }
+      SpdzBinaryFormat.putElement(buffer, definition.convertToUnsigned(element), elementWidth);
+    }
+
+    void flush() {
+      buffer.flip();
+      try {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      } catch (IOException e) {
+        throw new RuntimeException("IOException writing to store name " + name, e);
+      }
+      buffer.clear();
+    }
+
+    void close() {
+      try {
+        flush();
+      } finally {
+        try {
+          channel.close();
+        } catch (IOException e) {
+          // Do nothing - nothing can be done
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package dk.alexandra.fresco.suite.spdz.storage;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the files read by {@link SpdzBinaryDataSupplier} and written by
+ * {@link SpdzBinaryDataWriter}.
+ *
+ * <p>A file starts with a header consisting of a magic number, the width in bytes of a field
+ * element, the number of field elements per record and the modulus. The header is followed by the
+ * records, each being a fixed number of field elements. A field element is stored as
+ * little-endian 64-bit limbs, as many as needed for the modulus, so all records of a file have the
+ * same size and can be located without parsing the records before them. All integers are stored in
+ * little-endian byte order.</p>
+ */
+final class SpdzBinaryFormat {
+
+  static final int MAGIC = 0x425a5053;
+  static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+  private static final int FIXED_HEADER_SIZE = 3 * Integer.BYTES;
+
+  private SpdzBinaryFormat() {
+  }
+
+  /**
+   * Returns the number of bytes used for each field element of the given modulus.
+   */
+  static int elementWidth(BigInteger modulus) {
+    return (modulus.bitLength() + Long.SIZE - 1) / Long.SIZE * Long.BYTES;
+  }
+
+  /**
+   * Returns the size of the header of a file with the given element width.
+   */
+  static int headerSize(int elementWidth) {
+    return FIXED_HEADER_SIZE + elementWidth;
+  }
+
+  static void putHeader(ByteBuffer buffer, BigInteger modulus, int elementsPerRecord) {
+    int elementWidth = elementWidth(modulus);
+    buffer.putInt(MAGIC);
+    buffer.putInt(elementWidth);
+    buffer.putInt(elementsPerRecord);
+    putElement(buffer, modulus, elementWidth);
+  }
+
+  /**
+   * Writes a non-negative value smaller than the modulus as little-endian limbs.
+   */
+  static void putElement(ByteBuffer buffer, BigInteger value, int elementWidth) {
+    byte[] bigEndian = value.toByteArray();
+    // toByteArray may add a leading sign byte, which is always zero here
+    int length = Math.min(bigEndian.length, elementWidth);
+    for (int i = 0; i < length; i++) {
+      buffer.put(bigEndian[bigEndian.length - 1 - i]);
+    }
+    for (int i = length; i < elementWidth; i++) {
+      buffer.put((byte) 0);
+    }
+  }
+
+  /**
+   * Reads a value written by {@link #putElement(ByteBuffer, BigInteger, int)}, using the given
+   * scratch array of length elementWidth.
+   */
+  static BigInteger getElement(ByteBuffer buffer, byte[] scratch) {
+    for (int i = scratch.length - 1; i >= 0; i--) {
+      scratch[i] = buffer.get();
+    }
+    return new BigInteger(1, scratch);
+  }
+}
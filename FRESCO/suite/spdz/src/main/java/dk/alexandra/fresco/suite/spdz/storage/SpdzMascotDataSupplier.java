@@ -3,6 +3,7 @@ package dk.alexandra.fresco.suite.spdz.storage;
 import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
 import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
 import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.framework.util.AesCtrDrbg;
 import dk.alexandra.fresco.framework.util.Drbg;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
 import dk.alexandra.fresco.suite.spdz.datatypes.SpdzInputMask;
@@ -21,10 +22,14 @@ import dk.alexandra.fresco.tools.ot.otextension.RotList;
 import org.slf4j.event.Level;
 import java.security.SecureRandom;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +57,7 @@ public class SpdzMascotDataSupplier implements SpdzDataSupplier {
   private final Drbg drbg;
   private final Map<Integer, RotList> seedOts;
   private Mascot mascot;
+  private SpdzParallelMascotProducer producer;
 
   /**
    * Creates {@link SpdzMascotDataSupplier}.
@@ -119,6 +125,9 @@ public class SpdzMascotDataSupplier implements SpdzDataSupplier {
 
   @Override
   public SpdzTriple getNextTriple() {
+    if (triples.isEmpty() && producer != null) {
+      return MascotFormatConverter.toSpdzTriple(producer.takeTriple());
+    }
     ensureInitialized();
     if (triples.isEmpty()) {
       logger.debug("Getting another triple batch");
@@ -136,6 +145,9 @@ public class SpdzMascotDataSupplier implements SpdzDataSupplier {
 
   @Override
   public SpdzSInt getNextRandomFieldElement() {
+    if (randomElements.isEmpty() && producer != null) {
+      return MascotFormatConverter.toSpdzSInt(producer.takeRandomElement());
+    }
     ensureInitialized();
     if (randomElements.isEmpty()) {
       logger.debug("Getting another random element batch");
@@ -155,6 +167,20 @@ public class SpdzMascotDataSupplier implements SpdzDataSupplier {
     return MascotFormatConverter.toSpdzSInt(mascot.shareKnownElement(value));
   }
 
+  /**
+   * Authenticates a batch of non authenticated shares with a single MASCOT input per party. All
+   * parties must call this with the same number of values.
+   *
+   * @param values this party's shares of the values
+   * @return this party's authenticated shares of the values
+   */
+  public List<SpdzSInt> shareKnownElements(List<FieldElement> values) {
+    ensureInitialized();
+    return mascot.shareKnownElements(values).stream()
+        .map(MascotFormatConverter::toSpdzSInt)
+        .collect(Collectors.toList());
+  }
+
   @Override
   public SpdzSInt[] getNextExpPipe() {
     logger.debug("Getting another exp pipe");
@@ -165,8 +191,11 @@ public class SpdzMascotDataSupplier implements SpdzDataSupplier {
 
   @Override
   public SpdzInputMask getNextInputMask(int towardsPlayerId) {
-    ensureInitialized();
     ArrayDeque<InputMask> inputMasks = masks.get(towardsPlayerId);
+    if (inputMasks.isEmpty() && producer != null) {
+      return MascotFormatConverter.toSpdzInputMask(producer.takeInputMask(towardsPlayerId));
+    }
+    ensureInitialized();
     if (inputMasks.isEmpty()) {
       logger.debug("Getting another mask batch");
       inputMasks.addAll(mascot.getInputMasks(towardsPlayerId, batchSize));
@@ -177,6 +206,9 @@ public class SpdzMascotDataSupplier implements SpdzDataSupplier {
 
   @Override
   public SpdzSInt getNextBit() {
+    if (randomBits.isEmpty() && producer != null) {
+      return MascotFormatConverter.toSpdzSInt(producer.takeBit());
+    }
     ensureInitialized();
     if (randomBits.isEmpty()) {
       logger.debug("Getting another bit batch");
@@ -186,6 +218,78 @@ public class SpdzMascotDataSupplier implements SpdzDataSupplier {
     return MascotFormatConverter.toSpdzSInt(randomBits.pop());
   }
 
+  /**
+   * Starts producing triples, random elements, bits and input masks on a background thread, so
+   * that running out of pre-processed material does not stall the evaluation.
+   *
+   * <p>The background thread runs its own Mascot instance with instance id instanceId + 1 on the
+   * given network, which must connect the same parties and must not be used for anything else.
+   * All parties must start the production at the same point of their computation. Material
+   * produced earlier with {@link #produceTriples(int)} or {@link #produceRandomFieldElements(int)}
+   * is used before the material produced in the background.</p>
+   *
+   * @param producerNetwork network used only by the background production
+   * @param lowWatermark production starts when fewer elements of any kind are available
+   * @param highWatermark production stops when this many elements of every kind are available
+   * @param productionBatchSize number of elements of a kind produced at a time
+   */
+  public void startBackgroundProduction(Network producerNetwork, int lowWatermark,
+      int highWatermark, int productionBatchSize) {
+    startBackgroundProduction(Collections.singletonList(producerNetwork), lowWatermark,
+        highWatermark, productionBatchSize);
+  }
+
+  /**
+   * Starts producing pre-processed material with one Mascot instance per given network, each on
+   * its own background thread, so the production scales with the number of cores.
+   *
+   * <p>Instance i uses instance id instanceId + 1 + i, a drbg seeded from this supplier's drbg and
+   * the i'th network. The networks must connect the same parties, be given in the same order on
+   * all parties and not be used for anything else. The watermarks apply to each instance
+   * separately, and the elements of the instances are used in turns. Otherwise this works like
+   * {@link #startBackgroundProduction(Network, int, int, int)}.</p>
+   *
+   * @param producerNetworks one network per Mascot instance, used only by that instance
+   * @param lowWatermark an instance starts production when it has fewer elements of any kind
+   * @param highWatermark an instance stops production when it has this many elements of every kind
+   * @param productionBatchSize number of elements of a kind an instance produces at a time
+   */
+  public void startBackgroundProduction(List<Network> producerNetworks, int lowWatermark,
+      int highWatermark, int productionBatchSize) {
+    if (producer != null) {
+      throw new IllegalStateException("Background production has already been started");
+    }
+    int numCandidatesPerTriple = 3;
+    List<SpdzMascotProducer> producers = new ArrayList<>(producerNetworks.size());
+    for (int i = 0; i < producerNetworks.size(); i++) {
+      byte[] producerSeed = new byte[AesCtrDrbg.SEED_LENGTH];
+      drbg.nextBytes(producerSeed);
+      Drbg producerDrbg = new AesCtrDrbg(producerSeed);
+      Network producerNetwork = producerNetworks.get(i);
+      int producerInstanceId = instanceId + 1 + i;
+      producers.add(new SpdzMascotProducer(
+          () -> new Mascot(
+              new MascotResourcePoolImpl(myId, numberOfPlayers, producerInstanceId, producerDrbg,
+                  seedOts, new MascotSecurityParameters(modBitLength, prgSeedLength,
+                      numCandidatesPerTriple), fieldDefinition), producerNetwork, ssk),
+          producerNetwork, numberOfPlayers, lowWatermark, highWatermark, productionBatchSize));
+    }
+    producer = new SpdzParallelMascotProducer(producers, numberOfPlayers,
+        "mascot-producer-" + myId);
+    producer.start();
+  }
+
+  /**
+   * Stops the background production started by
+   * {@link #startBackgroundProduction(List, int, int, int)}. The producer networks are not closed.
+   */
+  public void stopBackgroundProduction() {
+    if (producer != null) {
+      producer.stop();
+      producer = null;
+    }
+  }
+
   @Override
   public FieldDefinition getFieldDefinition() {
     return fieldDefinition;
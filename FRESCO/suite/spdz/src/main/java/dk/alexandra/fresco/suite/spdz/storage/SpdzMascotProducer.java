@@ -0,0 +1,218 @@
+package dk.alexandra.fresco.suite.spdz.storage;
+
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.tools.mascot.Mascot;
+import dk.alexandra.fresco.tools.mascot.field.AuthenticatedElement;
+import dk.alexandra.fresco.tools.mascot.field.InputMask;
+import dk.alexandra.fresco.tools.mascot.field.MultiplicationTriple;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Produces Mascot pre-processing material on a background thread.
+ *
+ * <p>The number of available triples, random elements, bits and input masks towards each party is
+ * kept between a low and a high watermark. When any of them falls below the low watermark the
+ * producer starts producing batches until all of them have reached the high watermark.</p>
+ *
+ * <p>The producers of all parties must run the same Mascot protocols in the same order, but the
+ * levels of the queues at a given time depend on how far each party has come. Before every
+ * production round the producers therefore exchange which queues are below the high watermark
+ * and all produce a batch for every queue that some party asked for.</p>
+ */
+final class SpdzMascotProducer implements Runnable {
+
+  private static final Logger logger = LoggerFactory.getLogger(SpdzMascotProducer.class);
+  private static final long POLL_MILLIS = 100;
+
+  private final Supplier<Mascot> mascotSupplier;
+  private final Network network;
+  private final int numberOfPlayers;
+  private final int lowWatermark;
+  private final int highWatermark;
+  private final int batchSize;
+  private final BlockingQueue<MultiplicationTriple> triples;
+  private final BlockingQueue<AuthenticatedElement> randomElements;
+  private final BlockingQueue<AuthenticatedElement> randomBits;
+  private final List<BlockingQueue<InputMask>> masks;
+  private final Object demand;
+  private volatile boolean stopped;
+  private volatile Throwable failure;
+
+  /**
+   * Creates a new producer.
+   *
+   * @param mascotSupplier creates the Mascot instance used by the producer, called on the producer
+   *     thread
+   * @param network network used only by the producer
+   * @param numberOfPlayers number of players
+   * @param lowWatermark production starts when a queue holds fewer elements than this
+   * @param highWatermark production stops when all queues hold at least this many elements
+   * @param batchSize number of elements produced per queue and round
+   */
+  SpdzMascotProducer(Supplier<Mascot> mascotSupplier, Network network, int numberOfPlayers,
+      int lowWatermark, int highWatermark, int batchSize) {
+    if (lowWatermark < 0 || highWatermark < lowWatermark || batchSize < 1) {
+      throw new IllegalArgumentException(
+          "Watermarks must satisfy 0 <= low <= high and the batch size must be positive");
+    }
+    this.mascotSupplier = mascotSupplier;
+    this.network = network;
+    this.numberOfPlayers = numberOfPlayers;
+    this.lowWatermark = lowWatermark;
+    this.highWatermark = highWatermark;
+    this.batchSize = batchSize;
+    this.triples = new LinkedBlockingQueue<>();
+    this.randomElements = new LinkedBlockingQueue<>();
+    this.randomBits = new LinkedBlockingQueue<>();
+    this.masks = new ArrayList<>(numberOfPlayers);
+    for (int partyId = 1; partyId <= numberOfPlayers; partyId++) {
+      masks.add(new LinkedBlockingQueue<>());
+    }
+    this.demand = new Object();
+  }
+
+  @Override
+  public void run() {
+    try {
+      Mascot mascot = mascotSupplier.get();
+      while (!stopped) {
+        awaitDemand();
+        boolean produced = true;
+        while (produced && !stopped) {
+          produced = produce(mascot, exchangeNeeds());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      if (!stopped) {
+        logger.error("Background pre-processing failed", e);
+        failure = e;
+      }
+    }
+  }
+
+  MultiplicationTriple takeTriple() {
+    return take(triples);
+  }
+
+  AuthenticatedElement takeRandomElement() {
+    return take(randomElements);
+  }
+
+  AuthenticatedElement takeBit() {
+    return take(randomBits);
+  }
+
+  InputMask takeInputMask(int towardsPlayerId) {
+    return take(masks.get(towardsPlayerId - 1));
+  }
+
+  void stop() {
+    stopped = true;
+    synchronized (demand) {
+      demand.notifyAll();
+    }
+  }
+
+  private <T> T take(BlockingQueue<T> queue) {
+    try {
+      T element = queue.poll();
+      while (element == null) {
+        if (failure != null) {
+          throw new IllegalStateException("Background pre-processing failed", failure);
+        }
+        if (stopped) {
+          throw new IllegalStateException("Background pre-processing was stopped");
+        }
+        element = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+      }
+      if (queue.size() < lowWatermark) {
+        synchronized (demand) {
+          demand.notifyAll();
+        }
+      }
+      return element;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for pre-processed material", e);
+    }
+  }
+
+  private void awaitDemand() throws InterruptedException {
+    synchronized (demand) {
+      while (!stopped && !belowLowWatermark()) {
+        demand.wait();
+      }
+    }
+  }
+
+  private boolean belowLowWatermark() {
+    if (triples.size() < lowWatermark || randomElements.size() < lowWatermark
+        || randomBits.size() < lowWatermark) {
+      return true;
+    }
+    for (BlockingQueue<InputMask> queue : masks) {
+      if (queue.size() < lowWatermark) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Sends which queues are below the high watermark and returns the queues any party needs, in the
+   * order triples, random elements, bits and masks towards each party.
+   */
+  private boolean[] exchangeNeeds() {
+    byte[] needs = new byte[3 + numberOfPlayers];
+    needs[0] = (byte) (triples.size() < highWatermark ? 1 : 0);
+    needs[1] = (byte) (randomElements.size() < highWatermark ? 1 : 0);
+    needs[2] = (byte) (randomBits.size() < highWatermark ? 1 : 0);
+    for (int i = 0; i < numberOfPlayers; i++) {
+      needs[3 + i] = (byte) (masks.get(i).size() < highWatermark ? 1 : 0);
+    }
+    network.sendToAll(needs);
+    boolean[] union = new boolean[needs.length];
+    for (byte[] received : network.receiveFromAll()) {
+      if (received.length != needs.length) {
+        throw new IllegalStateException("Unexpected pre-processing request of length "
+            + received.length);
+      }
+      for (int i = 0; i < union.length; i++) {
+        union[i] |= received[i] != 0;
+      }
+    }
+    return union;
+  }
+
+  private boolean produce(Mascot mascot, boolean[] needed) {
+    boolean produced = false;
+    if (needed[0]) {
+      triples.addAll(mascot.getTriples(batchSize));
+      produced = true;
+    }
+    if (needed[1]) {
+      randomElements.addAll(mascot.getRandomElements(batchSize));
+      produced = true;
+    }
+    if (needed[2]) {
+      randomBits.addAll(mascot.getRandomBits(batchSize));
+      produced = true;
+    }
+    for (int i = 0; i < numberOfPlayers; i++) {
+      if (needed[3 + i]) {
+        masks.get(i).addAll(mascot.getInputMasks(i + 1, batchSize));
+        produced = true;
+      }
+    }
+    return produced;
+  }
+}
@@ -0,0 +1,85 @@
+package dk.alexandra.fresco.suite.spdz.storage;
+
+import dk.alexandra.fresco.tools.mascot.field.AuthenticatedElement;
+import dk.alexandra.fresco.tools.mascot.field.InputMask;
+import dk.alexandra.fresco.tools.mascot.field.MultiplicationTriple;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges the output of several {@link SpdzMascotProducer}s, each running its own Mascot instance
+ * on its own thread and network.
+ *
+ * <p>The producers finish their batches at different times on different parties, so the elements
+ * cannot be merged in the order they become available. Instead the n'th element of a kind is taken
+ * from producer n modulo the number of producers, which gives all parties the same sequence of
+ * shares. A slow producer only holds up the consumer when its turn comes.</p>
+ */
+final class SpdzParallelMascotProducer {
+
+  private final List<SpdzMascotProducer> producers;
+  private final List<Thread> threads;
+  private int nextTriple;
+  private int nextRandomElement;
+  private int nextBit;
+  private final int[] nextMask;
+
+  /**
+   * Creates a new parallel producer.
+   *
+   * @param producers the producers to merge, in the same order on all parties
+   * @param numberOfPlayers number of players
+   * @param threadName prefix of the names of the producer threads
+   */
+  SpdzParallelMascotProducer(List<SpdzMascotProducer> producers, int numberOfPlayers,
+      String threadName) {
+    if (producers.isEmpty()) {
+      throw new IllegalArgumentException("At least one producer is needed");
+    }
+    this.producers = new ArrayList<>(producers);
+    this.threads = new ArrayList<>(producers.size());
+    for (int i = 0; i < producers.size(); i++) {
+      Thread thread = new Thread(producers.get(i),
+          producers.size() == 1 ? threadName : threadName + "-" + i);
+      thread.setDaemon(true);
+      threads.add(thread);
+    }
+    this.nextMask = new int[numberOfPlayers];
+  }
+
+  void start() {
+    for (Thread thread : threads) {
+      thread.start();
+    }
+  }
+
+  MultiplicationTriple takeTriple() {
+    SpdzMascotProducer producer = producers.get(nextTriple);
+    nextTriple = (nextTriple + 1) % producers.size();
+    return producer.takeTriple();
+  }
+
+  AuthenticatedElement takeRandomElement() {
+    SpdzMascotProducer producer = producers.get(nextRandomElement);
+    nextRandomElement = (nextRandomElement + 1) % producers.size();
+    return producer.takeRandomElement();
+  }
+
+  AuthenticatedElement takeBit() {
+    SpdzMascotProducer producer = producers.get(nextBit);
+    nextBit = (nextBit + 1) % producers.size();
+    return producer.takeBit();
+  }
+
+  InputMask takeInputMask(int towardsPlayerId) {
+    int index = nextMask[towardsPlayerId - 1];
+    nextMask[towardsPlayerId - 1] = (index + 1) % producers.size();
+    return producers.get(index).takeInputMask(towardsPlayerId);
+  }
+
+  void stop() {
+    for (SpdzMascotProducer producer : producers) {
+      producer.stop();
+    }
+  }
+}
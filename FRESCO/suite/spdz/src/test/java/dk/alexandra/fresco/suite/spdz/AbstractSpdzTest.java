@@ -115,7 +115,8 @@ public abstract class AbstractSpdzTest {
     for (int playerId : netConf.keySet()) {
       PerformanceLoggerCountingAggregate aggregate = new PerformanceLoggerCountingAggregate();
 
-      ProtocolSuiteNumeric<SpdzResourcePool> protocolSuite = createProtocolSuite(maxBitLength);
+      ProtocolSuiteNumeric<SpdzResourcePool> protocolSuite =
+          createProtocolSuite(maxBitLength, playerId);
       BatchEvaluationStrategy<SpdzResourcePool> batchEvalStrat = evalStrategy.getStrategy();
       if (logPerformance) {
         protocolSuite = new NumericSuiteLogging<>(protocolSuite);
@@ -163,6 +164,10 @@ public abstract class AbstractSpdzTest {
     return new SpdzProtocolSuite(maxBitLength);
   }
 
+  protected SpdzProtocolSuite createProtocolSuite(int maxBitLength, int myId) {
+    return createProtocolSuite(maxBitLength);
+  }
+
   protected void runTest(
       TestThreadRunner.TestThreadFactory<SpdzResourcePool, ProtocolBuilderNumeric> f,
       EvaluationStrategy evalStrategy, PreprocessingStrategy preProStrat, int noOfParties,
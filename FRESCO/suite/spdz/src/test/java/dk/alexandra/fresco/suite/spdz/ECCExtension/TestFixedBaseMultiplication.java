@@ -0,0 +1,89 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import iaik.security.ec.math.curve.AtePairingOverBarretoNaehrigCurveFactory;
+import iaik.security.ec.math.curve.ECPoint;
+import iaik.security.ec.math.curve.EllipticCurve;
+import iaik.security.ec.math.curve.PairingTypes;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestFixedBaseMultiplication {
+
+  private final EllipticCurve curve =
+      AtePairingOverBarretoNaehrigCurveFactory.getPairing(PairingTypes.TYPE_3, 256).getGroup1();
+  private final BigInteger order = curve.getOrder();
+  private final Random random = new Random(42);
+
+  @Test
+  public void testRegisteredBase() {
+    ECPoint base = curve.getGenerator().clone().multiplyPoint(BigInteger.valueOf(7));
+    ECPoint registered = FixedBaseMultiplication.register(base);
+    Assert.assertEquals(base, registered);
+    testAgainstMultiplyPoint(registered);
+    // an equal but unregistered instance falls back to a plain multiplication
+    testAgainstMultiplyPoint(base);
+  }
+
+  @Test
+  public void testUnregisteredBase() {
+    ECPoint base = curve.getGenerator().clone().multiplyPoint(BigInteger.valueOf(11));
+    testAgainstMultiplyPoint(base);
+  }
+
+  @Test
+  public void testRegisterTwice() {
+    ECPoint base = curve.getGenerator().clone().multiplyPoint(BigInteger.valueOf(13));
+    ECPoint registered = FixedBaseMultiplication.register(base);
+    Assert.assertSame(registered, FixedBaseMultiplication.register(base.clone()));
+    testAgainstMultiplyPoint(registered);
+  }
+
+  @Test
+  public void testRegisterBeyondCapacity() {
+    List<ECPoint> registered = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      ECPoint base = curve.getGenerator().clone().multiplyPoint(BigInteger.valueOf(100 + i));
+      registered.add(FixedBaseMultiplication.register(base));
+    }
+    // dropped bases still multiply correctly, and registering one again yields a new instance
+    testAgainstMultiplyPoint(registered.get(0));
+    testAgainstMultiplyPoint(registered.get(39));
+    ECPoint again = FixedBaseMultiplication.register(registered.get(0));
+    Assert.assertNotSame(registered.get(0), again);
+    Assert.assertSame(registered.get(39), FixedBaseMultiplication.register(registered.get(39)));
+    testAgainstMultiplyPoint(again);
+  }
+
+  private void testAgainstMultiplyPoint(ECPoint base) {
+    byte[] encoding = base.encodePoint();
+    for (BigInteger k : scalars()) {
+      ECPoint expected = base.clone().multiplyPoint(k);
+      Assert.assertEquals("Wrong result for " + k, expected,
+          FixedBaseMultiplication.multiply(base, k));
+      // the result must be a fresh point
+      Assert.assertEquals(expected, FixedBaseMultiplication.multiply(base, k));
+    }
+    Assert.assertArrayEquals("The base was modified", encoding, base.encodePoint());
+  }
+
+  private List<BigInteger> scalars() {
+    List<BigInteger> scalars = new ArrayList<>();
+    scalars.add(BigInteger.ZERO);
+    scalars.add(BigInteger.ONE);
+    scalars.add(BigInteger.ONE.negate());
+    scalars.add(order);
+    scalars.add(order.subtract(BigInteger.ONE));
+    scalars.add(order.add(BigInteger.ONE));
+    scalars.add(order.shiftLeft(3).add(BigInteger.valueOf(5)));
+    for (int i = 0; i < 5; i++) {
+      BigInteger k = new BigInteger(order.bitLength(), random);
+      scalars.add(k);
+      scalars.add(k.negate());
+    }
+    return scalars;
+  }
+}
@@ -0,0 +1,100 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import iaik.security.ec.math.curve.AtePairingOverBarretoNaehrigCurveFactory;
+import iaik.security.ec.math.curve.ECPoint;
+import iaik.security.ec.math.curve.EllipticCurve;
+import iaik.security.ec.math.curve.PairingTypes;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestMultiScalarMultiplication {
+
+  private final EllipticCurve curve =
+      AtePairingOverBarretoNaehrigCurveFactory.getPairing(PairingTypes.TYPE_3, 256).getGroup1();
+  private final BigInteger order = curve.getOrder();
+  private final Random random = new Random(42);
+
+  @Test
+  public void testBelowNaiveThreshold() {
+    testAgainstNaive(3, false);
+  }
+
+  @Test
+  public void testAboveNaiveThreshold() {
+    testAgainstNaive(20, false);
+  }
+
+  @Test
+  public void testParallel() {
+    // the ECC mac check computes the sums in parallel from 256 points on
+    testAgainstNaive(300, true);
+  }
+
+  @Test
+  public void testAllScalarsZero() {
+    List<ECPoint> points = randomPoints(10);
+    List<BigInteger> scalars = new ArrayList<>();
+    for (int i = 0; i < points.size(); i++) {
+      scalars.add(BigInteger.ZERO);
+    }
+    Assert.assertEquals(curve.getNeutralPoint(),
+        MultiScalarMultiplication.multiply(points, scalars));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedSizes() {
+    List<ECPoint> points = randomPoints(5);
+    List<BigInteger> scalars = new ArrayList<>();
+    scalars.add(BigInteger.ONE);
+    MultiScalarMultiplication.multiply(points, scalars);
+  }
+
+  private void testAgainstNaive(int n, boolean parallel) {
+    List<ECPoint> points = randomPoints(n);
+    // repeated points
+    points.set(n - 1, points.get(0));
+    if (n > 2) {
+      points.set(n - 2, points.get(0).clone());
+    }
+    List<BigInteger> scalars = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      scalars.add(new BigInteger(order.bitLength(), random).mod(order));
+    }
+    scalars.set(0, BigInteger.ZERO);
+    if (n > 2) {
+      // scalars at least as large as the order
+      scalars.set(1, order);
+      scalars.set(2, order.add(new BigInteger(order.bitLength(), random)));
+    }
+    List<byte[]> encodings = new ArrayList<>();
+    for (ECPoint point : points) {
+      encodings.add(point.encodePoint());
+    }
+
+    ECPoint expected = curve.getNeutralPoint();
+    for (int i = 0; i < n; i++) {
+      expected.addPoint(points.get(i).clone().multiplyPoint(scalars.get(i)));
+    }
+    ECPoint actual = MultiScalarMultiplication.multiply(points, scalars, parallel);
+    Assert.assertEquals(expected, actual);
+    Assert.assertNotEquals(curve.getNeutralPoint(), actual);
+
+    for (int i = 0; i < n; i++) {
+      Assert.assertArrayEquals("Input point " + i + " was modified", encodings.get(i),
+          points.get(i).encodePoint());
+    }
+  }
+
+  private List<ECPoint> randomPoints(int n) {
+    List<ECPoint> points = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      BigInteger k = new BigInteger(64, random).add(BigInteger.ONE);
+      points.add(curve.getGenerator().clone().multiplyPoint(k));
+    }
+    return points;
+  }
+}
@@ -0,0 +1,66 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import dk.alexandra.fresco.framework.builder.numeric.field.BigIntegerFieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.sce.resources.storage.InMemoryStorage;
+import dk.alexandra.fresco.framework.util.AesCtrDrbg;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePoolImpl;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import dk.alexandra.fresco.suite.spdz.storage.SpdzDummyDataSupplier;
+import dk.alexandra.fresco.suite.spdz.storage.SpdzOpenedValueStoreImpl;
+import java.math.BigInteger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestSpdzKeyStore {
+
+  private final FieldDefinition definition = new BigIntegerFieldDefinition("251");
+  private final SpdzKeyHandle handle = new SpdzKeyHandle("sk");
+  private SpdzResourcePoolImpl resourcePool;
+
+  @Before
+  public void setUp() {
+    SpdzDummyDataSupplier supplier = new SpdzDummyDataSupplier(1, 2, definition,
+        BigInteger.valueOf(17));
+    resourcePool = new SpdzResourcePoolImpl(1, 2, new SpdzOpenedValueStoreImpl(), supplier,
+        AesCtrDrbg::new);
+  }
+
+  @Test
+  public void testAuthenticateOnceAndLookUp() {
+    SpdzAuthenticateKeyProtocol authenticate =
+        new SpdzAuthenticateKeyProtocol(handle, BigInteger.valueOf(42));
+    authenticate.evaluate(0, resourcePool, null);
+    SpdzSInt authenticated = (SpdzSInt) authenticate.out();
+    Assert.assertTrue(resourcePool.getKeyStore().contains(handle));
+
+    SpdzKeyShareProtocol lookUp = new SpdzKeyShareProtocol(new SpdzKeyHandle("sk"));
+    lookUp.evaluate(0, resourcePool, null);
+    Assert.assertSame(authenticated, lookUp.out());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLookUpWithoutAuthentication() {
+    new SpdzKeyShareProtocol(handle).evaluate(0, resourcePool, null);
+  }
+
+  @Test
+  public void testPersistAndRestore() {
+    SpdzSInt key = new SpdzSInt(definition.createElement(42),
+        definition.createElement(42 * 17));
+    resourcePool.getKeyStore().put(handle, key);
+    InMemoryStorage storage = new InMemoryStorage();
+    Assert.assertTrue(resourcePool.getKeyStore().persist(handle, storage, "keys"));
+
+    SpdzKeyStore restored = new SpdzKeyStore();
+    Assert.assertFalse(restored.restore(handle, storage, "other"));
+    Assert.assertFalse(restored.contains(handle));
+    Assert.assertTrue(restored.restore(handle, storage, "keys"));
+    SpdzSInt restoredKey = restored.get(handle);
+    Assert.assertEquals(definition.convertToUnsigned(key.getShare()),
+        definition.convertToUnsigned(restoredKey.getShare()));
+    Assert.assertEquals(definition.convertToUnsigned(key.getMac()),
+        definition.convertToUnsigned(restoredKey.getMac()));
+  }
+}
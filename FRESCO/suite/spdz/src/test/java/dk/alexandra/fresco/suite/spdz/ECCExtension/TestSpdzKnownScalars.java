@@ -0,0 +1,121 @@
+package dk.alexandra.fresco.suite.spdz.ECCExtension;
+
+import static org.junit.Assert.assertThat;
+
+import dk.alexandra.fresco.framework.Application;
+import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.MaliciousException;
+import dk.alexandra.fresco.framework.TestThreadRunner.TestThread;
+import dk.alexandra.fresco.framework.TestThreadRunner.TestThreadFactory;
+import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
+import dk.alexandra.fresco.framework.value.SInt;
+import dk.alexandra.fresco.suite.spdz.AbstractSpdzTest;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePool;
+import dk.alexandra.fresco.suite.spdz.configuration.PreprocessingStrategy;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Authenticates additive shares of known values with MASCOT, one at a time and batched, and opens
+ * them. The values must be the sums of the shares, and the MAC check at the end of the
+ * application must pass, unless a share was changed after it was authenticated.
+ */
+public class TestSpdzKnownScalars extends AbstractSpdzTest {
+
+  @Test
+  public void testTwoParties() {
+    runTest(new TestKnownScalars<>(20, false), PreprocessingStrategy.MASCOT, 2);
+  }
+
+  @Test
+  public void testThreeParties() {
+    runTest(new TestKnownScalars<>(20, false), PreprocessingStrategy.MASCOT, 3);
+  }
+
+  @Test
+  public void testTamperedShare() {
+    runTest(new TestKnownScalars<>(20, true), PreprocessingStrategy.MASCOT, 2);
+  }
+
+  private static class TestKnownScalars<ResourcePoolT extends SpdzResourcePool>
+      extends TestThreadFactory<ResourcePoolT, ProtocolBuilderNumeric> {
+
+    private final int noOfValues;
+    private final boolean tamper;
+
+    TestKnownScalars(int noOfValues, boolean tamper) {
+      this.noOfValues = noOfValues;
+      this.tamper = tamper;
+    }
+
+    @Override
+    public TestThread<ResourcePoolT, ProtocolBuilderNumeric> next() {
+      return new TestThread<ResourcePoolT, ProtocolBuilderNumeric>() {
+        @Override
+        public void test() {
+          int noOfParties = conf.getResourcePool().getNoOfParties();
+          BigInteger modulus = conf.getResourcePool().getFieldDefinition().getModulus();
+          // all parties derive the same shares from a common seed
+          Random random = new Random(noOfParties);
+          BigInteger[][] shares = new BigInteger[noOfParties][noOfValues];
+          List<BigInteger> expected = new ArrayList<>(noOfValues);
+          for (int j = 0; j < noOfValues; j++) {
+            BigInteger sum = BigInteger.ZERO;
+            for (int i = 0; i < noOfParties; i++) {
+              shares[i][j] = new BigInteger(modulus.bitLength() - 1, random);
+              sum = sum.add(shares[i][j]);
+            }
+            expected.add(sum.mod(modulus));
+          }
+          Application<List<BigInteger>, ProtocolBuilderNumeric> app = producer -> {
+            int myId = producer.getBasicNumericContext().getMyId();
+            List<BigInteger> myShares = new ArrayList<>();
+            for (int j = 0; j < noOfValues; j++) {
+              myShares.add(shares[myId - 1][j]);
+            }
+            return producer.seq(seq -> {
+              SpdzECCOps ops = new SpdzECCOps(seq);
+              DRes<SInt> single = ops.knownScalar(myShares.get(0));
+              DRes<List<DRes<SInt>>> batch = ops.knownScalars(myShares.subList(1, noOfValues));
+              return () -> {
+                List<DRes<SInt>> all = new ArrayList<>();
+                all.add(single);
+                all.addAll(batch.out());
+                return all;
+              };
+            }).seq((seq, all) -> {
+              if (tamper && myId == 1) {
+                // a changed share no longer matches its MAC
+                SpdzSInt share = (SpdzSInt) all.get(noOfValues / 2).out();
+                all.set(noOfValues / 2, new SpdzSInt(share.getShare().add(
+                    seq.getBasicNumericContext().getFieldDefinition().createElement(1)),
+                    share.getMac()));
+              }
+              List<DRes<BigInteger>> opened = all.stream()
+                  .map(seq.numeric()::open)
+                  .collect(Collectors.toList());
+              return () -> opened.stream().map(DRes::out).collect(Collectors.toList());
+            });
+          };
+          if (tamper) {
+            try {
+              runApplication(app);
+              Assert.fail("The changed share was not detected");
+            } catch (RuntimeException e) {
+              assertThat(e.getCause(), IsInstanceOf.instanceOf(MaliciousException.class));
+            }
+          } else {
+            Assert.assertEquals(expected, runApplication(app));
+          }
+        }
+      };
+    }
+  }
+}
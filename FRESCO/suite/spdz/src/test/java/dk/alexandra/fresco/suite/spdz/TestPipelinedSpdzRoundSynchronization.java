@@ -0,0 +1,141 @@
+package dk.alexandra.fresco.suite.spdz;
+
+import dk.alexandra.fresco.framework.Application;
+import dk.alexandra.fresco.framework.DRes;
+import dk.alexandra.fresco.framework.MaliciousException;
+import dk.alexandra.fresco.framework.TestThreadRunner.TestThread;
+import dk.alexandra.fresco.framework.TestThreadRunner.TestThreadFactory;
+import dk.alexandra.fresco.framework.builder.numeric.Numeric;
+import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.configuration.NetworkConfiguration;
+import dk.alexandra.fresco.framework.configuration.NetworkUtil;
+import dk.alexandra.fresco.framework.network.CloseableNetwork;
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.framework.network.socket.SocketNetwork;
+import dk.alexandra.fresco.framework.value.SInt;
+import dk.alexandra.fresco.suite.spdz.configuration.PreprocessingStrategy;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestPipelinedSpdzRoundSynchronization extends AbstractSpdzTest {
+
+  private final Map<Integer, NetworkConfiguration> macCheckConfigurations =
+      NetworkUtil.getNetworkConfigurations(2);
+  private final List<CloseableNetwork> macCheckNetworks = new ArrayList<>();
+
+  @After
+  public void closeNetworks() throws IOException {
+    for (CloseableNetwork network : macCheckNetworks) {
+      network.close();
+    }
+  }
+
+  @Test
+  public void testMacCheckBeforeOutput() {
+    runTest(new TestMacCheckBeforeOutput<>(), PreprocessingStrategy.DUMMY, 2);
+  }
+
+  @Test
+  public void testCorruptValueDetected() {
+    runTest(new TestCorruptValueDetected<>(), PreprocessingStrategy.DUMMY, 2);
+  }
+
+  @Override
+  protected SpdzProtocolSuite createProtocolSuite(int maxBitLength, int myId) {
+    return new PipelinedSpdzSuite(maxBitLength, myId);
+  }
+
+  private class PipelinedSpdzSuite extends SpdzProtocolSuite {
+
+    private final int myId;
+    private Network macCheckNetwork;
+
+    PipelinedSpdzSuite(int maxBitLength, int myId) {
+      super(maxBitLength);
+      this.myId = myId;
+    }
+
+    @Override
+    public RoundSynchronization<SpdzResourcePool> createRoundSynchronization() {
+      if (macCheckNetwork == null) {
+        CloseableNetwork network = new SocketNetwork(macCheckConfigurations.get(myId));
+        synchronized (macCheckNetworks) {
+          macCheckNetworks.add(network);
+        }
+        macCheckNetwork = network;
+      }
+      // a threshold of 0 starts a mac check after every batch opening values
+      return new PipelinedSpdzRoundSynchronization(this, macCheckNetwork, 0, 128);
+    }
+  }
+
+  private static class TestMacCheckBeforeOutput<ResourcePoolT extends SpdzResourcePool>
+      extends TestThreadFactory<ResourcePoolT, ProtocolBuilderNumeric> {
+
+    @Override
+    public TestThread<ResourcePoolT, ProtocolBuilderNumeric> next() {
+      return new TestThread<ResourcePoolT, ProtocolBuilderNumeric>() {
+        @Override
+        public void test() {
+          Application<BigInteger, ProtocolBuilderNumeric> testApplication = root -> {
+            Numeric numeric = root.numeric();
+            DRes<SInt> product = numeric.known(BigInteger.ONE);
+            for (int i = 2; i <= 10; i++) {
+              product = numeric.mult(product, numeric.known(BigInteger.valueOf(i)));
+            }
+            return numeric.open(product);
+          };
+          BigInteger output = runApplication(testApplication);
+          Assert.assertEquals(BigInteger.valueOf(3628800), output);
+          Assert.assertFalse(
+              "There should be no unchecked opened values after the evaluation has finished",
+              conf.getResourcePool().getOpenedValueStore().hasPendingValues());
+          // the next evaluation starts a new round synchronization on the same mac check network
+          Assert.assertEquals(BigInteger.valueOf(3628800), runApplication(testApplication));
+        }
+      };
+    }
+  }
+
+  private static class TestCorruptValueDetected<ResourcePoolT extends SpdzResourcePool>
+      extends TestThreadFactory<ResourcePoolT, ProtocolBuilderNumeric> {
+
+    @Override
+    public TestThread<ResourcePoolT, ProtocolBuilderNumeric> next() {
+      return new TestThread<ResourcePoolT, ProtocolBuilderNumeric>() {
+        @Override
+        public void test() {
+          // claim that a sharing of 0 was opened to 1
+          FieldDefinition definition = conf.getResourcePool().getFieldDefinition();
+          conf.getResourcePool().getOpenedValueStore().pushOpenedValue(
+              new SpdzSInt(definition.createElement(0), definition.createElement(0)),
+              definition.createElement(1));
+          Application<BigInteger, ProtocolBuilderNumeric> testApplication = root -> {
+            Numeric numeric = root.numeric();
+            DRes<SInt> product = numeric.mult(numeric.known(BigInteger.valueOf(6)),
+                numeric.known(BigInteger.valueOf(7)));
+            return numeric.open(product);
+          };
+          try {
+            runApplication(testApplication);
+            Assert.fail("The corrupt value should have been detected");
+          } catch (RuntimeException e) {
+            Throwable cause = e;
+            while (cause != null && !(cause instanceof MaliciousException)) {
+              cause = cause.getCause();
+            }
+            Assert.assertNotNull("Expected a MaliciousException", cause);
+          }
+        }
+      };
+    }
+  }
+}
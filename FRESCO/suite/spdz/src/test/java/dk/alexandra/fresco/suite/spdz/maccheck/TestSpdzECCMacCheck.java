@@ -0,0 +1,131 @@
+package dk.alexandra.fresco.suite.spdz.maccheck;
+
+import static org.junit.Assert.assertThat;
+
+import dk.alexandra.fresco.framework.Application;
+import dk.alexandra.fresco.framework.MaliciousException;
+import dk.alexandra.fresco.framework.TestThreadRunner.TestThread;
+import dk.alexandra.fresco.framework.TestThreadRunner.TestThreadFactory;
+import dk.alexandra.fresco.framework.builder.numeric.ProtocolBuilderNumeric;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import dk.alexandra.fresco.framework.util.AesCtrDrbg;
+import dk.alexandra.fresco.framework.util.Pair;
+import dk.alexandra.fresco.suite.spdz.AbstractSpdzTest;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECCMacCheckProtocol;
+import dk.alexandra.fresco.suite.spdz.ECCExtension.SpdzECPoint;
+import dk.alexandra.fresco.suite.spdz.SpdzResourcePool;
+import dk.alexandra.fresco.suite.spdz.configuration.PreprocessingStrategy;
+import iaik.security.ec.math.curve.AtePairingOverBarretoNaehrigCurveFactory;
+import iaik.security.ec.math.curve.ECPoint;
+import iaik.security.ec.math.curve.EllipticCurve;
+import iaik.security.ec.math.curve.PairingTypes;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the MAC check of opened points, below and above the number of points from which the
+ * check is computed in parallel.
+ */
+public class TestSpdzECCMacCheck extends AbstractSpdzTest {
+
+  private static final EllipticCurve CURVE =
+      AtePairingOverBarretoNaehrigCurveFactory.getPairing(PairingTypes.TYPE_3, 256).getGroup1();
+
+  @Test
+  public void testHonestSequential() {
+    runTest(new TestECCMacCheck<>(10, false), PreprocessingStrategy.DUMMY, 2);
+  }
+
+  @Test
+  public void testHonestParallel() {
+    runTest(new TestECCMacCheck<>(300, false), PreprocessingStrategy.DUMMY, 2);
+  }
+
+  @Test
+  public void testTamperedMacSequential() {
+    runTest(new TestECCMacCheck<>(10, true), PreprocessingStrategy.DUMMY, 2);
+  }
+
+  @Test
+  public void testTamperedMacParallel() {
+    runTest(new TestECCMacCheck<>(300, true), PreprocessingStrategy.DUMMY, 2);
+  }
+
+  /**
+   * Opens random points shared between two parties under the key alpha = alpha_1 + alpha_2, and
+   * runs the MAC check on them. If tampered, party 1 adds the generator to one of its MACs.
+   */
+  private static class TestECCMacCheck<ResourcePoolT extends SpdzResourcePool>
+      extends TestThreadFactory<ResourcePoolT, ProtocolBuilderNumeric> {
+
+    private final int noOfPoints;
+    private final boolean tamper;
+
+    TestECCMacCheck(int noOfPoints, boolean tamper) {
+      this.noOfPoints = noOfPoints;
+      this.tamper = tamper;
+    }
+
+    @Override
+    public TestThread<ResourcePoolT, ProtocolBuilderNumeric> next() {
+      return new TestThread<ResourcePoolT, ProtocolBuilderNumeric>() {
+        @Override
+        public void test() {
+          Application<Void, ProtocolBuilderNumeric> app = producer -> {
+            int myId = producer.getBasicNumericContext().getMyId();
+            FieldDefinition definition = producer.getBasicNumericContext().getFieldDefinition();
+            // both parties derive the same sharing from a common seed
+            Random random = new Random(noOfPoints);
+            BigInteger[] alphas = {new BigInteger(128, random), new BigInteger(128, random)};
+            BigInteger alpha = alphas[0].add(alphas[1]);
+            List<SpdzECPoint> closed = new ArrayList<>(noOfPoints);
+            List<ECPoint> opened = new ArrayList<>(noOfPoints);
+            for (int i = 0; i < noOfPoints; i++) {
+              ECPoint value = randomPoint(random);
+              ECPoint share = randomPoint(random);
+              ECPoint mac = randomPoint(random);
+              if (myId == 2) {
+                share = value.clone().subtractPoint(share);
+                mac = value.clone().multiplyPoint(alpha).subtractPoint(mac);
+              }
+              if (tamper && myId == 1 && i == noOfPoints / 2) {
+                mac = mac.clone().addPoint(CURVE.getGenerator());
+              }
+              closed.add(new SpdzECPoint(share, mac));
+              opened.add(value);
+            }
+            FieldElement alphaShare = definition.createElement(alphas[myId - 1]);
+            return producer.seq(new SpdzECCMacCheckProtocol(
+                new Pair<>(new ArrayList<>(), new ArrayList<>()),
+                new Pair<>(closed, opened),
+                definition.getModulus(),
+                AesCtrDrbg::new,
+                alphaShare,
+                256));
+          };
+          if (tamper) {
+            try {
+              runApplication(app);
+              Assert.fail("The tampered MAC was not detected");
+            } catch (RuntimeException e) {
+              assertThat(e.getCause(), IsInstanceOf.instanceOf(MaliciousException.class));
+            }
+          } else {
+            runApplication(app);
+          }
+        }
+      };
+    }
+  }
+
+  private static ECPoint randomPoint(Random random) {
+    BigInteger k = new BigInteger(CURVE.getOrder().bitLength(), random).add(BigInteger.ONE);
+    return CURVE.getGenerator().clone().multiplyPoint(k);
+  }
+}
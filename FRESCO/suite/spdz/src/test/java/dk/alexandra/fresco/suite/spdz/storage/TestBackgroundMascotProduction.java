@@ -0,0 +1,187 @@
+package dk.alexandra.fresco.suite.spdz.storage;
+
+import dk.alexandra.fresco.framework.builder.numeric.field.BigIntegerFieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import dk.alexandra.fresco.framework.network.Network;
+import dk.alexandra.fresco.framework.util.AesCtrDrbgFactory;
+import dk.alexandra.fresco.framework.util.Drbg;
+import dk.alexandra.fresco.framework.util.ExceptionConverter;
+import dk.alexandra.fresco.framework.util.ModulusFinder;
+import dk.alexandra.fresco.suite.spdz.NetManager;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzTriple;
+import dk.alexandra.fresco.tools.ot.base.DummyOt;
+import dk.alexandra.fresco.tools.ot.base.Ot;
+import dk.alexandra.fresco.tools.ot.otextension.RotList;
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestBackgroundMascotProduction {
+
+  private static final int PRG_SEED_LENGTH = 256;
+  private static final int NUMBER_OF_TRIPLES = 40;
+  private static final int NUMBER_OF_BITS = 20;
+  private static final int NUMBER_OF_INSTANCES = 3;
+
+  private ExecutorService executorService;
+  private List<Integer> ports;
+  private int noOfParties;
+  private BigIntegerFieldDefinition definition;
+  private NetManager otManager;
+  private NetManager tripleManager;
+  private List<NetManager> producerManagers;
+
+  @Before
+  public void setUp() {
+    noOfParties = 2;
+    ports = new ArrayList<>(noOfParties);
+    for (int i = 1; i <= noOfParties; i++) {
+      ports.add(11000 + i * (noOfParties - 1));
+    }
+    executorService = Executors.newCachedThreadPool();
+    definition = new BigIntegerFieldDefinition(ModulusFinder.findSuitableModulus(64));
+    otManager = new NetManager(ports);
+    tripleManager = new NetManager(ports);
+    producerManagers = new ArrayList<>(NUMBER_OF_INSTANCES);
+    for (int i = 0; i < NUMBER_OF_INSTANCES; i++) {
+      producerManagers.add(new NetManager(ports));
+    }
+  }
+
+  @After
+  public void tearDown() {
+    executorService.shutdownNow();
+    otManager.close();
+    tripleManager.close();
+    producerManagers.forEach(NetManager::close);
+  }
+
+  @Test
+  public void testTriplesAndBitsFromBackground() {
+    runTest(1);
+  }
+
+  @Test
+  public void testTriplesAndBitsFromParallelInstances() {
+    runTest(NUMBER_OF_INSTANCES);
+  }
+
+  private void runTest(int numberOfInstances) {
+    List<Callable<List<Object>>> tasks = new ArrayList<>();
+    for (int myId = 1; myId <= noOfParties; myId++) {
+      int finalMyId = myId;
+      tasks.add(() -> runParty(finalMyId, numberOfInstances));
+    }
+    List<List<Object>> results = invokeAndReturn(tasks);
+
+    FieldElement macKey = definition.createElement(0);
+    for (List<Object> result : results) {
+      macKey = macKey.add((FieldElement) result.get(0));
+    }
+    for (int i = 0; i < NUMBER_OF_TRIPLES; i++) {
+      SpdzSInt a = null;
+      SpdzSInt b = null;
+      SpdzSInt c = null;
+      for (List<Object> result : results) {
+        SpdzTriple triple = (SpdzTriple) result.get(1 + i);
+        a = a == null ? triple.getA() : a.add(triple.getA());
+        b = b == null ? triple.getB() : b.add(triple.getB());
+        c = c == null ? triple.getC() : c.add(triple.getC());
+      }
+      assertAuthenticated(macKey, a);
+      assertAuthenticated(macKey, c);
+      Assert.assertEquals(
+          definition.convertToUnsigned(a.getShare().multiply(b.getShare())),
+          definition.convertToUnsigned(c.getShare()));
+    }
+    for (int i = 0; i < NUMBER_OF_BITS; i++) {
+      SpdzSInt bit = null;
+      for (List<Object> result : results) {
+        SpdzSInt share = (SpdzSInt) result.get(1 + NUMBER_OF_TRIPLES + i);
+        bit = bit == null ? share : bit.add(share);
+      }
+      assertAuthenticated(macKey, bit);
+      BigInteger value = definition.convertToUnsigned(bit.getShare());
+      Assert.assertTrue(value.equals(BigInteger.ZERO) || value.equals(BigInteger.ONE));
+    }
+  }
+
+  private void assertAuthenticated(FieldElement macKey, SpdzSInt value) {
+    Assert.assertEquals(
+        definition.convertToUnsigned(value.getShare().multiply(macKey)),
+        definition.convertToUnsigned(value.getMac()));
+  }
+
+  private List<Object> runParty(int myId, int numberOfInstances) {
+    Drbg drbg = getDrbg();
+    Map<Integer, RotList> seedOts =
+        getSeedOts(myId, drbg, otManager.createExtraNetwork(myId));
+    FieldElement ssk = SpdzMascotDataSupplier.createRandomSsk(definition, PRG_SEED_LENGTH);
+    SpdzMascotDataSupplier supplier = SpdzMascotDataSupplier.createSimpleSupplier(myId,
+        noOfParties, () -> tripleManager.createExtraNetwork(myId), definition.getModulus()
+            .bitLength(), definition, null, seedOts, drbg, ssk);
+    // the low watermark is below the number of elements produced at a time, so the consumer
+    // overtakes the producer and has to wait for it
+    List<Network> producerNetworks = new ArrayList<>(numberOfInstances);
+    for (int i = 0; i < numberOfInstances; i++) {
+      producerNetworks.add(producerManagers.get(i).createExtraNetwork(myId));
+    }
+    supplier.startBackgroundProduction(producerNetworks, 4, 16, 8);
+    List<Object> result = new ArrayList<>();
+    result.add(ssk);
+    for (int i = 0; i < NUMBER_OF_TRIPLES; i++) {
+      result.add(supplier.getNextTriple());
+    }
+    for (int i = 0; i < NUMBER_OF_BITS; i++) {
+      result.add(supplier.getNextBit());
+    }
+    supplier.stopBackgroundProduction();
+    return result;
+  }
+
+  private Map<Integer, RotList> getSeedOts(int myId, Drbg drbg, Network network) {
+    Map<Integer, RotList> seedOts = new HashMap<>();
+    for (int otherId = 1; otherId <= noOfParties; otherId++) {
+      if (otherId != myId) {
+        Ot ot = new DummyOt(otherId, network);
+        RotList currentSeedOts = new RotList(drbg, PRG_SEED_LENGTH);
+        if (myId < otherId) {
+          currentSeedOts.send(ot);
+          currentSeedOts.receive(ot);
+        } else {
+          currentSeedOts.receive(ot);
+          currentSeedOts.send(ot);
+        }
+        seedOts.put(otherId, currentSeedOts);
+      }
+    }
+    return seedOts;
+  }
+
+  private Drbg getDrbg() {
+    byte[] drbgSeed = new byte[PRG_SEED_LENGTH / 8];
+    new SecureRandom().nextBytes(drbgSeed);
+    return AesCtrDrbgFactory.fromDerivedSeed(drbgSeed);
+  }
+
+  private <T> List<T> invokeAndReturn(List<Callable<T>> tasks) {
+    List<Future<T>> futures = ExceptionConverter
+        .safe(() -> executorService.invokeAll(tasks), "Error invoking tasks");
+    return futures.stream().map(
+        future -> ExceptionConverter.safe(future::get, "Error getting future result"))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,163 @@
+package dk.alexandra.fresco.suite.spdz.storage;
+
+import dk.alexandra.fresco.framework.builder.numeric.field.BigIntegerFieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import dk.alexandra.fresco.framework.util.ModulusFinder;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzInputMask;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzTriple;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestMpSpdzDataSupplier {
+
+  private static final int NO_OF_PARTIES = 2;
+  private static final int AMOUNT = 20;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final FieldDefinition definition =
+      new BigIntegerFieldDefinition(ModulusFinder.findSuitableModulus(128));
+  private final BigInteger montgomery = BigInteger.ONE.shiftLeft(128);
+  private String directory;
+  private List<FieldElement> alphaShares;
+  private List<SpdzTriple[]> triples;
+  private List<SpdzSInt[]> bits;
+  private List<List<SpdzInputMask[]>> masks;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = folder.getRoot().getPath() + File.separator;
+    alphaShares = FakeTripGen.generateAlphaShares(NO_OF_PARTIES, definition);
+    FieldElement alpha = alphaShares.get(0).add(alphaShares.get(1));
+    triples = FakeTripGen.generateTriples(AMOUNT, NO_OF_PARTIES, definition, alpha);
+    bits = FakeTripGen.generateBits(AMOUNT, NO_OF_PARTIES, definition, alpha);
+    masks = FakeTripGen.generateInputMasks(AMOUNT, NO_OF_PARTIES, definition, alpha);
+
+    write(MpSpdzDataSupplier.PARAMS_FILE,
+        (definition.getModulus() + "\n40\n").getBytes(StandardCharsets.US_ASCII));
+    for (int player = 0; player < NO_OF_PARTIES; player++) {
+      // MP-SPDZ writes key shares above p / 2 as negative numbers
+      BigInteger key = definition.convertToSigned(
+          definition.convertToUnsigned(alphaShares.get(player)));
+      write(MpSpdzDataSupplier.MAC_KEY_FILE_PREFIX + player,
+          (NO_OF_PARTIES + "\n" + key + " 0\n").getBytes(StandardCharsets.US_ASCII));
+      ByteArrayOutputStream tripleBytes = new ByteArrayOutputStream();
+      ByteArrayOutputStream squareBytes = new ByteArrayOutputStream();
+      ByteArrayOutputStream bitBytes = new ByteArrayOutputStream();
+      for (int i = 0; i < AMOUNT; i++) {
+        SpdzTriple triple = triples.get(i)[player];
+        writeShare(tripleBytes, triple.getA());
+        writeShare(tripleBytes, triple.getB());
+        writeShare(tripleBytes, triple.getC());
+        // not a square, but the supplier only uses the first share
+        writeShare(squareBytes, triple.getB());
+        writeShare(squareBytes, triple.getC());
+        writeShare(bitBytes, bits.get(i)[player]);
+      }
+      write("Triples-p-P" + player, tripleBytes.toByteArray());
+      write("Squares-p-P" + player, squareBytes.toByteArray());
+      write("Bits-p-P" + player, bitBytes.toByteArray());
+      for (int towards = 0; towards < NO_OF_PARTIES; towards++) {
+        ByteArrayOutputStream maskBytes = new ByteArrayOutputStream();
+        for (SpdzInputMask[] mask : masks.get(towards)) {
+          writeShare(maskBytes, mask[player].getMask());
+          if (towards == player) {
+            writeElement(maskBytes, mask[player].getRealValue());
+          }
+        }
+        write("Inputs-p-P" + player + "-" + towards, maskBytes.toByteArray());
+      }
+    }
+  }
+
+  @Test
+  public void testReadPlayerData() {
+    for (int myId = 1; myId <= NO_OF_PARTIES; myId++) {
+      MpSpdzDataSupplier supplier = new MpSpdzDataSupplier(directory, myId, NO_OF_PARTIES);
+      Assert.assertEquals(definition.getModulus(), supplier.getFieldDefinition().getModulus());
+      assertEquals(alphaShares.get(myId - 1), supplier.getSecretSharedKey());
+      for (int i = 0; i < AMOUNT; i++) {
+        SpdzTriple expected = triples.get(i)[myId - 1];
+        SpdzTriple actual = supplier.getNextTriple();
+        assertEquals(expected.getA(), actual.getA());
+        assertEquals(expected.getB(), actual.getB());
+        assertEquals(expected.getC(), actual.getC());
+        assertEquals(expected.getB(), supplier.getNextRandomFieldElement());
+        assertEquals(bits.get(i)[myId - 1], supplier.getNextBit());
+        for (int towards = 1; towards <= NO_OF_PARTIES; towards++) {
+          SpdzInputMask expectedMask = masks.get(towards - 1).get(i)[myId - 1];
+          SpdzInputMask actualMask = supplier.getNextInputMask(towards);
+          assertEquals(expectedMask.getMask(), actualMask.getMask());
+          if (towards == myId) {
+            assertEquals(expectedMask.getRealValue(), actualMask.getRealValue());
+          } else {
+            Assert.assertNull(actualMask.getRealValue());
+          }
+        }
+      }
+      try {
+        supplier.getNextTriple();
+        Assert.fail("The storage should have run out of triples");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+      supplier.close();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongNumberOfParties() {
+    new MpSpdzDataSupplier(directory, 1, 3).getSecretSharedKey();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testModulusNotFound() {
+    new MpSpdzDataSupplier(directory + "invalid", 1, NO_OF_PARTIES);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThreadFileNotFound() {
+    new MpSpdzDataSupplier(directory, 1, NO_OF_PARTIES, 0, 0).getNextTriple();
+  }
+
+  private void write(String name, byte[] bytes) throws IOException {
+    Files.write(new File(directory + name).toPath(), bytes);
+  }
+
+  private void writeShare(ByteArrayOutputStream out, SpdzSInt share) {
+    writeElement(out, share.getShare());
+    writeElement(out, share.getMac());
+  }
+
+  private void writeElement(ByteArrayOutputStream out, FieldElement element) {
+    BigInteger value = definition.convertToUnsigned(element).multiply(montgomery)
+        .mod(definition.getModulus());
+    byte[] bigEndian = value.toByteArray();
+    for (int i = 0; i < 16; i++) {
+      out.write(i < bigEndian.length ? bigEndian[bigEndian.length - 1 - i] : 0);
+    }
+  }
+
+  private void assertEquals(SpdzSInt expected, SpdzSInt actual) {
+    assertEquals(expected.getShare(), actual.getShare());
+    assertEquals(expected.getMac(), actual.getMac());
+  }
+
+  private void assertEquals(FieldElement expected, FieldElement actual) {
+    Assert.assertEquals(definition.convertToUnsigned(expected),
+        definition.convertToUnsigned(actual));
+  }
+}
@@ -0,0 +1,131 @@
+package dk.alexandra.fresco.suite.spdz.storage;
+
+import dk.alexandra.fresco.framework.builder.numeric.field.BigIntegerFieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import dk.alexandra.fresco.framework.util.ModulusFinder;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzInputMask;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzSInt;
+import dk.alexandra.fresco.suite.spdz.datatypes.SpdzTriple;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestSpdzBinaryStorage {
+
+  private static final int NO_OF_PARTIES = 2;
+  private static final int AMOUNT = 50;
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private final FieldDefinition definition =
+      new BigIntegerFieldDefinition(ModulusFinder.findSuitableModulus(128));
+
+  @Test
+  public void testWriteAndRead() throws IOException {
+    String storageName = folder.getRoot().getPath() + File.separator + "SPDZ_1_";
+    List<FieldElement> alphaShares = FakeTripGen.generateAlphaShares(NO_OF_PARTIES, definition);
+    FieldElement alpha = alphaShares.get(0).add(alphaShares.get(1));
+    List<SpdzTriple[]> triples =
+        FakeTripGen.generateTriples(AMOUNT, NO_OF_PARTIES, definition, alpha);
+    List<SpdzSInt[]> bits = FakeTripGen.generateBits(AMOUNT, NO_OF_PARTIES, definition, alpha);
+    List<List<SpdzInputMask[]>> masks =
+        FakeTripGen.generateInputMasks(AMOUNT, NO_OF_PARTIES, definition, alpha);
+    try (SpdzBinaryDataWriter writer = new SpdzBinaryDataWriter(storageName, definition)) {
+      writer.writeSecretSharedKey(alphaShares.get(0));
+      for (int i = 0; i < AMOUNT; i++) {
+        writer.writeTriple(triples.get(i)[0]);
+        writer.writeRandomElement(triples.get(i)[0].getB());
+        writer.writeBit(bits.get(i)[0]);
+        for (int towards = 1; towards <= NO_OF_PARTIES; towards++) {
+          writer.writeInputMask(towards, masks.get(towards - 1).get(i)[0]);
+        }
+      }
+      writer.writeExpPipe(new SpdzSInt[]{bits.get(0)[0], bits.get(1)[0], bits.get(2)[0]});
+    }
+
+    // a small window makes the reads cross several mapped windows
+    SpdzBinaryDataSupplier supplier =
+        new SpdzBinaryDataSupplier(storageName, NO_OF_PARTIES, 1000);
+    Assert.assertEquals(definition.getModulus(), supplier.getFieldDefinition().getModulus());
+    assertEquals(alphaShares.get(0), supplier.getSecretSharedKey());
+    for (int i = 0; i < AMOUNT; i++) {
+      SpdzTriple expected = triples.get(i)[0];
+      SpdzTriple actual = supplier.getNextTriple();
+      assertEquals(expected.getA(), actual.getA());
+      assertEquals(expected.getB(), actual.getB());
+      assertEquals(expected.getC(), actual.getC());
+      assertEquals(expected.getB(), supplier.getNextRandomFieldElement());
+      assertEquals(bits.get(i)[0], supplier.getNextBit());
+      SpdzInputMask own = supplier.getNextInputMask(1);
+      assertEquals(masks.get(0).get(i)[0].getMask(), own.getMask());
+      assertEquals(masks.get(0).get(i)[0].getRealValue(), own.getRealValue());
+      SpdzInputMask other = supplier.getNextInputMask(2);
+      assertEquals(masks.get(1).get(i)[0].getMask(), other.getMask());
+      Assert.assertNull(other.getRealValue());
+    }
+    SpdzSInt[] expPipe = supplier.getNextExpPipe();
+    Assert.assertEquals(3, expPipe.length);
+    for (int i = 0; i < expPipe.length; i++) {
+      assertEquals(bits.get(i)[0], expPipe[i]);
+    }
+    supplier.close();
+  }
+
+  @Test
+  public void testWriteFromSupplier() {
+    String storageName = folder.getRoot().getPath() + File.separator + "SPDZ_2_";
+    SpdzDummyDataSupplier dummy = new SpdzDummyDataSupplier(2, NO_OF_PARTIES, definition,
+        BigInteger.valueOf(1234));
+    try (SpdzBinaryDataWriter writer = new SpdzBinaryDataWriter(storageName, definition)) {
+      writer.writeFrom(dummy, NO_OF_PARTIES, AMOUNT, AMOUNT, AMOUNT, AMOUNT, 0);
+    }
+    SpdzBinaryDataSupplier supplier = new SpdzBinaryDataSupplier(storageName, NO_OF_PARTIES);
+    assertEquals(dummy.getSecretSharedKey(), supplier.getSecretSharedKey());
+    for (int i = 0; i < AMOUNT; i++) {
+      Assert.assertNotNull(supplier.getNextTriple());
+      Assert.assertNotNull(supplier.getNextRandomFieldElement());
+      Assert.assertNotNull(supplier.getNextBit());
+      Assert.assertNull(supplier.getNextInputMask(1).getRealValue());
+      Assert.assertNotNull(supplier.getNextInputMask(2).getRealValue());
+    }
+    try {
+      supplier.getNextTriple();
+      Assert.fail("The storage should have run out of triples");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    supplier.close();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSskNotFound() {
+    new SpdzBinaryDataSupplier(folder.getRoot().getPath() + File.separator + "invalid",
+        NO_OF_PARTIES).getSecretSharedKey();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTripleNotFound() {
+    String storageName = folder.getRoot().getPath() + File.separator + "SPDZ_3_";
+    try (SpdzBinaryDataWriter writer = new SpdzBinaryDataWriter(storageName, definition)) {
+      writer.writeSecretSharedKey(definition.createElement(1));
+    }
+    new SpdzBinaryDataSupplier(storageName, NO_OF_PARTIES).getNextTriple();
+  }
+
+  private void assertEquals(SpdzSInt expected, SpdzSInt actual) {
+    assertEquals(expected.getShare(), actual.getShare());
+    assertEquals(expected.getMac(), actual.getMac());
+  }
+
+  private void assertEquals(FieldElement expected, FieldElement actual) {
+    Assert.assertEquals(definition.convertToUnsigned(expected),
+        definition.convertToUnsigned(actual));
+  }
+}
@@ -15,6 +15,7 @@ import dk.alexandra.fresco.tools.mascot.prg.FieldElementPrg;
 import dk.alexandra.fresco.tools.mascot.prg.FieldElementPrgImpl;
 import dk.alexandra.fresco.tools.mascot.triple.TripleGeneration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -110,18 +111,28 @@ public class Mascot {
    * @return authenticated share
    */
   public AuthenticatedElement shareKnownElement(FieldElement value) {
+    return shareKnownElements(Collections.singletonList(value)).get(0);
+  }
+
+  /**
+   * Creates authenticated shares based on a batch of non authenticated shares. All parties must
+   * call this with the same number of values. The whole batch is authenticated with one input per
+   * party, so the COPE extension and the mac check are shared by all values.
+   *
+   * @param values non authenticated shared values
+   * @return authenticated shares
+   */
+  public List<AuthenticatedElement> shareKnownElements(List<FieldElement> values) {
     List<List<AuthenticatedElement>> perPartyElements = new ArrayList<>(
         resourcePool.getNoOfParties());
-    List<FieldElement> input = new ArrayList<>();
-    input.add(value);
     for (int partyId = 1; partyId <= resourcePool.getNoOfParties(); partyId++) {
       if (partyId == resourcePool.getMyId()) {
-        perPartyElements.add(elementGeneration.input(input));
+        perPartyElements.add(elementGeneration.input(values));
       } else {
-        perPartyElements.add(elementGeneration.input(partyId, 1));
+        perPartyElements.add(elementGeneration.input(partyId, values.size()));
       }
     }
-    return Addable.sumRows(perPartyElements).get(0);
+    return Addable.sumRows(perPartyElements);
   }
 
   /**
@@ -6,14 +6,13 @@ import dk.alexandra.fresco.framework.network.Network;
 import dk.alexandra.fresco.framework.util.Pair;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
 import dk.alexandra.fresco.tools.mascot.MascotResourcePool;
+import dk.alexandra.fresco.tools.mascot.field.FieldElementVector;
 import dk.alexandra.fresco.tools.mascot.mult.MultiplyRightHelper;
 import dk.alexandra.fresco.tools.mascot.prg.FieldElementPrg;
 import dk.alexandra.fresco.tools.mascot.prg.FieldElementPrgImpl;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 /**
  * Actively-secure implementation of the inputter party's side of the Correlated Oblivious Product
@@ -58,37 +57,32 @@ public class CopeInputter {
    */
   public List<FieldElement> extend(List<FieldElement> inputElements) {
     // use seeds to generate mask pairs
-    List<Pair<FieldElement, FieldElement>> maskPairs = generateMaskPairs(inputElements.size());
+    int numMasks = inputElements.size() * leftPrgs.size();
+    FieldElementVector zeroMasks = new FieldElementVector(resourcePool.getFieldDefinition(),
+        numMasks);
+    FieldElementVector oneMasks = new FieldElementVector(resourcePool.getFieldDefinition(),
+        numMasks);
+    generateMaskPairs(inputElements.size(), zeroMasks, oneMasks);
     // compute t0 - t1 + x for each input x for each mask pair
-    List<FieldElement> diffs = helper.computeDiffs(maskPairs, inputElements);
+    FieldElementVector diffs = helper.computeDiffs(zeroMasks, oneMasks, inputElements);
     // send diffs
-    network.send(otherId, resourcePool.getFieldDefinition().serialize(diffs));
-    // get zero index masks
-    List<FieldElement> feZeroSeeds =
-        maskPairs.parallelStream().map(Pair::getFirst).collect(Collectors.toList());
-
-    // compute product shares
-    return helper.computeProductShares(feZeroSeeds, inputElements.size());
-  }
-
-  private List<Pair<FieldElement, FieldElement>> generateMaskPairs(int numInputs) {
-    // for each input pair, we use our prf to get the next set of masks
-    List<Pair<FieldElement, FieldElement>> maskPairs = new ArrayList<>();
-    for (int i = 0; i < numInputs; i++) {
-      // generate masks for single input
-      maskPairs.addAll(generateMaskPairs());
-    }
-    return maskPairs;
+    network.send(otherId, diffs.toByteArray());
+    // compute product shares from zero index masks
+    return helper.computeProductShares(zeroMasks, inputElements.size()).asList();
   }
 
-  private List<Pair<FieldElement, FieldElement>> generateMaskPairs() {
-    Stream<Pair<FieldElement, FieldElement>> maskStream =
-        IntStream.range(0, leftPrgs.size()).parallel().mapToObj(idx -> {
-          FieldElement t0 = this.leftPrgs.get(idx).getNext();
-          FieldElement t1 = this.rightPrgs.get(idx).getNext();
-          return new Pair<>(t0, t1);
-        });
-    return maskStream.collect(Collectors.toList());
+  private void generateMaskPairs(int numInputs, FieldElementVector zeroMasks,
+      FieldElementVector oneMasks) {
+    // for each input, we use our prfs to get the next set of masks, one pair per prf pair
+    IntStream.range(0, leftPrgs.size()).parallel().forEach(prgIdx -> {
+      FieldElementPrg leftPrg = leftPrgs.get(prgIdx);
+      FieldElementPrg rightPrg = rightPrgs.get(prgIdx);
+      for (int i = 0; i < numInputs; i++) {
+        int maskIdx = i * leftPrgs.size() + prgIdx;
+        leftPrg.getNext(zeroMasks, maskIdx);
+        rightPrg.getNext(oneMasks, maskIdx);
+      }
+    });
   }
 
   private void seedPrgs(List<Pair<StrictBitVector, StrictBitVector>> seeds) {
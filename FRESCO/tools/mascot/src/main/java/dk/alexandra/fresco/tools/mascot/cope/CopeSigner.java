@@ -4,12 +4,12 @@ import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
 import dk.alexandra.fresco.framework.network.Network;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
 import dk.alexandra.fresco.tools.mascot.MascotResourcePool;
+import dk.alexandra.fresco.tools.mascot.field.FieldElementVector;
 import dk.alexandra.fresco.tools.mascot.mult.MultiplyLeftHelper;
 import dk.alexandra.fresco.tools.mascot.prg.FieldElementPrg;
 import dk.alexandra.fresco.tools.mascot.prg.FieldElementPrgImpl;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -61,28 +61,25 @@ public class CopeSigner {
    */
   public List<FieldElement> extend(int numInputs) {
     // compute chosen masks
-    List<FieldElement> chosenMasks = generateMasks(numInputs);
-    // use mac share for each input
-    List<FieldElement> macKeyShares =
-        IntStream.range(0, numInputs).mapToObj(idx -> macKeyShare).collect(Collectors.toList());
+    FieldElementVector chosenMasks = generateMasks(numInputs);
     // receive diffs from other party
-    List<FieldElement> diffs =
-        resourcePool.getFieldDefinition().deserializeList(network.receive(otherId));
-    // compute product shares
-    return multiplier.computeProductShares(macKeyShares, chosenMasks, diffs);
+    FieldElementVector diffs = FieldElementVector
+        .fromByteArray(resourcePool.getFieldDefinition(), network.receive(otherId));
+    // compute product shares, using the mac share for each input
+    return multiplier.computeProductShares(macKeyShare, chosenMasks, diffs).asList();
   }
 
-  private List<FieldElement> generateMasks(int numInputs) {
-    // for each input pair, we use our prgs to get the next set of masks
-    List<FieldElement> masks = new ArrayList<>();
-    // generate mask for each input
-    for (int i = 0; i < numInputs; i++) {
-      // generate masks for single input
-      List<FieldElement> singleInputMasks = prgs.parallelStream()
-          .map(FieldElementPrg::getNext)
-          .collect(Collectors.toList());
-      masks.addAll(singleInputMasks);
-    }
+  private FieldElementVector generateMasks(int numInputs) {
+    // the masks for each input are consecutive, one per prg
+    FieldElementVector masks =
+        new FieldElementVector(resourcePool.getFieldDefinition(), numInputs * prgs.size());
+    // each prg writes its masks for all inputs
+    IntStream.range(0, prgs.size()).parallel().forEach(prgIdx -> {
+      FieldElementPrg prg = prgs.get(prgIdx);
+      for (int i = 0; i < numInputs; i++) {
+        prg.getNext(masks, i * prgs.size() + prgIdx);
+      }
+    });
     return masks;
   }
 
@@ -106,6 +106,34 @@ public final class FieldElementUtils {
     return innerProduct(elements, generators.subList(0, elements.size()));
   }
 
+  /**
+   * Recombines the entries <i>from, ..., to - 1</i> of a vector like {@link #recombine(List)} and
+   * writes the result to an entry of another vector, without creating intermediate field
+   * elements.
+   *
+   * @param elements vector holding the elements to recombine
+   * @param from index of the first element to recombine
+   * @param to index after the last element to recombine
+   * @param result vector to write the recombined element to
+   * @param resultIndex index of the recombined element in result
+   */
+  public void recombine(FieldElementVector elements, int from, int to, FieldElementVector result,
+      int resultIndex) {
+    if (to - from > definition.getBitLength()) {
+      throw new IllegalArgumentException("Number of elements cannot exceed bit-length");
+    }
+    if (to == from) {
+      result.set(resultIndex, definition.createElement(0));
+      return;
+    }
+    // Horner's rule, doubling is an addition so the computation needs no multiplications
+    result.set(resultIndex, elements, to - 1);
+    for (int i = to - 2; i >= from; i--) {
+      result.add(resultIndex, result, resultIndex);
+      result.add(resultIndex, elements, i);
+    }
+  }
+
   /**
    * Duplicates each element stretchBy times. <br> For instance, stretching [e0, e1, e2] by 2
    * results in [e0, e0, e1, e1, e3, e3].
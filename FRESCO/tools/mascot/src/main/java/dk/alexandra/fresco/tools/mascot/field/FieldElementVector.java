@@ -0,0 +1,313 @@
+package dk.alexandra.fresco.tools.mascot.field;
+
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A fixed-size vector of field elements packed into a single array of 64-bit limbs.
+ *
+ * <p>Each element takes up as many limbs as the modulus, least significant limb first, and is kept
+ * in the range <i>0, ..., p - 1</i>. The arithmetic operations update single entries in place, so
+ * the bulk computations of COPE and the multiplication sub-protocol run without allocating a
+ * {@link FieldElement} per entry. Entries are converted to and from field elements only at the
+ * boundaries. The byte representation is the same as {@link FieldDefinition#serialize(List)}, so a
+ * vector can be sent and received without going through field elements at all.</p>
+ */
+public final class FieldElementVector {
+
+  private final FieldDefinition definition;
+  private final long[] modulus;
+  private final int limbs;
+  private final int byteLength;
+  private final int size;
+  private final long[] values;
+
+  /**
+   * Creates a new vector with all entries set to zero.
+   *
+   * @param definition the field of the entries
+   * @param size the number of entries
+   */
+  public FieldElementVector(FieldDefinition definition, int size) {
+    BigInteger prime = definition.getModulus();
+    this.definition = definition;
+    this.limbs = (prime.bitLength() + Long.SIZE - 1) / Long.SIZE;
+    this.byteLength = 1 + (definition.getBitLength() - 1) / Byte.SIZE;
+    this.modulus = new long[limbs];
+    for (int i = 0; i < limbs; i++) {
+      modulus[i] = prime.shiftRight(Long.SIZE * i).longValue();
+    }
+    this.size = size;
+    this.values = new long[size * limbs];
+  }
+
+  /**
+   * Creates a new vector holding the given elements.
+   *
+   * @param definition the field of the entries
+   * @param elements the elements
+   * @return the vector
+   */
+  public static FieldElementVector fromList(FieldDefinition definition,
+      List<FieldElement> elements) {
+    FieldElementVector vector = new FieldElementVector(definition, elements.size());
+    for (int i = 0; i < elements.size(); i++) {
+      vector.set(i, elements.get(i));
+    }
+    return vector;
+  }
+
+  /**
+   * Creates a new vector from serialized elements, as produced by {@link #toByteArray()} or
+   * {@link FieldDefinition#serialize(List)}.
+   *
+   * @param definition the field of the entries
+   * @param bytes the serialized elements
+   * @return the vector
+   */
+  public static FieldElementVector fromByteArray(FieldDefinition definition, byte[] bytes) {
+    int byteLength = 1 + (definition.getBitLength() - 1) / Byte.SIZE;
+    if (bytes.length % byteLength != 0) {
+      throw new IllegalArgumentException(
+          "Length of bytes must be a multiple of " + byteLength + " but is " + bytes.length);
+    }
+    FieldElementVector vector = new FieldElementVector(definition, bytes.length / byteLength);
+    for (int i = 0; i < vector.size; i++) {
+      vector.set(i, bytes, i * byteLength);
+    }
+    return vector;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of bytes each entry takes up when serialized.
+   */
+  public int getByteLength() {
+    return byteLength;
+  }
+
+  /**
+   * Returns the entry at index as a field element.
+   */
+  public FieldElement get(int index) {
+    byte[] bytes = new byte[limbs * Long.BYTES + 1];
+    int offset = index * limbs;
+    for (int i = 0; i < limbs; i++) {
+      long limb = values[offset + i];
+      for (int j = 0; j < Long.BYTES; j++) {
+        bytes[bytes.length - 1 - i * Long.BYTES - j] = (byte) (limb >>> (Byte.SIZE * j));
+      }
+    }
+    return definition.createElement(new BigInteger(bytes));
+  }
+
+  /**
+   * Sets the entry at index to a field element.
+   */
+  public void set(int index, FieldElement element) {
+    BigInteger value = definition.convertToUnsigned(element);
+    int offset = index * limbs;
+    for (int i = 0; i < limbs; i++) {
+      values[offset + i] = value.shiftRight(Long.SIZE * i).longValue();
+    }
+  }
+
+  /**
+   * Sets the entry at index to the entry at another index of a vector over the same field.
+   */
+  public void set(int index, FieldElementVector other, int otherIndex) {
+    System.arraycopy(other.values, otherIndex * limbs, values, index * limbs, limbs);
+  }
+
+  /**
+   * Sets the entry at index to a big-endian integer of {@link #getByteLength()} bytes, reduced
+   * modulo the modulus.
+   *
+   * @param index the index of the entry
+   * @param bytes the array holding the integer
+   * @param offset the position of the integer in the array
+   */
+  public void set(int index, byte[] bytes, int offset) {
+    int start = index * limbs;
+    read(start, bytes, offset);
+    while (compareToModulus(start) >= 0) {
+      subtractModulus(start);
+    }
+  }
+
+  /**
+   * Sets the entry at index to a big-endian integer of {@link #getByteLength()} bytes if it is
+   * smaller than the modulus. This allows rejection sampling directly into the vector.
+   *
+   * @param index the index of the entry
+   * @param bytes the array holding the integer
+   * @param offset the position of the integer in the array
+   * @return true if the integer was smaller than the modulus, otherwise the entry is unspecified
+   */
+  public boolean trySet(int index, byte[] bytes, int offset) {
+    int start = index * limbs;
+    read(start, bytes, offset);
+    return compareToModulus(start) < 0;
+  }
+
+  /**
+   * Adds the entry at another index of a vector over the same field to the entry at index. The
+   * other vector may be this vector.
+   */
+  public void add(int index, FieldElementVector other, int otherIndex) {
+    int start = index * limbs;
+    int otherStart = otherIndex * limbs;
+    long carry = 0;
+    for (int i = 0; i < limbs; i++) {
+      long a = values[start + i];
+      long sum = a + other.values[otherStart + i];
+      long carryOut = Long.compareUnsigned(sum, a) < 0 ? 1 : 0;
+      sum += carry;
+      carryOut += Long.compareUnsigned(sum, carry) < 0 ? 1 : 0;
+      values[start + i] = sum;
+      carry = carryOut;
+    }
+    if (carry != 0 || compareToModulus(start) >= 0) {
+      subtractModulus(start);
+    }
+  }
+
+  /**
+   * Subtracts the entry at another index of a vector over the same field from the entry at index.
+   * The other vector may be this vector.
+   */
+  public void subtract(int index, FieldElementVector other, int otherIndex) {
+    int start = index * limbs;
+    int otherStart = otherIndex * limbs;
+    long borrow = 0;
+    for (int i = 0; i < limbs; i++) {
+      long a = values[start + i];
+      long b = other.values[otherStart + i];
+      long difference = a - b;
+      long borrowOut = Long.compareUnsigned(a, b) < 0 ? 1 : 0;
+      borrowOut += Long.compareUnsigned(difference, borrow) < 0 ? 1 : 0;
+      values[start + i] = difference - borrow;
+      borrow = borrowOut;
+    }
+    if (borrow != 0) {
+      addModulus(start);
+    }
+  }
+
+  /**
+   * Negates the entry at index.
+   */
+  public void negate(int index) {
+    int start = index * limbs;
+    if (isZero(start)) {
+      return;
+    }
+    long borrow = 0;
+    for (int i = 0; i < limbs; i++) {
+      long a = values[start + i];
+      long difference = modulus[i] - a;
+      long borrowOut = Long.compareUnsigned(modulus[i], a) < 0 ? 1 : 0;
+      borrowOut += Long.compareUnsigned(difference, borrow) < 0 ? 1 : 0;
+      values[start + i] = difference - borrow;
+      borrow = borrowOut;
+    }
+  }
+
+  /**
+   * Serializes the entries in the format of {@link FieldDefinition#serialize(List)}.
+   *
+   * @return the serialized entries
+   */
+  public byte[] toByteArray() {
+    byte[] bytes = new byte[size * byteLength];
+    for (int index = 0; index < size; index++) {
+      int start = index * limbs;
+      int end = (index + 1) * byteLength - 1;
+      for (int j = 0; j < byteLength; j++) {
+        long limb = values[start + j / Long.BYTES];
+        bytes[end - j] = (byte) (limb >>> (Byte.SIZE * (j % Long.BYTES)));
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Converts the entries to a list of field elements.
+   *
+   * @return the entries as field elements
+   */
+  public List<FieldElement> asList() {
+    List<FieldElement> elements = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      elements.add(get(i));
+    }
+    return elements;
+  }
+
+  private void read(int start, byte[] bytes, int offset) {
+    for (int i = 0; i < limbs; i++) {
+      values[start + i] = 0;
+    }
+    int end = offset + byteLength - 1;
+    for (int j = 0; j < byteLength; j++) {
+      values[start + j / Long.BYTES] |=
+          Byte.toUnsignedLong(bytes[end - j]) << (Byte.SIZE * (j % Long.BYTES));
+    }
+  }
+
+  private boolean isZero(int start) {
+    for (int i = 0; i < limbs; i++) {
+      if (values[start + i] != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int compareToModulus(int start) {
+    for (int i = limbs - 1; i >= 0; i--) {
+      int comparison = Long.compareUnsigned(values[start + i], modulus[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Subtracts the modulus, ignoring the final borrow which cancels a carry out of the top limb.
+   */
+  private void subtractModulus(int start) {
+    long borrow = 0;
+    for (int i = 0; i < limbs; i++) {
+      long a = values[start + i];
+      long difference = a - modulus[i];
+      long borrowOut = Long.compareUnsigned(a, modulus[i]) < 0 ? 1 : 0;
+      borrowOut += Long.compareUnsigned(difference, borrow) < 0 ? 1 : 0;
+      values[start + i] = difference - borrow;
+      borrow = borrowOut;
+    }
+  }
+
+  /**
+   * Adds the modulus, ignoring the final carry which cancels a borrow out of the top limb.
+   */
+  private void addModulus(int start) {
+    long carry = 0;
+    for (int i = 0; i < limbs; i++) {
+      long a = values[start + i];
+      long sum = a + modulus[i];
+      long carryOut = Long.compareUnsigned(sum, a) < 0 ? 1 : 0;
+      sum += carry;
+      carryOut += Long.compareUnsigned(sum, carry) < 0 ? 1 : 0;
+      values[start + i] = sum;
+      carry = carryOut;
+    }
+  }
+}
@@ -5,9 +5,8 @@ import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
 import dk.alexandra.fresco.framework.network.Network;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
 import dk.alexandra.fresco.tools.mascot.MascotResourcePool;
-import dk.alexandra.fresco.tools.mascot.field.FieldElementUtils;
+import dk.alexandra.fresco.tools.mascot.field.FieldElementVector;
 import dk.alexandra.fresco.tools.ot.base.RotBatch;
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -21,11 +20,9 @@ public class MultiplyLeftHelper {
 
   private final RotBatch rot;
   private final MascotResourcePool resourcePool;
-  private final FieldElementUtils fieldElementUtils;
 
   public MultiplyLeftHelper(MascotResourcePool resourcePool, Network network, int otherId) {
     this.resourcePool = resourcePool;
-    this.fieldElementUtils = new FieldElementUtils(resourcePool.getFieldDefinition());
     this.rot = resourcePool.createRot(otherId, network);
   }
 
@@ -67,26 +64,69 @@ public class MultiplyLeftHelper {
    */
   public List<FieldElement> computeProductShares(List<FieldElement> leftFactors,
       List<FieldElement> feSeeds, List<FieldElement> diffs) {
-    final FieldElement zeroElement =
-        resourcePool.getFieldDefinition().createElement(BigInteger.ZERO);
-    List<FieldElement> result = new ArrayList<>(leftFactors.size());
-    int diffIdx = 0;
-    for (FieldElement leftFactor : leftFactors) {
-      StrictBitVector currentBits = resourcePool.getFieldDefinition()
-          .convertToBitVector(leftFactor);
-      List<FieldElement> summands = new ArrayList<>(resourcePool.getModBitLength());
-      for (int b = 0; b < resourcePool.getModBitLength(); b++) {
-        FieldElement feSeed = feSeeds.get(diffIdx);
-        FieldElement diff = diffs.get(diffIdx);
-        boolean bit = currentBits.getBit(b, true);
-        FieldElement select = bit ? diff : zeroElement;
-        FieldElement summand = select.add(feSeed);
-        summands.add(summand);
-        diffIdx++;
-      }
-      FieldElement productShare = fieldElementUtils.recombine(summands);
-      result.add(productShare);
+    FieldDefinition fieldDefinition = resourcePool.getFieldDefinition();
+    return computeProductShares(leftFactors,
+        FieldElementVector.fromList(fieldDefinition, feSeeds),
+        FieldElementVector.fromList(fieldDefinition, diffs)).asList();
+  }
+
+  /**
+   * Computes this party's shares of the products, like {@link #computeProductShares(List, List,
+   * List)}, on packed vectors.
+   *
+   * @param leftFactors this party's multiplication factors
+   * @param feSeeds seeds as field elements
+   * @param diffs the diffs received from other party
+   * @return product shares
+   */
+  public FieldElementVector computeProductShares(List<FieldElement> leftFactors,
+      FieldElementVector feSeeds, FieldElementVector diffs) {
+    FieldDefinition fieldDefinition = resourcePool.getFieldDefinition();
+    FieldElementVector result = new FieldElementVector(fieldDefinition, leftFactors.size());
+    for (int i = 0; i < leftFactors.size(); i++) {
+      StrictBitVector currentBits = fieldDefinition.convertToBitVector(leftFactors.get(i));
+      computeProductShare(currentBits, feSeeds, diffs, i, result);
     }
     return result;
   }
+
+  /**
+   * Computes this party's shares of the products of a single left factor and each of the other
+   * party's factors. <br> There is a product share per {@link MascotResourcePool#getModBitLength()}
+   * seeds.
+   *
+   * @param leftFactor this party's multiplication factor, used for all products
+   * @param feSeeds seeds as field elements
+   * @param diffs the diffs received from other party
+   * @return product shares
+   */
+  public FieldElementVector computeProductShares(FieldElement leftFactor,
+      FieldElementVector feSeeds, FieldElementVector diffs) {
+    FieldDefinition fieldDefinition = resourcePool.getFieldDefinition();
+    StrictBitVector bits = fieldDefinition.convertToBitVector(leftFactor);
+    int numProducts = feSeeds.size() / resourcePool.getModBitLength();
+    FieldElementVector result = new FieldElementVector(fieldDefinition, numProducts);
+    for (int i = 0; i < numProducts; i++) {
+      computeProductShare(bits, feSeeds, diffs, i, result);
+    }
+    return result;
+  }
+
+  /**
+   * Recombines the summands <i>q<sub>b</sub> + x<sub>b</sub> * d<sub>b</sub></i> for the bits
+   * <i>x<sub>b</sub></i> of the left factor, seeds <i>q<sub>b</sub></i> and diffs
+   * <i>d<sub>b</sub></i> into the zero-initialized entry of result at productIdx.
+   */
+  private void computeProductShare(StrictBitVector bits, FieldElementVector feSeeds,
+      FieldElementVector diffs, int productIdx, FieldElementVector result) {
+    int modBitLength = resourcePool.getModBitLength();
+    int offset = productIdx * modBitLength;
+    for (int b = modBitLength - 1; b >= 0; b--) {
+      result.add(productIdx, result, productIdx);
+      result.add(productIdx, feSeeds, offset + b);
+      if (bits.getBit(b, true)) {
+        result.add(productIdx, diffs, offset + b);
+      }
+    }
+  }
 }
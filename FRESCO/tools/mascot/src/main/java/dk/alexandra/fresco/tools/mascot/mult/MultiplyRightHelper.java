@@ -6,8 +6,8 @@ import dk.alexandra.fresco.framework.util.Pair;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
 import dk.alexandra.fresco.tools.mascot.MascotResourcePool;
 import dk.alexandra.fresco.tools.mascot.field.FieldElementUtils;
+import dk.alexandra.fresco.tools.mascot.field.FieldElementVector;
 import dk.alexandra.fresco.tools.ot.base.RotBatch;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -63,15 +63,37 @@ public class MultiplyRightHelper {
    */
   public List<FieldElement> computeDiffs(List<Pair<FieldElement, FieldElement>> feSeedPairs,
       List<FieldElement> rightFactors) {
-    List<FieldElement> diffs = new ArrayList<>(feSeedPairs.size());
-    int rightFactorIdx = 0;
-    int seedPairIdx = 0;
-    for (Pair<FieldElement, FieldElement> feSeedPair : feSeedPairs) {
-      FieldElement rightFactor = rightFactors.get(rightFactorIdx);
-      FieldElement diff = computeDiff(feSeedPair, rightFactor);
-      diffs.add(diff);
-      seedPairIdx++;
-      rightFactorIdx = seedPairIdx / (resourcePool.getModBitLength());
+    FieldElementVector zeroSeeds =
+        new FieldElementVector(resourcePool.getFieldDefinition(), feSeedPairs.size());
+    FieldElementVector oneSeeds =
+        new FieldElementVector(resourcePool.getFieldDefinition(), feSeedPairs.size());
+    for (int i = 0; i < feSeedPairs.size(); i++) {
+      zeroSeeds.set(i, feSeedPairs.get(i).getFirst());
+      oneSeeds.set(i, feSeedPairs.get(i).getSecond());
+    }
+    return computeDiffs(zeroSeeds, oneSeeds, rightFactors).asList();
+  }
+
+  /**
+   * Computes "masked" share of each bit of each of this party's factors, like {@link
+   * #computeDiffs(List, List)}, on packed vectors holding the first and second seed of each pair.
+   *
+   * @param feZeroSeeds the first seed of each pair as field elements
+   * @param feOneSeeds the second seed of each pair as field elements
+   * @param rightFactors this party's factors
+   * @return masked shares of this party's factor's bits.
+   */
+  public FieldElementVector computeDiffs(FieldElementVector feZeroSeeds,
+      FieldElementVector feOneSeeds, List<FieldElement> rightFactors) {
+    FieldElementVector factors =
+        FieldElementVector.fromList(resourcePool.getFieldDefinition(), rightFactors);
+    FieldElementVector diffs =
+        new FieldElementVector(resourcePool.getFieldDefinition(), feZeroSeeds.size());
+    for (int seedPairIdx = 0; seedPairIdx < feZeroSeeds.size(); seedPairIdx++) {
+      int rightFactorIdx = seedPairIdx / resourcePool.getModBitLength();
+      diffs.set(seedPairIdx, feZeroSeeds, seedPairIdx);
+      diffs.subtract(seedPairIdx, feOneSeeds, seedPairIdx);
+      diffs.add(seedPairIdx, factors, rightFactorIdx);
     }
     return diffs;
   }
@@ -86,21 +108,29 @@ public class MultiplyRightHelper {
    */
   public List<FieldElement> computeProductShares(List<FieldElement> feZeroSeeds,
       int numRightFactors) {
-    List<FieldElement> productShares = new ArrayList<>(numRightFactors);
+    return computeProductShares(
+        FieldElementVector.fromList(resourcePool.getFieldDefinition(), feZeroSeeds),
+        numRightFactors).asList();
+  }
+
+  /**
+   * Computes this party's shares of the final products, like {@link #computeProductShares(List,
+   * int)}, on a packed vector.
+   *
+   * @param feZeroSeeds the zero choice seeds
+   * @param numRightFactors number of total right factors
+   * @return shares of products
+   */
+  public FieldElementVector computeProductShares(FieldElementVector feZeroSeeds,
+      int numRightFactors) {
+    FieldElementVector productShares =
+        new FieldElementVector(resourcePool.getFieldDefinition(), numRightFactors);
     for (int rightFactIdx = 0; rightFactIdx < numRightFactors; rightFactIdx++) {
       int from = rightFactIdx * resourcePool.getModBitLength();
       int to = (rightFactIdx + 1) * resourcePool.getModBitLength();
-      List<FieldElement> subFactors = feZeroSeeds.subList(from, to);
-      FieldElement recombined = fieldElementUtils.recombine(subFactors);
-      productShares.add(recombined.negate());
+      fieldElementUtils.recombine(feZeroSeeds, from, to, productShares, rightFactIdx);
+      productShares.negate(rightFactIdx);
     }
     return productShares;
   }
-
-  private FieldElement computeDiff(Pair<FieldElement, FieldElement> feSeedPair,
-      FieldElement factor) {
-    FieldElement left = feSeedPair.getFirst();
-    FieldElement right = feSeedPair.getSecond();
-    return left.subtract(right).add(factor);
-  }
 }
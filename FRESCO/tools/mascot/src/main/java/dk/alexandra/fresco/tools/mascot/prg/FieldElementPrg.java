@@ -1,6 +1,7 @@
 package dk.alexandra.fresco.tools.mascot.prg;
 
 import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import dk.alexandra.fresco.tools.mascot.field.FieldElementVector;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,6 +14,17 @@ public interface FieldElementPrg {
    */
   FieldElement getNext();
 
+  /**
+   * Deterministically generates random field element and writes it directly to an entry of a
+   * vector. Produces the same element as {@link #getNext()} would have.
+   *
+   * @param vector the vector to write to
+   * @param index the index of the entry to write
+   */
+  default void getNext(FieldElementVector vector, int index) {
+    vector.set(index, getNext());
+  }
+
   /**
    * Generates multiple random field elements.
    *
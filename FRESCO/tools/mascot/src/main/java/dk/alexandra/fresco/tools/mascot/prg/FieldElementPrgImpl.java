@@ -4,13 +4,18 @@ import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
 import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
 import dk.alexandra.fresco.framework.util.AesCtrDrbg;
 import dk.alexandra.fresco.framework.util.AesCtrDrbgFactory;
+import dk.alexandra.fresco.framework.util.Drbg;
 import dk.alexandra.fresco.framework.util.Drng;
 import dk.alexandra.fresco.framework.util.DrngImpl;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
+import dk.alexandra.fresco.tools.mascot.field.FieldElementVector;
 
 public class FieldElementPrgImpl implements FieldElementPrg {
 
+  private final Drbg drbg;
   private final Drng drng;
+  private final byte[] buffer;
+  private final int topBits;
   private FieldDefinition definition;
 
   /**
@@ -22,14 +27,30 @@ public class FieldElementPrgImpl implements FieldElementPrg {
     this.definition = definition;
     byte[] bytes = seed.toByteArray();
     if (bytes.length != AesCtrDrbg.SEED_LENGTH) {
-      this.drng = new DrngImpl(AesCtrDrbgFactory.fromDerivedSeed(bytes));
+      this.drbg = AesCtrDrbgFactory.fromDerivedSeed(bytes);
     } else {
-      this.drng = new DrngImpl(AesCtrDrbgFactory.fromRandomSeed(bytes));
+      this.drbg = AesCtrDrbgFactory.fromRandomSeed(bytes);
     }
+    this.drng = new DrngImpl(drbg);
+    int bitLength = definition.getModulus().bitLength();
+    this.buffer = new byte[1 + (bitLength - 1) / Byte.SIZE];
+    this.topBits = bitLength % Byte.SIZE == 0 ? Byte.SIZE : bitLength % Byte.SIZE;
   }
 
   @Override
   public FieldElement getNext() {
     return definition.createElement(drng.nextBigInteger(definition.getModulus()));
   }
+
+  /**
+   * Samples by rejection straight into the vector, drawing the same bytes from the underlying DRBG
+   * as {@link DrngImpl#nextBigInteger(java.math.BigInteger)} does.
+   */
+  @Override
+  public void getNext(FieldElementVector vector, int index) {
+    do {
+      drbg.nextBytes(buffer);
+      buffer[0] &= ~(0b11111111 << topBits);
+    } while (!vector.trySet(index, buffer, 0));
+  }
 }
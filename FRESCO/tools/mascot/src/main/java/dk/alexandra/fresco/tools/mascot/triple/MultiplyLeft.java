@@ -4,9 +4,9 @@ import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
 import dk.alexandra.fresco.framework.network.Network;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
 import dk.alexandra.fresco.tools.mascot.MascotResourcePool;
+import dk.alexandra.fresco.tools.mascot.field.FieldElementVector;
 import dk.alexandra.fresco.tools.mascot.mult.MultiplyLeftHelper;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Left hand side of a two-party protocol for computing a secret sharing of a the entry wise product
@@ -60,11 +60,11 @@ class MultiplyLeft {
   public List<FieldElement> multiply(List<FieldElement> leftFactors) {
     List<StrictBitVector> seeds = multiplyLeftHelper.generateSeeds(leftFactors,
         resourcePool.getModBitLength());
-    List<FieldElement> feSeeds = seedsToFieldElements(seeds);
+    FieldElementVector feSeeds = seedsToFieldElements(seeds);
     // receive diffs from other party
-    List<FieldElement> diffs =
-        resourcePool.getFieldDefinition().deserializeList(network.receive(otherId));
-    return multiplyLeftHelper.computeProductShares(leftFactors, feSeeds, diffs);
+    FieldElementVector diffs = FieldElementVector
+        .fromByteArray(resourcePool.getFieldDefinition(), network.receive(otherId));
+    return multiplyLeftHelper.computeProductShares(leftFactors, feSeeds, diffs).asList();
   }
 
   /**
@@ -73,12 +73,13 @@ class MultiplyLeft {
    * @param seeds the seeds represented as bit vectors
    * @return seeds converted to field elements
    */
-  private List<FieldElement> seedsToFieldElements(List<StrictBitVector> seeds) {
-    return seeds.parallelStream().map(this::fromBits).collect(Collectors.toList());
-  }
-
-  private FieldElement fromBits(StrictBitVector vector) {
-    // safe since the modulus is guaranteed to be close enough to 2^modBitLength
-    return resourcePool.getFieldDefinition().deserialize(vector.toByteArray());
+  private FieldElementVector seedsToFieldElements(List<StrictBitVector> seeds) {
+    FieldElementVector feSeeds =
+        new FieldElementVector(resourcePool.getFieldDefinition(), seeds.size());
+    for (int i = 0; i < seeds.size(); i++) {
+      // safe since the modulus is guaranteed to be close enough to 2^modBitLength
+      feSeeds.set(i, seeds.get(i).toByteArray(), 0);
+    }
+    return feSeeds;
   }
 }
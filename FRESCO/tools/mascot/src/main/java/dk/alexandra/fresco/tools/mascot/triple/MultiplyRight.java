@@ -5,9 +5,9 @@ import dk.alexandra.fresco.framework.network.Network;
 import dk.alexandra.fresco.framework.util.Pair;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
 import dk.alexandra.fresco.tools.mascot.MascotResourcePool;
+import dk.alexandra.fresco.tools.mascot.field.FieldElementVector;
 import dk.alexandra.fresco.tools.mascot.mult.MultiplyRightHelper;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Right hand side of a two-party protocol for computing a secret sharing of a the entry wise
@@ -64,31 +64,22 @@ class MultiplyRight {
     List<Pair<StrictBitVector, StrictBitVector>> seedPairs =
         multiplyRightHelper.generateSeeds(rightFactors.size(), resourcePool.getModBitLength());
     // convert seeds pairs to field elements so we can compute on them
-    List<Pair<FieldElement, FieldElement>> feSeedPairs =
-        seedsToFieldElements(seedPairs);
+    FieldElementVector feZeroSeeds =
+        new FieldElementVector(resourcePool.getFieldDefinition(), seedPairs.size());
+    FieldElementVector feOneSeeds =
+        new FieldElementVector(resourcePool.getFieldDefinition(), seedPairs.size());
+    for (int i = 0; i < seedPairs.size(); i++) {
+      // safe since the modulus is guaranteed to be close enough to 2^modBitLength
+      feZeroSeeds.set(i, seedPairs.get(i).getFirst().toByteArray(), 0);
+      feOneSeeds.set(i, seedPairs.get(i).getSecond().toByteArray(), 0);
+    }
     // compute q0 - q1 + b for each seed pair
-    List<FieldElement> diffs = multiplyRightHelper.computeDiffs(feSeedPairs, rightFactors);
+    FieldElementVector diffs =
+        multiplyRightHelper.computeDiffs(feZeroSeeds, feOneSeeds, rightFactors);
     // send diffs over to other party
-    network.send(otherId, resourcePool.getFieldDefinition().serialize(diffs));
-    // get zero index seeds
-    List<FieldElement> feZeroSeeds =
-        feSeedPairs.parallelStream().map(Pair::getFirst).collect(Collectors.toList());
-    // compute product shares
-    return multiplyRightHelper.computeProductShares(feZeroSeeds, rightFactors.size());
-  }
-
-  private List<Pair<FieldElement, FieldElement>> seedsToFieldElements(
-      List<Pair<StrictBitVector, StrictBitVector>> seedPairs) {
-    return seedPairs.parallelStream().map(pair -> {
-      FieldElement t0 = fromBits(pair.getFirst());
-      FieldElement t1 = fromBits(pair.getSecond());
-      return new Pair<>(t0, t1);
-    }).collect(Collectors.toList());
-  }
-
-  private FieldElement fromBits(StrictBitVector vector) {
-    // safe since the modulus is guaranteed to be close enough to 2^modBitLength
-    return resourcePool.getFieldDefinition().deserialize(vector.toByteArray());
+    network.send(otherId, diffs.toByteArray());
+    // compute product shares from zero index seeds
+    return multiplyRightHelper.computeProductShares(feZeroSeeds, rightFactors.size()).asList();
   }
 
 }
@@ -51,6 +51,12 @@ public class TestMascot extends NetworkedTest {
     return mascot.input(inputterId, numInputs);
   }
 
+  private List<AuthenticatedElement> runShareKnownElements(MascotTestContext ctx,
+      FieldElement macKeyShare, List<FieldElement> values) {
+    Mascot mascot = new Mascot(ctx.getResourcePool(), ctx.getNetwork(), macKeyShare);
+    return mascot.shareKnownElements(values);
+  }
+
   private List<InputMask> runInputMask(MascotTestContext ctx, Integer inputterId, int numMasks,
       FieldElement macKeyShare) {
     Mascot mascot = new Mascot(ctx.getResourcePool(), ctx.getNetwork(), macKeyShare);
@@ -169,6 +175,37 @@ public class TestMascot extends NetworkedTest {
     CustomAsserts.assertEquals(getFieldDefinition(), expectedMac, actualRecombinedMac);
   }
 
+  @Test
+  public void testShareKnownElements() {
+    // set up runtime environment and get contexts
+    initContexts(2);
+    int numValues = 32;
+
+    List<FieldElement> leftValues = new ArrayList<>(numValues);
+    List<FieldElement> rightValues = new ArrayList<>(numValues);
+    for (int i = 0; i < numValues; i++) {
+      leftValues.add(getFieldDefinition().createElement(1000 + i));
+      rightValues.add(getFieldDefinition().createElement(7 * i));
+    }
+
+    // define per party task with params
+    List<Callable<List<AuthenticatedElement>>> tasks = new ArrayList<>();
+    tasks.add(() -> runShareKnownElements(contexts.get(1), macKeyShareOne, leftValues));
+    tasks.add(() -> runShareKnownElements(contexts.get(2), macKeyShareTwo, rightValues));
+
+    List<List<AuthenticatedElement>> results = testRuntime.runPerPartyTasks(tasks);
+    assertEquals(results.get(0).size(), numValues);
+    assertEquals(results.get(1).size(), numValues);
+    FieldElement macKey = macKeyShareOne.add(macKeyShareTwo);
+    for (int i = 0; i < numValues; i++) {
+      // the values act as additive shares, so the results recombine to their sum with its MAC
+      FieldElement value = leftValues.get(i).add(rightValues.get(i));
+      AuthenticatedElement recombined = results.get(0).get(i).add(results.get(1).get(i));
+      CustomAsserts.assertEquals(getFieldDefinition(),
+          new AuthenticatedElement(value, value.multiply(macKey)), recombined);
+    }
+  }
+
   @Test
   public void testTripleDifferentModBiLength() {
     // set up runtime environment and get contexts
@@ -0,0 +1,114 @@
+package dk.alexandra.fresco.tools.mascot.field;
+
+import dk.alexandra.fresco.framework.builder.numeric.field.BigIntegerFieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldDefinition;
+import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
+import dk.alexandra.fresco.framework.builder.numeric.field.MersennePrimeFieldDefinition;
+import dk.alexandra.fresco.tools.mascot.CustomAsserts;
+import dk.alexandra.fresco.tools.mascot.MascotTestUtils;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestFieldElementVector {
+
+  private final BigIntegerFieldDefinition definition = new BigIntegerFieldDefinition(
+      "340282366920938463463374607431768211297");
+  private final int[] leftArr = {1, 2, 3, 4};
+  private final List<FieldElement> left =
+      MascotTestUtils.generateSingleRow(leftArr, definition);
+  private final int[] rightArr = {5, 6, 7, 8};
+  private final List<FieldElement> right =
+      MascotTestUtils.generateSingleRow(rightArr, definition);
+
+  @Test
+  public void testArithmeticMatchesFieldElements() {
+    testArithmetic(definition);
+    testArithmetic(new BigIntegerFieldDefinition("65521"));
+    testArithmetic(new MersennePrimeFieldDefinition(127, 1));
+    testArithmetic(new BigIntegerFieldDefinition(BigInteger.ONE.shiftLeft(192).nextProbablePrime()
+        .toString()));
+  }
+
+  private void testArithmetic(FieldDefinition definition) {
+    Random random = new Random(42);
+    List<FieldElement> left = new ArrayList<>();
+    List<FieldElement> right = new ArrayList<>();
+    left.add(definition.createElement(0));
+    right.add(definition.createElement(-1));
+    left.add(definition.createElement(-1));
+    right.add(definition.createElement(-1));
+    for (int i = 0; i < 100; i++) {
+      left.add(definition.createElement(new BigInteger(definition.getBitLength() + 8, random)));
+      right.add(definition.createElement(new BigInteger(definition.getBitLength() + 8, random)));
+    }
+    FieldElementVector sums = FieldElementVector.fromList(definition, left);
+    FieldElementVector differences = FieldElementVector.fromList(definition, left);
+    FieldElementVector negations = FieldElementVector.fromList(definition, left);
+    FieldElementVector rightVector = FieldElementVector.fromList(definition, right);
+    List<FieldElement> expectedSums = new ArrayList<>();
+    List<FieldElement> expectedDifferences = new ArrayList<>();
+    List<FieldElement> expectedNegations = new ArrayList<>();
+    for (int i = 0; i < left.size(); i++) {
+      sums.add(i, rightVector, i);
+      differences.subtract(i, rightVector, i);
+      negations.negate(i);
+      expectedSums.add(left.get(i).add(right.get(i)));
+      expectedDifferences.add(left.get(i).subtract(right.get(i)));
+      expectedNegations.add(left.get(i).negate());
+    }
+    CustomAsserts.assertEquals(definition, expectedSums, sums.asList());
+    CustomAsserts.assertEquals(definition, expectedDifferences, differences.asList());
+    CustomAsserts.assertEquals(definition, expectedNegations, negations.asList());
+  }
+
+  @Test
+  public void testAddToItself() {
+    FieldElementVector vector = FieldElementVector.fromList(definition, left);
+    vector.add(3, vector, 3);
+    vector.add(0, vector, 2);
+    CustomAsserts.assertEquals(definition, definition.createElement(8), vector.get(3));
+    CustomAsserts.assertEquals(definition, definition.createElement(4), vector.get(0));
+  }
+
+  @Test
+  public void testSerializationMatchesDefinition() {
+    FieldElementVector vector = FieldElementVector.fromList(definition, right);
+    byte[] bytes = definition.serialize(right);
+    Assert.assertArrayEquals(bytes, vector.toByteArray());
+    CustomAsserts.assertEquals(definition, right,
+        FieldElementVector.fromByteArray(definition, bytes).asList());
+  }
+
+  @Test
+  public void testSetFromBytesReduces() {
+    FieldElementVector vector = new FieldElementVector(definition, 2);
+    byte[] bytes = new byte[2 * vector.getByteLength()];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) 0xFF;
+    }
+    vector.set(1, bytes, vector.getByteLength());
+    BigInteger allOnes = BigInteger.ONE.shiftLeft(definition.getBitLength())
+        .subtract(BigInteger.ONE);
+    CustomAsserts.assertEquals(definition, definition.createElement(allOnes), vector.get(1));
+    Assert.assertFalse(vector.trySet(0, bytes, 0));
+    bytes[0] = 0;
+    Assert.assertTrue(vector.trySet(0, bytes, 0));
+  }
+
+  @Test
+  public void testSetFromOtherVector() {
+    FieldElementVector vector = new FieldElementVector(definition, 2);
+    vector.set(1, FieldElementVector.fromList(definition, left), 3);
+    CustomAsserts.assertEquals(definition, definition.createElement(0), vector.get(0));
+    CustomAsserts.assertEquals(definition, left.get(3), vector.get(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testFromByteArrayWrongLength() {
+    FieldElementVector.fromByteArray(definition, new byte[3]);
+  }
+}
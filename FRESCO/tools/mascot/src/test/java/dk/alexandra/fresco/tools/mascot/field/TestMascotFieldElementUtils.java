@@ -66,6 +66,18 @@ public class TestMascotFieldElementUtils {
     CustomAsserts.assertEquals(definition, definition.createElement(49), actual);
   }
 
+  @Test
+  public void testRecombineVector() {
+    FieldElementVector elements = FieldElementVector.fromList(definition, left);
+    FieldElementVector result = new FieldElementVector(definition, 3);
+    fieldElementUtils.recombine(elements, 0, 4, result, 0);
+    fieldElementUtils.recombine(elements, 1, 3, result, 1);
+    fieldElementUtils.recombine(elements, 2, 2, result, 2);
+    CustomAsserts.assertEquals(definition, definition.createElement(49), result.get(0));
+    CustomAsserts.assertEquals(definition, definition.createElement(8), result.get(1));
+    CustomAsserts.assertEquals(definition, definition.createElement(0), result.get(2));
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void recombineLengthMismatch() {
     List<FieldElement> elements =
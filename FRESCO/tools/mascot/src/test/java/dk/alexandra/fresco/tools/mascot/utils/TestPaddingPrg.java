@@ -7,6 +7,7 @@ import dk.alexandra.fresco.framework.builder.numeric.field.BigIntegerFieldDefini
 import dk.alexandra.fresco.framework.builder.numeric.field.FieldElement;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
 import dk.alexandra.fresco.tools.mascot.CustomAsserts;
+import dk.alexandra.fresco.tools.mascot.field.FieldElementVector;
 import dk.alexandra.fresco.tools.mascot.prg.FieldElementPrg;
 import dk.alexandra.fresco.tools.mascot.prg.FieldElementPrgImpl;
 import java.math.BigInteger;
@@ -65,6 +66,19 @@ public class TestPaddingPrg {
     CustomAsserts.assertEquals(definition, elOne, elTwo);
   }
 
+  @Test
+  public void testGetNextIntoVectorMatchesGetNext() {
+    byte[] seedBytes = new byte[32];
+    new Random().nextBytes(seedBytes);
+    FieldElementPrg prgOne = new FieldElementPrgImpl(new StrictBitVector(seedBytes), definition);
+    FieldElementPrg prgTwo = new FieldElementPrgImpl(new StrictBitVector(seedBytes), definition);
+    FieldElementVector vector = new FieldElementVector(definition, 100);
+    for (int i = 0; i < vector.size(); i++) {
+      prgTwo.getNext(vector, i);
+    }
+    CustomAsserts.assertEquals(definition, prgOne.getNext(vector.size()), vector.asList());
+  }
+
   @Test
   public void testDifferentSeedsProduceDifferentFieldElements() {
     byte[] seedBytesOne = new byte[32];
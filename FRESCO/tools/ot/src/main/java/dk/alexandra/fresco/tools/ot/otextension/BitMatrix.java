@@ -0,0 +1,246 @@
+package dk.alexandra.fresco.tools.ot.otextension;
+
+import dk.alexandra.fresco.framework.util.Drbg;
+import dk.alexandra.fresco.framework.util.StrictBitVector;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A row-major bit matrix stored in a single contiguous array of 64-bit words.
+ *
+ * <p>Each row is padded to a whole number of words, and the bits of a row are read from left to
+ * right, like the bytes of a {@link StrictBitVector}. That is, column <i>c</i> is bit <i>63 - (c
+ * mod 64)</i> of word <i>c / 64</i> of the row. This lets {@link Transpose#transpose(BitMatrix)}
+ * work on whole words, and the rows can be handed out as {@link BitMatrixRow} views without
+ * copying.</p>
+ */
+public final class BitMatrix {
+
+  private final int rows;
+  private final int columns;
+  private final int wordsPerRow;
+  private final long[] words;
+
+  /**
+   * Creates a new matrix with all entries set to zero.
+   *
+   * @param rows the amount of rows
+   * @param columns the amount of columns, which must be divisible by 8
+   */
+  public BitMatrix(int rows, int columns) {
+    if (rows < 0 || columns < 0) {
+      throw new IllegalArgumentException("The dimensions of the matrix must not be negative");
+    }
+    if (columns % Byte.SIZE != 0) {
+      throw new IllegalArgumentException("The amount of columns must be divisible by 8");
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.wordsPerRow = (columns + Long.SIZE - 1) / Long.SIZE;
+    this.words = new long[rows * wordsPerRow];
+  }
+
+  /**
+   * Creates a new matrix from a list of rows, which must all be of equal size.
+   *
+   * @param rows the rows of the matrix
+   * @return the matrix
+   */
+  public static BitMatrix fromRows(List<StrictBitVector> rows) {
+    int columns = rows.isEmpty() ? 0 : rows.get(0).getSize();
+    BitMatrix matrix = new BitMatrix(rows.size(), columns);
+    for (int i = 0; i < rows.size(); i++) {
+      if (rows.get(i).getSize() != columns) {
+        throw new IllegalArgumentException("Not all rows are of equal length");
+      }
+      matrix.setRow(i, rows.get(i).toByteArray(), 0);
+    }
+    return matrix;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  /**
+   * Returns a view of a row. Changes to the view are changes to this matrix and vice versa.
+   *
+   * @param row the index of the row
+   * @return a view of the row
+   */
+  public BitMatrixRow getRow(int row) {
+    rangeCheck(row);
+    return new BitMatrixRow(this, row);
+  }
+
+  /**
+   * Returns a list view of the rows, see {@link #getRow(int)}.
+   *
+   * @return a list of views of the rows
+   */
+  public List<BitMatrixRow> asRows() {
+    return new RowList();
+  }
+
+  /**
+   * Copies the rows into a list of independent bit vectors.
+   *
+   * @return the rows as bit vectors
+   */
+  public List<StrictBitVector> toRows() {
+    List<StrictBitVector> result = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      StrictBitVector vector = new StrictBitVector(columns);
+      writeRow(i, vector.toByteArray(), 0);
+      result.add(vector);
+    }
+    return result;
+  }
+
+  /**
+   * Sets a row to the bytes at the given offset of an array.
+   *
+   * @param row the index of the row
+   * @param bytes the array holding <i>columns / 8</i> bytes of the row
+   * @param offset the offset of the row in the array
+   */
+  public void setRow(int row, byte[] bytes, int offset) {
+    rangeCheck(row);
+    int start = row * wordsPerRow;
+    for (int w = 0; w < wordsPerRow; w++) {
+      words[start + w] = readWord(bytes, offset, w);
+    }
+  }
+
+  /**
+   * XORs the bytes at the given offset of an array into a row.
+   *
+   * @param row the index of the row
+   * @param bytes the array holding <i>columns / 8</i> bytes to XOR into the row
+   * @param offset the offset of the bytes in the array
+   */
+  public void xorRow(int row, byte[] bytes, int offset) {
+    rangeCheck(row);
+    int start = row * wordsPerRow;
+    for (int w = 0; w < wordsPerRow; w++) {
+      words[start + w] ^= readWord(bytes, offset, w);
+    }
+  }
+
+  /**
+   * XORs a row of another matrix with the same amount of columns into a row of this matrix.
+   *
+   * @param row the index of the row of this matrix
+   * @param other the other matrix, which may be this matrix
+   * @param otherRow the index of the row of the other matrix
+   */
+  public void xorRow(int row, BitMatrix other, int otherRow) {
+    if (other.columns != columns) {
+      throw new IllegalArgumentException("The rows are not of equal length");
+    }
+    rangeCheck(row);
+    other.rangeCheck(otherRow);
+    int start = row * wordsPerRow;
+    int otherStart = otherRow * wordsPerRow;
+    for (int w = 0; w < wordsPerRow; w++) {
+      words[start + w] ^= other.words[otherStart + w];
+    }
+  }
+
+  /**
+   * Sets a row to the next bytes of a DRBG.
+   *
+   * @param row the index of the row
+   * @param drbg the DRBG to draw the row from
+   */
+  public void randomizeRow(int row, Drbg drbg) {
+    byte[] bytes = new byte[columns / Byte.SIZE];
+    drbg.nextBytes(bytes);
+    setRow(row, bytes, 0);
+  }
+
+  /**
+   * Serializes the matrix as the bytes of each row, one row after the other.
+   *
+   * @return the serialized matrix
+   */
+  public byte[] toByteArray() {
+    int rowBytes = columns / Byte.SIZE;
+    byte[] bytes = new byte[rows * rowBytes];
+    for (int i = 0; i < rows; i++) {
+      writeRow(i, bytes, i * rowBytes);
+    }
+    return bytes;
+  }
+
+  boolean getBit(int row, int column) {
+    long word = words[row * wordsPerRow + column / Long.SIZE];
+    return ((word >>> (Long.SIZE - 1 - column % Long.SIZE)) & 1) == 1;
+  }
+
+  void setBit(int row, int column, boolean value) {
+    int index = row * wordsPerRow + column / Long.SIZE;
+    long mask = 1L << (Long.SIZE - 1 - column % Long.SIZE);
+    if (value) {
+      words[index] |= mask;
+    } else {
+      words[index] &= ~mask;
+    }
+  }
+
+  void writeRow(int row, byte[] bytes, int offset) {
+    int start = row * wordsPerRow;
+    int rowBytes = columns / Byte.SIZE;
+    for (int b = 0; b < rowBytes; b++) {
+      long word = words[start + b / Long.BYTES];
+      bytes[offset + b] = (byte) (word >>> (Byte.SIZE * (Long.BYTES - 1 - b % Long.BYTES)));
+    }
+  }
+
+  long[] getWords() {
+    return words;
+  }
+
+  int getWordsPerRow() {
+    return wordsPerRow;
+  }
+
+  /**
+   * Reads word w of a row from its bytes, padding the last word with zeros.
+   */
+  private long readWord(byte[] bytes, int offset, int w) {
+    int first = w * Long.BYTES;
+    int end = Math.min(first + Long.BYTES, columns / Byte.SIZE);
+    long word = 0;
+    for (int b = first; b < end; b++) {
+      word |= Byte.toUnsignedLong(bytes[offset + b])
+          << (Byte.SIZE * (Long.BYTES - 1 - (b - first)));
+    }
+    return word;
+  }
+
+  private void rangeCheck(int row) {
+    if (row < 0 || row >= rows) {
+      throw new IndexOutOfBoundsException("Row " + row + " is out of bounds");
+    }
+  }
+
+  private class RowList extends AbstractList<BitMatrixRow> implements RandomAccess {
+
+    @Override
+    public BitMatrixRow get(int index) {
+      return getRow(index);
+    }
+
+    @Override
+    public int size() {
+      return rows;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package dk.alexandra.fresco.tools.ot.otextension;
+
+import dk.alexandra.fresco.framework.util.BitVector;
+
+/**
+ * A view of a row of a {@link BitMatrix} as a bit vector. The view does not copy the bits of the
+ * row, so changes to the view are changes to the matrix and vice versa.
+ *
+ * <p>Bits are indexed like in {@link dk.alexandra.fresco.framework.util.StrictBitVector}, so the
+ * two can be used interchangeably.</p>
+ */
+public final class BitMatrixRow implements BitVector {
+
+  private final BitMatrix matrix;
+  private final int row;
+
+  BitMatrixRow(BitMatrix matrix, int row) {
+    this.matrix = matrix;
+    this.row = row;
+  }
+
+  /**
+   * Returns the bit at a given index of this row.
+   *
+   * @param index The index of the bit, counting from 0
+   * @param isBigEndian Indicates whether the row should be read as big-endian or little-endian
+   * @return Returns the bit at the given index
+   */
+  public boolean getBit(int index, boolean isBigEndian) {
+    return matrix.getBit(row, column(index, isBigEndian));
+  }
+
+  @Override
+  public boolean getBit(int index) {
+    return getBit(index, true);
+  }
+
+  /**
+   * Sets the bit at a given index of this row.
+   *
+   * @param index The index of the bit, counting from 0
+   * @param value value to set bit to
+   * @param isBigEndian Indicates whether the row should be read as big-endian or little-endian
+   */
+  public void setBit(int index, boolean value, boolean isBigEndian) {
+    matrix.setBit(row, column(index, isBigEndian), value);
+  }
+
+  @Override
+  public void setBit(int index, boolean value) {
+    setBit(index, value, true);
+  }
+
+  @Override
+  public int getSize() {
+    return matrix.getColumns();
+  }
+
+  /**
+   * Returns a copy of the bits of this row, in the byte representation of {@link
+   * dk.alexandra.fresco.framework.util.StrictBitVector}.
+   *
+   * @return A byte array with the content of this row
+   */
+  @Override
+  public byte[] toByteArray() {
+    byte[] bytes = new byte[getSize() / Byte.SIZE];
+    writeTo(bytes, 0);
+    return bytes;
+  }
+
+  /**
+   * Writes the bytes of this row into an array, as {@link #toByteArray()} but without allocating a
+   * new array.
+   *
+   * @param bytes the array to write to
+   * @param offset the position in the array to write the row to
+   */
+  void writeTo(byte[] bytes, int offset) {
+    matrix.writeRow(row, bytes, offset);
+  }
+
+  @Override
+  public void xor(BitVector other) {
+    if (other.getSize() != getSize()) {
+      throw new IllegalArgumentException("The vectors are not of equal length");
+    }
+    if (other instanceof BitMatrixRow) {
+      BitMatrixRow otherRow = (BitMatrixRow) other;
+      matrix.xorRow(row, otherRow.matrix, otherRow.row);
+    } else {
+      matrix.xorRow(row, other.toByteArray(), 0);
+    }
+  }
+
+  private int column(int index, boolean isBigEndian) {
+    if (index < 0 || index >= getSize()) {
+      throw new IndexOutOfBoundsException("Index out of bounds");
+    }
+    return isBigEndian ? getSize() - 1 - index : index;
+  }
+}
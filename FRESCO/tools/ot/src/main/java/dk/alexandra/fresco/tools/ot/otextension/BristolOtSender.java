@@ -67,20 +67,21 @@ public class BristolOtSender {
     StrictBitVector randomZero = randomMessages.getFirst().get(offset);
     StrictBitVector randomOne = randomMessages.getSecond().get(offset);
     int maxLength = Math.max(messageZero.length, messageOne.length);
+    CorrelationRobustHash hash = resources.getCorrelationRobustHash();
     // Receive a bit from the receiver indicating whether the zero and one
     // messages should be switched around
     byte[] switchBit = network.receive(resources.getOtherId());
     // If false (indicated by byte 0x00), then don't switch around
     if (switchBit[0] == 0x00) {
       network.send(resources.getOtherId(),
-          PseudoOtp.encrypt(messageZero, randomZero.toByteArray(), maxLength));
+          PseudoOtp.encrypt(messageZero, randomZero.toByteArray(), maxLength, hash));
       network.send(resources.getOtherId(),
-          PseudoOtp.encrypt(messageOne, randomOne.toByteArray(), maxLength));
+          PseudoOtp.encrypt(messageOne, randomOne.toByteArray(), maxLength, hash));
     } else {
       network.send(resources.getOtherId(),
-          PseudoOtp.encrypt(messageOne, randomZero.toByteArray(), maxLength));
+          PseudoOtp.encrypt(messageOne, randomZero.toByteArray(), maxLength, hash));
       network.send(resources.getOtherId(),
-          PseudoOtp.encrypt(messageZero, randomOne.toByteArray(), maxLength));
+          PseudoOtp.encrypt(messageZero, randomOne.toByteArray(), maxLength, hash));
     }
   }
 }
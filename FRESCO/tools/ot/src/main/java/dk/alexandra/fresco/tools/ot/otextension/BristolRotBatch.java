@@ -11,8 +11,8 @@ import java.util.stream.IntStream;
 /**
  * Class implementing a batched random OT protocol, allowing the sending and receiving of any type
  * of objects and of any lengths. Use the underlying random OT protocol to construct random messages
- * in a batch. Then use each of these messages as a seed to a PRG and extend them to a sufficient
- * amount of bits.
+ * in a batch. Then stretch each of these messages to a sufficient amount of bits using the
+ * correlation robust hash function of the extension, which hashes the whole batch at once.
  */
 public class BristolRotBatch implements RotBatch {
   private final RotFactory rot;
@@ -43,14 +43,11 @@ public class BristolRotBatch implements RotBatch {
     }
     int amountToPreprocess = computeExtensionSize(numMessages, comSecParam, statSecParam);
     Pair<List<StrictBitVector>, List<StrictBitVector>> messages = sender.extend(amountToPreprocess);
-    List<StrictBitVector> zeroMessages = messages.getFirst().parallelStream().limit(numMessages)
-        .map(m -> LengthAdjustment.adjust(m.toByteArray(), sizeOfEachMessage / Byte.SIZE))
-        .map(StrictBitVector::new)
-        .collect(Collectors.toList());
-    List<StrictBitVector> oneMessages = messages.getSecond().parallelStream().limit(numMessages)
-        .map(m -> LengthAdjustment.adjust(m.toByteArray(), sizeOfEachMessage / Byte.SIZE))
-        .map(StrictBitVector::new)
-        .collect(Collectors.toList());
+    CorrelationRobustHash hash = rot.getCorrelationRobustHash();
+    List<StrictBitVector> zeroMessages = hash.hash(messages.getFirst(), numMessages,
+        sizeOfEachMessage);
+    List<StrictBitVector> oneMessages = hash.hash(messages.getSecond(), numMessages,
+        sizeOfEachMessage);
     return IntStream.range(0, numMessages).parallel()
         .mapToObj(i -> new Pair<>(zeroMessages.get(i), oneMessages.get(i)))
         .collect(Collectors.toList());
@@ -65,10 +62,7 @@ public class BristolRotBatch implements RotBatch {
     byte[] extraByteChoices = Arrays.copyOf(choiceBits.toByteArray(),
         amountToPreprocess / Byte.SIZE);
     List<StrictBitVector> messages = receiver.extend(new StrictBitVector(extraByteChoices));
-    return messages.parallelStream().limit(choiceBits.getSize())
-        .map(m -> LengthAdjustment.adjust(m.toByteArray(), sizeOfEachMessage / Byte.SIZE))
-        .map(StrictBitVector::new)
-        .collect(Collectors.toList());
+    return rot.getCorrelationRobustHash().hash(messages, choiceBits.getSize(), sizeOfEachMessage);
   }
 
   /**
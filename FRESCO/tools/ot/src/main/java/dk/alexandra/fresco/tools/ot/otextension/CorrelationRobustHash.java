@@ -0,0 +1,28 @@
+package dk.alexandra.fresco.tools.ot.otextension;
+
+import dk.alexandra.fresco.framework.util.BitVector;
+import dk.alexandra.fresco.framework.util.StrictBitVector;
+import java.util.List;
+
+/**
+ * A correlation robust hash function, as used to break the correlation between the OTs of an
+ * extension and to stretch random OT messages to the length needed by the caller.
+ *
+ * <p>Each input is hashed together with its index in the list, so that equal inputs at different
+ * positions give independent outputs. Implementations are expected to hash a whole batch at a
+ * time, rather than one input per call.</p>
+ */
+public interface CorrelationRobustHash {
+
+  /**
+   * Hashes the first {@code amount} elements of a list, each together with its index in the list.
+   *
+   * @param inputs The elements to hash. All elements MUST have the same length
+   * @param amount The amount of elements of the list to hash. Must be less than or equal to the
+   *        amount of elements in the list
+   * @param outputSize The bit length of each hash, which must be divisible by 8
+   * @return A list containing the hashes
+   */
+  List<StrictBitVector> hash(List<? extends BitVector> inputs, int amount, int outputSize);
+
+}
@@ -7,7 +7,6 @@ import dk.alexandra.fresco.framework.util.StrictBitVector;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -41,7 +40,9 @@ public class CoteReceiver extends CoteShared {
   }
 
   /**
-   * Constructs a new batch of correlated OTs with errors.
+   * Constructs a new batch of correlated OTs with errors, copied into a bit
+   * vector per OT. The random OT extension uses
+   * {@link #extendMatrix(StrictBitVector)} instead, to avoid the copies.
    *
    * @param choices
    *          The receivers random choices for this extension. This MUST have
@@ -50,55 +51,35 @@ public class CoteReceiver extends CoteShared {
    *         received messages
    */
   public List<StrictBitVector> extend(StrictBitVector choices) {
-    if (choices.getSize() < 1) {
-      throw new IllegalArgumentException(
-          "The amount of OTs must be a positive integer");
-    }
-    int bytesNeeded = choices.getSize() / Byte.SIZE;
-    final List<StrictBitVector>  tlistZero = prgs.parallelStream()
-        .limit(resources.getComputationalSecurityParameter())
-        .map(p -> p.getFirst())
-        .map(drbg -> {
-          byte[] byteBuffer = new byte[bytesNeeded];
-          drbg.nextBytes(byteBuffer);
-          return byteBuffer;
-        })
-        .map(StrictBitVector::new)
-        .collect(Collectors.toList());
-    final List<StrictBitVector> ulist = prgs.parallelStream()
-        .limit(resources.getComputationalSecurityParameter())
-        .map(p -> p.getSecond())
-        .map(drbg -> {
-          byte[] byteBuffer = new byte[bytesNeeded];
-          drbg.nextBytes(byteBuffer);
-          return byteBuffer;
-        })
-        .map(StrictBitVector::new)
-        .collect(Collectors.toList());
-    ulist.parallelStream().forEach(u -> u.xor(choices));
-    IntStream.range(0, resources.getComputationalSecurityParameter()).parallel()
-      .forEach(i -> ulist.get(i).xor(tlistZero.get(i)));
-    sendList(ulist);
-    return Transpose.transpose(tlistZero);
+    return extendMatrix(choices).toRows();
   }
 
-
   /**
-   * Sends a list of StrictBitVectors to the default (0) channel.
+   * Constructs a new batch of correlated OTs with errors, as a matrix with a
+   * row per OT.
    *
-   * @param list
-   *          List to send, where all elements are required to have the same
-   *          length.
+   * @param choices
+   *          The receivers random choices for this extension. The size MUST
+   *          be divisible by 8.
+   * @return the matrix of received messages, which can be read through
+   *         {@link BitMatrix#asRows()} without copying
    */
-  private void sendList(List<StrictBitVector> list) {
-    // Find the amount of bytes needed for each bitvector in the list
-    int elementLength = list.get(0).getSize() / 8;
-    // Allocate space for all elements in the list.
-    byte[] toSend = new byte[(list.get(0).getSize() / 8) * list.size()];
-    for (int i = 0; i < list.size(); i++) {
-      System.arraycopy(list.get(i).toByteArray(), 0, toSend, i * elementLength,
-          elementLength);
+  public BitMatrix extendMatrix(StrictBitVector choices) {
+    if (choices.getSize() < 1) {
+      throw new IllegalArgumentException(
+          "The amount of OTs must be a positive integer");
     }
-    network.send(resources.getOtherId(), toSend);
+    int comSecParam = resources.getComputationalSecurityParameter();
+    final BitMatrix tmatrixZero = new BitMatrix(comSecParam, choices.getSize());
+    final BitMatrix umatrix = new BitMatrix(comSecParam, choices.getSize());
+    final byte[] choiceBytes = choices.toByteArray();
+    IntStream.range(0, comSecParam).parallel().forEach(i -> {
+      tmatrixZero.randomizeRow(i, prgs.get(i).getFirst());
+      umatrix.randomizeRow(i, prgs.get(i).getSecond());
+      umatrix.xorRow(i, choiceBytes, 0);
+      umatrix.xorRow(i, tmatrixZero, i);
+    });
+    network.send(resources.getOtherId(), umatrix.toByteArray());
+    return Transpose.transpose(tmatrixZero);
   }
 }
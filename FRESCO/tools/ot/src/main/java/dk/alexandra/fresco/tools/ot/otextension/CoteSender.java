@@ -6,7 +6,6 @@ import dk.alexandra.fresco.framework.util.StrictBitVector;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -50,11 +49,22 @@ public class CoteSender extends CoteShared {
   }
 
   /**
-   * Constructs a new batch of correlated OTs with errors.
+   * Constructs a new batch of correlated OTs with errors, copied into a bit vector per OT. The
+   * random OT extension uses {@link #extendMatrix(int)} instead, to avoid the copies.
    *
    * @param size Amount of OTs to construct
    */
   public List<StrictBitVector> extend(int size) {
+    return extendMatrix(size).toRows();
+  }
+
+  /**
+   * Constructs a new batch of correlated OTs with errors, as a matrix with a row per OT.
+   *
+   * @param size Amount of OTs to construct
+   * @return the matrix of OTs, which can be read through {@link BitMatrix#asRows()} without copying
+   */
+  public BitMatrix extendMatrix(int size) {
     if (size < 1) {
       throw new IllegalArgumentException("The amount of OTs must be a positive integer");
     }
@@ -63,38 +73,17 @@ public class CoteSender extends CoteShared {
           "The amount of OTs must be a positive integer divisible by 8");
     }
     int bytesNeeded = size / Byte.SIZE;
-    final List<StrictBitVector> tlist = prgs.parallelStream()
-        .limit(resources.getComputationalSecurityParameter())
-        .map(drbg -> {
-          byte[] bytes = new byte[bytesNeeded];
-          drbg.nextBytes(bytes);
-          return bytes;
-        })
-        .map(StrictBitVector::new)
-        .collect(Collectors.toList());
-    final List<StrictBitVector> ulist = receiveList(resources.getComputationalSecurityParameter());
-    IntStream.range(0, resources.getComputationalSecurityParameter()).parallel()
-        .filter(i -> otChoices.getBit(i, false))
-        .forEach(i -> tlist.get(i).xor(ulist.get(i)));
-    return Transpose.transpose(tlist);
-  }
-
-  /**
-   * Receives a list of StrictBitVectors from the default (0) channel.
-   *
-   * @param size Amount of elements in vector to receive. All of which must be of equal size.
-   * @return The list of received elements, or null in case an error occurred.
-   */
-  private List<StrictBitVector> receiveList(int size) {
-    List<StrictBitVector> list = new ArrayList<>(size);
-    byte[] byteBuffer = network.receive(resources.getOtherId());
-    int elementLength = byteBuffer.length / size;
-    for (int i = 0; i < size; i++) {
-      byte[] currentVector = new byte[elementLength];
-      System.arraycopy(byteBuffer, i * elementLength, currentVector, 0, elementLength);
-      StrictBitVector currentArr = new StrictBitVector(currentVector);
-      list.add(currentArr);
+    int comSecParam = resources.getComputationalSecurityParameter();
+    final BitMatrix tmatrix = new BitMatrix(comSecParam, size);
+    IntStream.range(0, comSecParam).parallel()
+        .forEach(i -> tmatrix.randomizeRow(i, prgs.get(i)));
+    final byte[] ubytes = network.receive(resources.getOtherId());
+    if (ubytes.length != comSecParam * bytesNeeded) {
+      throw new IllegalArgumentException("The amount of bytes received does not match the OTs");
     }
-    return list;
+    IntStream.range(0, comSecParam).parallel()
+        .filter(i -> otChoices.getBit(i, false))
+        .forEach(i -> tmatrix.xorRow(i, ubytes, i * bytesNeeded));
+    return Transpose.transpose(tmatrix);
   }
 }
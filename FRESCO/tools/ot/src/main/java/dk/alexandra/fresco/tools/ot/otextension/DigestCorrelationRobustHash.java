@@ -0,0 +1,63 @@
+package dk.alexandra.fresco.tools.ot.otextension;
+
+import dk.alexandra.fresco.framework.util.BitVector;
+import dk.alexandra.fresco.framework.util.StrictBitVector;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A correlation robust hash based on a {@link MessageDigest}, which digests each input
+ * concatenated with its index. Hashes longer than the digest are stretched using {@link
+ * LengthAdjustment}.
+ *
+ * <p>This is the hash originally used for random OT extension. It digests one input at a time, so
+ * {@link FixedKeyAesHash} is considerably faster.</p>
+ */
+public class DigestCorrelationRobustHash implements CorrelationRobustHash {
+
+  private final MessageDigest digest;
+
+  /**
+   * Constructs a hash based on a message digest. Calls to {@link #hash(List, int, int)} are
+   * synchronized on this object, so the digest should not be used elsewhere at the same time.
+   *
+   * @param digest The message digest to use
+   */
+  public DigestCorrelationRobustHash(MessageDigest digest) {
+    this.digest = digest;
+  }
+
+  @Override
+  public synchronized List<StrictBitVector> hash(List<? extends BitVector> inputs, int amount,
+      int outputSize) {
+    checkArguments(inputs, amount, outputSize);
+    List<StrictBitVector> res = new ArrayList<>(amount);
+    if (amount == 0) {
+      return res;
+    }
+    // Allocate a buffer to contain the index of the value to hash along with
+    // the value itself.
+    ByteBuffer indexBuffer = ByteBuffer.allocate((Integer.SIZE + inputs.get(0).getSize()) / 8);
+    for (int i = 0; i < amount; i++) {
+      indexBuffer.clear();
+      indexBuffer.putInt(i);
+      indexBuffer.put(inputs.get(i).toByteArray());
+      byte[] hash = digest.digest(indexBuffer.array());
+      res.add(new StrictBitVector(LengthAdjustment.adjust(hash, outputSize / Byte.SIZE)));
+    }
+    return res;
+  }
+
+  static void checkArguments(List<? extends BitVector> inputs, int amount, int outputSize) {
+    if (amount < 0 || amount > inputs.size()) {
+      throw new IllegalArgumentException("Can not hash " + amount + " out of " + inputs.size()
+          + " elements");
+    }
+    if (outputSize < 0 || outputSize % Byte.SIZE != 0) {
+      throw new IllegalArgumentException(
+          "The output size must be non-negative and divisible by 8");
+    }
+  }
+}
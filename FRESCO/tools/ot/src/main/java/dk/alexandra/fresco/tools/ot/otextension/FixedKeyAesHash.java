@@ -0,0 +1,145 @@
+package dk.alexandra.fresco.tools.ot.otextension;
+
+import dk.alexandra.fresco.framework.util.BitVector;
+import dk.alexandra.fresco.framework.util.ExceptionConverter;
+import dk.alexandra.fresco.framework.util.StrictBitVector;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * A correlation robust hash based on AES under a fixed, public key, which is modelled as a random
+ * permutation <i>&pi;</i>.
+ *
+ * <p>A 128-bit block <i>x</i> is hashed under a tweak <i>t</i> using the Matyas-Meyer-Oseas style
+ * construction <i>&pi;(&pi;(x) &oplus; t) &oplus; &pi;(x)</i> of Guo et al. (<i>Efficient and
+ * Secure Multiparty Computation from Fixed-Key Block Ciphers</i>), which unlike <i>&pi;(x &oplus;
+ * t) &oplus; x &oplus; t</i> stays secure when the adversary picks the inputs. The tweak encodes
+ * the index of the input, the index of the input block and the index of the output block. Each
+ * 128-bit block of a hash is the XOR of the hashes of all the input blocks under their tweaks.</p>
+ *
+ * <p>The permutation is applied to the whole batch in two calls to the cipher, one for the inner
+ * and one for the outer applications, which lets the JVM use the AES instructions of the CPU on
+ * long runs of blocks. This is far cheaper than a SHA-256 digest per input.</p>
+ */
+public class FixedKeyAesHash implements CorrelationRobustHash {
+
+  private static final int BLOCK_BYTES = 16;
+  /**
+   * The default key, which is the first 128 bits of the fractional part of pi. Any key will do, as
+   * long as both parties use the same one.
+   */
+  private static final byte[] DEFAULT_KEY = {
+      (byte) 0x24, (byte) 0x3F, (byte) 0x6A, (byte) 0x88, (byte) 0x85, (byte) 0xA3, (byte) 0x08,
+      (byte) 0xD3, (byte) 0x13, (byte) 0x19, (byte) 0x8A, (byte) 0x2E, (byte) 0x03, (byte) 0x70,
+      (byte) 0x73, (byte) 0x44};
+
+  private final Cipher cipher;
+
+  /**
+   * Constructs a hash using AES under the default key.
+   */
+  public FixedKeyAesHash() {
+    this(DEFAULT_KEY);
+  }
+
+  /**
+   * Constructs a hash using AES under a given key, which must be known to both parties.
+   *
+   * @param key A 128-bit AES key
+   */
+  public FixedKeyAesHash(byte[] key) {
+    if (key.length != BLOCK_BYTES) {
+      throw new IllegalArgumentException("The key must be " + BLOCK_BYTES + " bytes");
+    }
+    this.cipher = ExceptionConverter.safe(() -> {
+      Cipher aes = Cipher.getInstance("AES/ECB/NoPadding");
+      aes.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"));
+      return aes;
+    }, "Configuration error, AES is needed for OT extension");
+  }
+
+  @Override
+  public synchronized List<StrictBitVector> hash(List<? extends BitVector> inputs, int amount,
+      int outputSize) {
+    DigestCorrelationRobustHash.checkArguments(inputs, amount, outputSize);
+    List<StrictBitVector> res = new ArrayList<>(amount);
+    if (amount == 0) {
+      return res;
+    }
+    int inputBytes = inputs.get(0).getSize() / Byte.SIZE;
+    int inputBlocks = Math.max(1, (inputBytes + BLOCK_BYTES - 1) / BLOCK_BYTES);
+    int outputBytes = outputSize / Byte.SIZE;
+    int outputBlocks = (outputBytes + BLOCK_BYTES - 1) / BLOCK_BYTES;
+    // Compute pi(x) for every input block, zero padding the last block of each input
+    byte[] inner = new byte[amount * inputBlocks * BLOCK_BYTES];
+    for (int i = 0; i < amount; i++) {
+      BitVector input = inputs.get(i);
+      if (input.getSize() != inputBytes * Byte.SIZE) {
+        throw new IllegalArgumentException("Not all inputs are of equal length");
+      }
+      if (input instanceof BitMatrixRow) {
+        // rows of the OT extension matrix are copied straight into the batch
+        ((BitMatrixRow) input).writeTo(inner, i * inputBlocks * BLOCK_BYTES);
+      } else {
+        System.arraycopy(input.toByteArray(), 0, inner, i * inputBlocks * BLOCK_BYTES,
+            inputBytes);
+      }
+    }
+    permute(inner);
+    // Compute pi(pi(x) XOR t) for every input block under the tweak of every output block
+    byte[] outer = new byte[amount * outputBlocks * inputBlocks * BLOCK_BYTES];
+    for (int i = 0; i < amount; i++) {
+      for (int k = 0; k < outputBlocks; k++) {
+        for (int j = 0; j < inputBlocks; j++) {
+          int offset = ((i * outputBlocks + k) * inputBlocks + j) * BLOCK_BYTES;
+          System.arraycopy(inner, (i * inputBlocks + j) * BLOCK_BYTES, outer, offset, BLOCK_BYTES);
+          xorTweak(outer, offset, i, j, k);
+        }
+      }
+    }
+    permute(outer);
+    // Add pi(x) and sum the input blocks of each output block
+    byte[] block = new byte[BLOCK_BYTES];
+    for (int i = 0; i < amount; i++) {
+      StrictBitVector hash = new StrictBitVector(outputSize);
+      byte[] hashBytes = hash.toByteArray();
+      for (int k = 0; k < outputBlocks; k++) {
+        Arrays.fill(block, (byte) 0);
+        for (int j = 0; j < inputBlocks; j++) {
+          int offset = ((i * outputBlocks + k) * inputBlocks + j) * BLOCK_BYTES;
+          int innerOffset = (i * inputBlocks + j) * BLOCK_BYTES;
+          for (int b = 0; b < BLOCK_BYTES; b++) {
+            block[b] ^= outer[offset + b] ^ inner[innerOffset + b];
+          }
+        }
+        int length = Math.min(BLOCK_BYTES, outputBytes - k * BLOCK_BYTES);
+        System.arraycopy(block, 0, hashBytes, k * BLOCK_BYTES, length);
+      }
+      res.add(hash);
+    }
+    return res;
+  }
+
+  /**
+   * Applies the permutation to every block of an array in place.
+   */
+  private void permute(byte[] blocks) {
+    ExceptionConverter.safe(() -> cipher.update(blocks, 0, blocks.length, blocks, 0),
+        "Could not apply AES to the input");
+  }
+
+  /**
+   * XORs the tweak of output block k of input block j of input i into a block.
+   */
+  private static void xorTweak(byte[] blocks, int offset, int i, int j, int k) {
+    for (int b = 0; b < Integer.BYTES; b++) {
+      int shift = Byte.SIZE * (Integer.BYTES - 1 - b);
+      blocks[offset + b] ^= (byte) (i >>> shift);
+      blocks[offset + Integer.BYTES + b] ^= (byte) (j >>> shift);
+      blocks[offset + 2 * Integer.BYTES + b] ^= (byte) (k >>> shift);
+    }
+  }
+}
@@ -1,8 +1,10 @@
 package dk.alexandra.fresco.tools.ot.otextension;
 
+import dk.alexandra.fresco.framework.util.StrictBitVector;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
 
 /**
@@ -51,6 +53,27 @@ final class LengthAdjustment {
     return key;
   }
 
+  /**
+   * Generates an array of the desired length, either by truncating a candidate array, or stretching
+   * it using a correlation robust hash function.
+   *
+   * @param candidate the candidate key
+   * @param byteLength the desired key length
+   * @param hash the hash function to stretch the candidate with
+   * @return a key of the desired length
+   */
+  static byte[] adjust(byte[] candidate, int byteLength, CorrelationRobustHash hash) {
+    Objects.requireNonNull(candidate);
+    if (byteLength < 0) {
+      throw new IllegalArgumentException("Can not adjust length to negative length: " + byteLength);
+    }
+    if (candidate.length >= byteLength) {
+      return Arrays.copyOf(candidate, byteLength);
+    }
+    return hash.hash(Collections.singletonList(new StrictBitVector(candidate)), 1,
+        byteLength * Byte.SIZE).get(0).toByteArray();
+  }
+
   private static MessageDigest getDigest(String algo) {
     MessageDigest digest;
     try {
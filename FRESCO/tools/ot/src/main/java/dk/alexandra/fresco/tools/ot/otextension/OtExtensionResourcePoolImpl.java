@@ -43,6 +43,7 @@ public class OtExtensionResourcePoolImpl extends ResourcePoolImpl implements
   private final int lambdaSecurityParam;
   private final int instanceId;
   private final MessageDigest digest;
+  private final CorrelationRobustHash hash;
   private final RotList seedOts;
   private final CoinTossing ct;
   private final Drbg drbg;
@@ -70,6 +71,36 @@ public class OtExtensionResourcePoolImpl extends ResourcePoolImpl implements
   public OtExtensionResourcePoolImpl(int myId, int otherId,
       int computationalSecurityParam, int lambdaSecurityParam, int instanceId,
       Drbg drbg, CoinTossing ct, RotList seedOts) {
+    this(myId, otherId, computationalSecurityParam, lambdaSecurityParam,
+        instanceId, drbg, ct, seedOts, new FixedKeyAesHash());
+  }
+
+  /**
+   * Constructs an OT extension resource pool with a specific correlation
+   * robust hash function.
+   *
+   * @param myId
+   *          The ID of the calling party
+   * @param otherId
+   *          The ID of the other party
+   * @param computationalSecurityParam
+   *          The computational security parameter
+   * @param lambdaSecurityParam
+   *          The statistical security parameter
+   * @param instanceId
+   *          The instance ID of this specific resource pool instance
+   * @param drbg
+   *          The randomness generator to be used by the calling party
+   * @param ct
+   *          An instance of a coin tossing protocol to be used with this specific resource pool
+   * @param seedOts
+   *          The seed OTs to be used as the base of the extension
+   * @param hash
+   *          The correlation robust hash function, which must be the same for both parties
+   */
+  public OtExtensionResourcePoolImpl(int myId, int otherId,
+      int computationalSecurityParam, int lambdaSecurityParam, int instanceId,
+      Drbg drbg, CoinTossing ct, RotList seedOts, CorrelationRobustHash hash) {
     super(myId, 2);
     if (computationalSecurityParam < 1 || lambdaSecurityParam < 1
         || lambdaSecurityParam % 8 != 0 || computationalSecurityParam
@@ -87,6 +118,7 @@ public class OtExtensionResourcePoolImpl extends ResourcePoolImpl implements
         "Configuration error, SHA-256 is needed for OT extension");
     this.ct = ct;
     this.seedOts = seedOts;
+    this.hash = hash;
   }
 
   @Override
@@ -115,6 +147,11 @@ public class OtExtensionResourcePoolImpl extends ResourcePoolImpl implements
     return digest;
   }
 
+  @Override
+  public CorrelationRobustHash getCorrelationRobustHash() {
+    return hash;
+  }
+
   @Override
   public int getInstanceId() {
     return instanceId;
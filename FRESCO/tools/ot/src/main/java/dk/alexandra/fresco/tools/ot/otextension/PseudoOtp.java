@@ -59,6 +59,26 @@ public final class PseudoOtp {
     return cipherText;
   }
 
+  /**
+   * As {@link #encrypt(byte[], byte[], int)}, but stretches short keys using a correlation robust
+   * hash function.
+   *
+   * @param message the message to be encrypted
+   * @param keyCandidate the candidate key for OTP encryption
+   * @param messageLength fixes the length of the message to encrypt, the given <code>message</code>
+   *        will be either truncated or padded with zeroes to match this length.
+   * @param hash the hash function used to stretch the key
+   * @return the resulting cipher text
+   */
+  public static byte[] encrypt(byte[] message, byte[] keyCandidate, int messageLength,
+      CorrelationRobustHash hash) {
+    Objects.requireNonNull(message);
+    Objects.requireNonNull(keyCandidate);
+    byte[] cipherText = LengthAdjustment.adjust(keyCandidate, messageLength, hash);
+    ByteArrayHelper.xor(cipherText, Arrays.copyOf(message, messageLength));
+    return cipherText;
+  }
+
   /**
    * Given a candidate key OTP decrypts a cipher text using either the key directly or a key pseudo
    * randomly derived from the candidate, in order to match the length of the cipher text.
@@ -104,4 +124,22 @@ public final class PseudoOtp {
     return key;
   }
 
+  /**
+   * As {@link #decrypt(byte[], byte[])}, but stretches short keys using a correlation robust hash
+   * function.
+   *
+   * @param cipherText the cipher text to be decrypted
+   * @param keyCandidate the candidate key for OTP decryption
+   * @param hash the hash function used to stretch the key
+   * @return the resulting message
+   */
+  public static byte[] decrypt(byte[] cipherText, byte[] keyCandidate,
+      CorrelationRobustHash hash) {
+    Objects.requireNonNull(cipherText);
+    Objects.requireNonNull(keyCandidate);
+    byte[] key = LengthAdjustment.adjust(keyCandidate, cipherText.length, hash);
+    ByteArrayHelper.xor(key, cipherText);
+    return key;
+  }
+
 }
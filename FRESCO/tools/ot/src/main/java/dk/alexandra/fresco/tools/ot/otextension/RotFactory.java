@@ -22,6 +22,16 @@ public class RotFactory {
     this.network = network;
   }
 
+  /**
+   * Gets the correlation robust hash function of the OT extension resources, which can be used to
+   * stretch the random messages.
+   *
+   * @return The correlation robust hash function
+   */
+  public CorrelationRobustHash getCorrelationRobustHash() {
+    return resources.getCorrelationRobustHash();
+  }
+
   public RotSender createSender() {
     CoteSender sender = new CoteSender(resources, network);
     return new RotSenderImpl(sender, resources, network);
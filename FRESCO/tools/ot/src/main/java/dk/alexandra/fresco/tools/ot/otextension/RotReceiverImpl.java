@@ -21,7 +21,7 @@ public class RotReceiverImpl extends RotSharedImpl implements RotReceiver {
    */
   public RotReceiverImpl(CoteReceiver rec, OtExtensionResourcePool resources,
       Network network) {
-    super(resources.getCoinTossing(), resources.getDigest(), resources
+    super(resources.getCoinTossing(), resources.getCorrelationRobustHash(), resources
         .getComputationalSecurityParameter());
     this.receiver = rec;
     this.resources = resources;
@@ -42,8 +42,8 @@ public class RotReceiverImpl extends RotSharedImpl implements RotReceiver {
     StrictBitVector extendedChoices = StrictBitVector.concat(choices,
         paddingChoices);
     // Use the choices along with the random padding uses for correlated OT with
-    // errors
-    List<StrictBitVector> tlist = receiver.extend(extendedChoices);
+    // errors, reading the rows of the resulting matrix without copying them
+    List<BitMatrixRow> tlist = receiver.extendMatrix(extendedChoices).asRows();
     // Agree on challenges for linear combination test
     List<StrictBitVector> chiList = getChallenges(ellPrime);
     StrictBitVector xvec = computeBitLinearCombination(extendedChoices, chiList);
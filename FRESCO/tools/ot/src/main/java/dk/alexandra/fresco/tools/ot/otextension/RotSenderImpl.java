@@ -24,7 +24,7 @@ public class RotSenderImpl extends RotSharedImpl implements RotSender {
    */
   public RotSenderImpl(CoteSender snd, OtExtensionResourcePool resources,
       Network network) {
-    super(resources.getCoinTossing(), resources.getDigest(), resources
+    super(resources.getCoinTossing(), resources.getCorrelationRobustHash(), resources
         .getComputationalSecurityParameter());
     this.sender = snd;
     this.resources = resources;
@@ -39,8 +39,10 @@ public class RotSenderImpl extends RotSharedImpl implements RotSender {
         .getLambdaSecurityParam();
     // Round up to nearest two-power, which is required by the underlying scheme
     int ellPrime = (int) Math.pow(2, Math.ceil(Math.log(minOts) / Math.log(2)));
-    // Construct a sufficient amount correlated OTs with errors
-    List<StrictBitVector> qlist = sender.extend(ellPrime);
+    // Construct a sufficient amount correlated OTs with errors, read as views of the rows of the
+    // matrix rather than copies
+    BitMatrix qmatrix = sender.extendMatrix(ellPrime);
+    List<BitMatrixRow> qlist = qmatrix.asRows();
     // Agree on a random challenge for each of the correlated OTs with errors
     List<StrictBitVector> chiList = getChallenges(ellPrime);
     // Retrieve the correlation from the correlated OTs with errors
@@ -68,8 +70,9 @@ public class RotSenderImpl extends RotSharedImpl implements RotSender {
     List<StrictBitVector> vlistZero = hashBitVector(qlist, size);
     // XOR the correlated into all the values from the underlying correlated OT
     // with error to compute the choice-one message
+    byte[] deltaBytes = delta.toByteArray();
     for (int i = 0; i < size; i++) {
-      qlist.get(i).xor(delta);
+      qmatrix.xorRow(i, deltaBytes, 0);
     }
     // Remove the correlated for the choice-one as well
     List<StrictBitVector> vlistOne = hashBitVector(qlist, size);
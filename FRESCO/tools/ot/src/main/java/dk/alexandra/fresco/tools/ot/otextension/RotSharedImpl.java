@@ -1,12 +1,12 @@
 package dk.alexandra.fresco.tools.ot.otextension;
 
+import dk.alexandra.fresco.framework.util.BitVector;
+import dk.alexandra.fresco.framework.util.ByteArrayHelper;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
 import dk.alexandra.fresco.tools.cointossing.CoinTossing;
-import java.nio.ByteBuffer;
 import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -14,9 +14,13 @@ import java.util.stream.IntStream;
  * random OT extension.
  */
 public abstract class RotSharedImpl {
+  /**
+   * The bit length of the hashed OTs, which is the length of the SHA-256 digest originally used.
+   */
+  static final int HASH_SIZE = 256;
   private final CoinTossing ct;
   private final int comSecParam;
-  private final MessageDigest digest;
+  private final CorrelationRobustHash hash;
 
   /**
    * Constructs a random OT extension super-class using an underlying correlated OT with errors
@@ -27,17 +31,30 @@ public abstract class RotSharedImpl {
    * @param comSecParam The computational security parameter
    */
   public RotSharedImpl(CoinTossing ct, MessageDigest digest, int comSecParam) {
+    this(ct, new DigestCorrelationRobustHash(digest), comSecParam);
+  }
+
+  /**
+   * Constructs a random OT extension super-class using an underlying correlated OT with errors
+   * object.
+   *
+   * @param ct The coin tossing instance to use
+   * @param hash The correlation robust hash function to use
+   * @param comSecParam The computational security parameter
+   */
+  public RotSharedImpl(CoinTossing ct, CorrelationRobustHash hash, int comSecParam) {
     this.ct = ct;
-    this.digest = digest;
+    this.hash = hash;
     this.comSecParam = comSecParam;
   }
 
 
   /**
-   * Computes the inner product of two lists of StrictBitVector objects. The product will be based
-   * on Galois multiplication in the binary extension field of the individual elements of the lists,
-   * but without reducing modulo a reduction polynomial. Thus the inner product is computed purely
-   * using shifts and XOR operations. <br/>
+   * Computes the inner product of two lists of bit vectors. The product will be based on Galois
+   * multiplication in the binary extension field of the individual elements of the lists, but
+   * without reducing modulo a reduction polynomial. Thus the inner product is computed purely using
+   * shifts and XOR operations. The elements of the second list can be rows of a {@link BitMatrix},
+   * which are read without copying them into new bit vectors. <br/>
    * All elements of both lists MUST have equal size! And both lists MUST contain an equal amount of
    * entries!
    *
@@ -46,17 +63,14 @@ public abstract class RotSharedImpl {
    * @return The inner product represented as a StrictBitVector
    */
   protected static StrictBitVector computeInnerProduct(List<StrictBitVector> alist,
-      List<StrictBitVector> blist) {
+      List<? extends BitVector> blist) {
     // All elements of each list MUST have equal size so we find the size using the first element.
-    StrictBitVector res = new StrictBitVector(alist.get(0).getSize() + blist.get(0).getSize());
-    List<StrictBitVector> products = IntStream.range(0, alist.size()).parallel()
-        .mapToObj(i -> multiplyWithoutReduction(alist.get(i), blist.get(i)))
-        .collect(Collectors.toList());
-    products.stream().reduce(res, (a, b) -> {
-      a.xor(b);
-      return a;
-    });
-    return res;
+    int resBytes = (alist.get(0).getSize() + blist.get(0).getSize()) / Byte.SIZE;
+    byte[] res = IntStream.range(0, alist.size()).parallel()
+        .collect(() -> new byte[resBytes],
+            (acc, i) -> multiplyWithoutReduction(acc, alist.get(i), blist.get(i)),
+            ByteArrayHelper::xor);
+    return new StrictBitVector(res);
   }
 
   /**
@@ -70,12 +84,31 @@ public abstract class RotSharedImpl {
   private static StrictBitVector multiplyWithoutReduction(StrictBitVector avec,
       StrictBitVector bvec) {
     byte[] res = new byte[(avec.getSize() + bvec.getSize()) / Byte.SIZE];
+    multiplyWithoutReduction(res, avec, bvec);
+    return new StrictBitVector(res);
+  }
+
+  /**
+   * Computes the Galois product of two bit vectors, without reduction modulo a reduction
+   * polynomial, and XORs it into an array.
+   *
+   * @param res The array to add the product to, of the combined length of the vectors
+   * @param avec The first bit vector
+   * @param bvec The second bit vector
+   */
+  private static void multiplyWithoutReduction(byte[] res, StrictBitVector avec,
+      BitVector bvec) {
     byte[] avecBytes = avec.toByteArray();
-    byte[] bvecBytes = bvec.toByteArray();
-    byte[][] rotations = new byte[Byte.SIZE][bvecBytes.length + 1];
-    System.arraycopy(bvecBytes, 0, rotations[0], 0, bvecBytes.length);
+    int bvecLength = bvec.getSize() / Byte.SIZE;
+    byte[][] rotations = new byte[Byte.SIZE][bvecLength + 1];
+    if (bvec instanceof BitMatrixRow) {
+      ((BitMatrixRow) bvec).writeTo(rotations[0], 0);
+    } else {
+      System.arraycopy(bvec.toByteArray(), 0, rotations[0], 0, bvecLength);
+    }
+    byte[] bvecBytes = rotations[0];
     for (int i = 1; i < Byte.SIZE; i++) {
-      for (int j = 0; j < rotations[i].length - 1; j++) {
+      for (int j = 0; j < bvecLength; j++) {
         int b = Byte.toUnsignedInt(bvecBytes[j]);
         rotations[i][j] ^= (byte) (b >> i);
         rotations[i][j + 1] = (byte) (b << Byte.SIZE - i);
@@ -93,36 +126,19 @@ public abstract class RotSharedImpl {
         }
       }
     }
-    return new StrictBitVector(res);
   }
 
   /**
-   * Compute a SHA-256 digest of elements in a list, concatenated with their index in the list. Only
-   * the first {@code size} elements of the list will be hashed.
+   * Hashes the elements in a list, together with their index in the list, using the correlation
+   * robust hash function. Only the first {@code size} elements of the list will be hashed.
    *
-   * @param input The list of StrictBitVector elements to hash. All elements MUST have same length
+   * @param input The list of bit vectors to hash. All elements MUST have same length
    * @param size The amount of elements of the list, to hash. Must be less than or equal to the
    *        amount of elements in the list.
-   * @return A list containing the hashed StrictBitVector as StrictBitVector objects
+   * @return A list containing the {@value #HASH_SIZE} bit hashes as StrictBitVector objects
    */
-  protected List<StrictBitVector> hashBitVector(List<StrictBitVector> input, int size) {
-    List<StrictBitVector> res = new ArrayList<>(size);
-    // Allocate a buffer to contain the index of the value to hash along with
-    // the value itself.
-    ByteBuffer indexBuffer = ByteBuffer.allocate((Integer.SIZE + input.get(0).getSize()) / 8);
-    byte[] hash;
-    for (int i = 0; i < size; i++) {
-      indexBuffer.clear();
-      // Move the index into the buffer
-      indexBuffer.putInt(i);
-      // Move the value to hash into the buffer
-      indexBuffer.put(input.get(i).toByteArray());
-      hash = digest.digest(indexBuffer.array());
-      // Allocate the new bitvector, which contains 256 bits since SHA-256 is
-      // used
-      res.add(new StrictBitVector(hash));
-    }
-    return res;
+  protected List<StrictBitVector> hashBitVector(List<? extends BitVector> input, int size) {
+    return hash.hash(input, size, HASH_SIZE);
   }
 
   /**
@@ -7,8 +7,9 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
- * Class used to do bit transposition using Eklundhs method. Transposition is carried out in on a
- * row-major matrix represented as a list (rows) of bit vectors.
+ * Class used to do bit transposition. Transposition of a row-major matrix represented as a list
+ * (rows) of bit vectors uses Eklundhs method, while transposition of a {@link BitMatrix} is carried
+ * out on whole words.
  */
 public class Transpose {
 
@@ -46,6 +47,61 @@ public class Transpose {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Transposes a bit matrix, using word-level transposition of blocks of 64 x 64 bits.
+   *
+   * <p>Unlike {@link #transpose(List)} this puts no restrictions on the dimensions of the matrix,
+   * except that the transposed matrix must have a number of columns divisible by 8. The
+   * blocks of each 64 columns of the input are processed together, so each block of 64 rows of the
+   * result is written by a single task.</p>
+   *
+   * @param input The matrix to transpose
+   * @return the transposed matrix
+   */
+  public static BitMatrix transpose(BitMatrix input) {
+    int rows = input.getRows();
+    int columns = input.getColumns();
+    BitMatrix result = new BitMatrix(columns, rows);
+    long[] source = input.getWords();
+    long[] target = result.getWords();
+    int sourceWords = input.getWordsPerRow();
+    int targetWords = result.getWordsPerRow();
+    IntStream.range(0, sourceWords).parallel().forEach(j -> {
+      long[] block = new long[Long.SIZE];
+      int blockColumns = Math.min(Long.SIZE, columns - j * Long.SIZE);
+      for (int i = 0; i < targetWords; i++) {
+        int blockRows = Math.min(Long.SIZE, rows - i * Long.SIZE);
+        for (int k = 0; k < blockRows; k++) {
+          block[k] = source[(i * Long.SIZE + k) * sourceWords + j];
+        }
+        Arrays.fill(block, blockRows, Long.SIZE, 0L);
+        transposeWordBlock(block);
+        for (int k = 0; k < blockColumns; k++) {
+          target[(j * Long.SIZE + k) * targetWords + i] = block[k];
+        }
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Transposes, in-place, a 64 x 64 bit matrix represented as one word per row, where the most
+   * significant bit is the first column. The quadrants are swapped recursively, with all swaps of
+   * a given size done using shifts and masks on whole words.
+   *
+   * @param block The matrix to transpose
+   */
+  static void transposeWordBlock(long[] block) {
+    long mask = 0x00000000FFFFFFFFL;
+    for (int width = Long.SIZE / 2; width != 0; width >>>= 1, mask ^= mask << width) {
+      for (int k = 0; k < Long.SIZE; k = (k + width + 1) & ~width) {
+        long swap = (block[k] ^ (block[k + width] >>> width)) & mask;
+        block[k] ^= swap;
+        block[k + width] ^= swap << width;
+      }
+    }
+  }
+
   /**
    * Given a matrix <i>M</i> where the smallest dimension, <i>m</i>, divides the largest,<i>n</i>,
    * we can see <i>M</i> as a matrix consisting of a sequence of <i>n/m</i> square sub matrices of
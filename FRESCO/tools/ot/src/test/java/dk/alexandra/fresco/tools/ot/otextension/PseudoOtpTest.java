@@ -72,6 +72,16 @@ public class PseudoOtpTest {
     testEncryptDecrypt(messageLength, candidateLength, cipherLength);
   }
 
+  @Test
+  public void testShortCandidateWithHash() {
+    testEncryptDecryptWithHash(100, 40, 120);
+  }
+
+  @Test
+  public void testLongCandidateWithHash() {
+    testEncryptDecryptWithHash(40, 100, 50);
+  }
+
   @Test (expected = IllegalArgumentException.class)
   public void testNegativeCipherLength() {
     int candidateLength = 50;
@@ -130,4 +140,20 @@ public class PseudoOtpTest {
     assertArrayEquals(Arrays.copyOf(message, cipherLength), decryptedMessage);
   }
 
+  private void testEncryptDecryptWithHash(int messageLength, int candidateLength,
+      int cipherLength) {
+    CorrelationRobustHash hash = new FixedKeyAesHash();
+    Random rand = new Random();
+    byte[] message = new byte[messageLength];
+    rand.nextBytes(message);
+    byte[] candidate = new byte[candidateLength];
+    rand.nextBytes(candidate);
+    byte[] cipherText = PseudoOtp.encrypt(message, candidate, cipherLength, hash);
+    assertEquals(cipherLength, cipherText.length);
+    assertFalse(Arrays.equals(Arrays.copyOf(message, cipherLength), cipherText));
+    assertFalse(Arrays.equals(Arrays.copyOf(candidate, cipherLength), cipherText));
+    byte[] decryptedMessage = PseudoOtp.decrypt(cipherText, candidate, hash);
+    assertArrayEquals(Arrays.copyOf(message, cipherLength), decryptedMessage);
+  }
+
 }
@@ -0,0 +1,85 @@
+package dk.alexandra.fresco.tools.ot.otextension;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import dk.alexandra.fresco.framework.util.AesCtrDrbg;
+import dk.alexandra.fresco.framework.util.StrictBitVector;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+public class TestBitMatrix {
+
+  private static List<StrictBitVector> getRows() {
+    return Arrays.asList(
+        new StrictBitVector(new byte[] { 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09 }),
+        new StrictBitVector(new byte[] { 0x10, 0x20, 0x30, 0x40, 0x50, 0x60, 0x70, (byte) 0x80,
+            (byte) 0x90 }));
+  }
+
+  @Test
+  public void testRowsRoundTrip() {
+    List<StrictBitVector> rows = getRows();
+    BitMatrix matrix = BitMatrix.fromRows(rows);
+    assertEquals(2, matrix.getRows());
+    assertEquals(72, matrix.getColumns());
+    assertEquals(rows, matrix.toRows());
+    byte[] expected = new byte[18];
+    System.arraycopy(rows.get(0).toByteArray(), 0, expected, 0, 9);
+    System.arraycopy(rows.get(1).toByteArray(), 0, expected, 9, 9);
+    assertArrayEquals(expected, matrix.toByteArray());
+  }
+
+  @Test
+  public void testRowViewMatchesStrictBitVector() {
+    List<StrictBitVector> rows = getRows();
+    BitMatrix matrix = BitMatrix.fromRows(rows);
+    BitMatrixRow row = matrix.getRow(1);
+    assertEquals(rows.get(1).getSize(), row.getSize());
+    for (int i = 0; i < row.getSize(); i++) {
+      assertEquals(rows.get(1).getBit(i), row.getBit(i));
+      assertEquals(rows.get(1).getBit(i, false), row.getBit(i, false));
+    }
+    assertArrayEquals(rows.get(1).toByteArray(), row.toByteArray());
+  }
+
+  @Test
+  public void testRowViewWritesThrough() {
+    BitMatrix matrix = new BitMatrix(2, 72);
+    BitMatrixRow row = matrix.asRows().get(0);
+    row.setBit(0, true);
+    assertTrue(matrix.getRow(0).getBit(71, false));
+    row.setBit(0, false);
+    assertFalse(matrix.getRow(0).getBit(71, false));
+    matrix.getRow(1).xor(getRows().get(0));
+    row.xor(matrix.getRow(1));
+    assertEquals(getRows().get(0), matrix.toRows().get(0));
+  }
+
+  @Test
+  public void testRandomizeRow() {
+    byte[] seed = new byte[32];
+    BitMatrix matrix = new BitMatrix(1, 128);
+    matrix.randomizeRow(0, new AesCtrDrbg(seed));
+    StrictBitVector expected = new StrictBitVector(128, new AesCtrDrbg(seed));
+    assertEquals(expected, matrix.toRows().get(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalColumns() {
+    new BitMatrix(8, 12);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testXorDifferentSizes() {
+    new BitMatrix(1, 16).getRow(0).xor(new StrictBitVector(8));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testRowOutOfBounds() {
+    new BitMatrix(1, 16).getRow(1);
+  }
+}
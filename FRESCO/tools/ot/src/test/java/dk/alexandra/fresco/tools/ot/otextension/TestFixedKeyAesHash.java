@@ -0,0 +1,139 @@
+package dk.alexandra.fresco.tools.ot.otextension;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import dk.alexandra.fresco.framework.util.AesCtrDrbg;
+import dk.alexandra.fresco.framework.util.Drbg;
+import dk.alexandra.fresco.framework.util.StrictBitVector;
+import dk.alexandra.fresco.tools.helper.HelperForTests;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestFixedKeyAesHash {
+  private Drbg rand;
+  private CorrelationRobustHash hash;
+
+  @Before
+  public void setup() {
+    rand = new AesCtrDrbg(HelperForTests.seedOne);
+    hash = new FixedKeyAesHash();
+  }
+
+  private List<StrictBitVector> randomVectors(int amount, int size) {
+    List<StrictBitVector> vectors = new ArrayList<>(amount);
+    for (int i = 0; i < amount; i++) {
+      vectors.add(new StrictBitVector(size, rand));
+    }
+    return vectors;
+  }
+
+  /**** POSITIVE TESTS. ****/
+  @Test
+  public void testDeterministic() {
+    List<StrictBitVector> inputs = randomVectors(50, 128);
+    List<StrictBitVector> first = hash.hash(inputs, 50, 256);
+    List<StrictBitVector> second = new FixedKeyAesHash().hash(inputs, 50, 256);
+    assertEquals(first, second);
+  }
+
+  @Test
+  public void testSizes() {
+    int[] inputSizes = {0, 8, 128, 136, 256, 1024};
+    int[] outputSizes = {0, 8, 128, 136, 256, 1000};
+    for (int inputSize : inputSizes) {
+      List<StrictBitVector> inputs = randomVectors(10, inputSize);
+      for (int outputSize : outputSizes) {
+        List<StrictBitVector> res = hash.hash(inputs, 7, outputSize);
+        assertEquals(7, res.size());
+        for (StrictBitVector current : res) {
+          assertEquals(outputSize, current.getSize());
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testBatchMatchesSingleInputs() {
+    List<StrictBitVector> inputs = randomVectors(20, 256);
+    List<StrictBitVector> batch = hash.hash(inputs, 20, 384);
+    for (int i = 0; i < 20; i++) {
+      List<StrictBitVector> prefix = inputs.subList(0, i + 1);
+      assertEquals(batch.get(i), hash.hash(prefix, i + 1, 384).get(i));
+    }
+  }
+
+  @Test
+  public void testPrefixOfLongerOutput() {
+    List<StrictBitVector> inputs = randomVectors(5, 128);
+    List<StrictBitVector> shortHashes = hash.hash(inputs, 5, 136);
+    List<StrictBitVector> longHashes = hash.hash(inputs, 5, 256);
+    for (int i = 0; i < 5; i++) {
+      assertArrayEquals(shortHashes.get(i).toByteArray(),
+          Arrays.copyOf(longHashes.get(i).toByteArray(), 136 / Byte.SIZE));
+    }
+  }
+
+  @Test
+  public void testIndexChangesHash() {
+    StrictBitVector input = new StrictBitVector(128, rand);
+    List<StrictBitVector> res = hash.hash(Collections.nCopies(3, input), 3, 256);
+    assertFalse(res.get(0).equals(res.get(1)));
+    assertFalse(res.get(1).equals(res.get(2)));
+    assertFalse(res.get(0).equals(res.get(2)));
+  }
+
+  @Test
+  public void testOutputBlocksDiffer() {
+    List<StrictBitVector> res = hash.hash(randomVectors(1, 128), 1, 256);
+    byte[] bytes = res.get(0).toByteArray();
+    assertFalse(Arrays.equals(Arrays.copyOfRange(bytes, 0, 16), Arrays.copyOfRange(bytes, 16,
+        32)));
+  }
+
+  @Test
+  public void testKeyChangesHash() {
+    List<StrictBitVector> inputs = randomVectors(5, 128);
+    byte[] key = new byte[16];
+    List<StrictBitVector> otherHashes = new FixedKeyAesHash(key).hash(inputs, 5, 128);
+    List<StrictBitVector> hashes = hash.hash(inputs, 5, 128);
+    for (int i = 0; i < 5; i++) {
+      assertFalse(hashes.get(i).equals(otherHashes.get(i)));
+    }
+  }
+
+  @Test
+  public void testBitMatrixRows() {
+    List<StrictBitVector> inputs = randomVectors(8, 128);
+    BitMatrix matrix = BitMatrix.fromRows(inputs);
+    assertEquals(hash.hash(inputs, 8, 256), hash.hash(matrix.asRows(), 8, 256));
+  }
+
+  /**** NEGATIVE TESTS. ****/
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyInputs() {
+    hash.hash(randomVectors(3, 128), 4, 256);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalOutputSize() {
+    hash.hash(randomVectors(3, 128), 3, 100);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnequalInputs() {
+    List<StrictBitVector> inputs = randomVectors(3, 128);
+    inputs.add(new StrictBitVector(256, rand));
+    hash.hash(inputs, 4, 256);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalKey() {
+    new FixedKeyAesHash(new byte[15]);
+  }
+}
@@ -2,7 +2,10 @@ package dk.alexandra.fresco.tools.ot.otextension;
 
 import static org.junit.Assert.assertEquals;
 
+import dk.alexandra.fresco.framework.util.AesCtrDrbg;
+import dk.alexandra.fresco.framework.util.Drbg;
 import dk.alexandra.fresco.framework.util.StrictBitVector;
+import dk.alexandra.fresco.tools.helper.HelperForTests;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -161,4 +164,22 @@ public class TestRot {
         RotReceiverImpl.class, b, alist);
     assertEquals(true, expected.equals(res));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testInnerProductOfMatrixRows() throws IllegalAccessException,
+      InvocationTargetException {
+    Drbg rand = new AesCtrDrbg(HelperForTests.seedOne);
+    List<StrictBitVector> alist = new ArrayList<>();
+    List<StrictBitVector> blist = new ArrayList<>();
+    StrictBitVector expected = new StrictBitVector(128 + 192);
+    for (int i = 0; i < 40; i++) {
+      alist.add(new StrictBitVector(128, rand));
+      blist.add(new StrictBitVector(192, rand));
+      expected.xor((StrictBitVector) multiplyWithoutReduction.invoke(
+          RotReceiverImpl.class, alist.get(i), blist.get(i)));
+    }
+    assertEquals(expected, RotSharedImpl.computeInnerProduct(alist, blist));
+    assertEquals(expected,
+        RotSharedImpl.computeInnerProduct(alist, BitMatrix.fromRows(blist).asRows()));
+  }
+}
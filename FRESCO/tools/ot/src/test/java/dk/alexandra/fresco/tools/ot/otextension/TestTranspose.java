@@ -9,6 +9,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -275,6 +276,58 @@ public class TestTranspose {
     }
   }
 
+  private static List<StrictBitVector> getRandomMatrix(int rows, int columns, Random rand) {
+    List<StrictBitVector> matrix = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      byte[] row = new byte[columns / Byte.SIZE];
+      rand.nextBytes(row);
+      matrix.add(new StrictBitVector(row));
+    }
+    return matrix;
+  }
+
+  @Test
+  public void testWordTransposeMatchesEklundh() {
+    Random rand = new Random(42);
+    int[][] dimensions = { { 8, 16 }, { 16, 8 }, { 256, 256 }, { 128, 1024 }, { 1024, 128 } };
+    for (int[] dimension : dimensions) {
+      List<StrictBitVector> input = getRandomMatrix(dimension[0], dimension[1], rand);
+      List<StrictBitVector> expected = Transpose.transpose(input);
+      List<StrictBitVector> actual = Transpose.transpose(BitMatrix.fromRows(input)).toRows();
+      assertEquals(expected, actual);
+    }
+  }
+
+  @Test
+  public void testWordTransposeUnevenDimensions() {
+    List<StrictBitVector> input = getRandomMatrix(72, 136, new Random(42));
+    BitMatrix res = Transpose.transpose(BitMatrix.fromRows(input));
+    assertEquals(136, res.getRows());
+    assertEquals(72, res.getColumns());
+    for (int i = 0; i < 72; i++) {
+      for (int j = 0; j < 136; j++) {
+        assertEquals(input.get(i).getBit(j, false), res.getRow(j).getBit(i, false));
+      }
+    }
+    assertEquals(input, Transpose.transpose(res).toRows());
+  }
+
+  @Test
+  public void testTransposeWordBlock() {
+    long[] block = new long[Long.SIZE];
+    // the first row and the last column are all ones
+    block[0] = -1L;
+    for (int i = 1; i < Long.SIZE; i++) {
+      block[i] = 1L;
+    }
+    Transpose.transposeWordBlock(block);
+    // the first column and the last row are all ones
+    for (int i = 0; i < Long.SIZE - 1; i++) {
+      assertEquals(Long.MIN_VALUE, block[i]);
+    }
+    assertEquals(-1L, block[Long.SIZE - 1]);
+  }
+
   /**** NEGATIVE TESTS. ****/
   @Test
   public void testWrongAmountOfRows() {